@@ -0,0 +1,50 @@
+package bench;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entite.Ble;
+import entite.Vache;
+import modele.Data;
+import modele.Position;
+
+/**
+ * -coût de la création des espèces : lecture d'un .properties par Data.chargerFichier
+ *  (ce que payait chaque construction avant le registre de DefinitionEspece), et
+ *  construction d'une plante ou d'un animal à partir de la définition en cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChargementBench
+{
+    private final Position pos = new Position(0, 0);
+
+    @Benchmark
+    public Properties chargerFichier() {
+        return Data.chargerFichier("ble.properties");
+    }
+
+    @Benchmark
+    public Ble creerBle() {
+        return new Ble(pos);
+    }
+
+    @Benchmark
+    public Vache creerVache() {
+        return new Vache(pos);
+    }
+}
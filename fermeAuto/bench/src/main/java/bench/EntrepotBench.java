@@ -0,0 +1,78 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modele.Entrepot;
+import modele.Nomenclature;
+
+/**
+ * -coût des opérations de l'Entrepot : ajout par nom ou par identifiant, total,
+ *  relevé (réutilisé tant que le stock ne change pas, recopié sinon).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntrepotBench
+{
+    private static final String[] PRODUITS = {"Œufs", "Lait", "Tomate", "Ble"};
+
+    private Entrepot entrepot;
+    private int[] ids;
+    private int n;
+
+    @Setup
+    public void preparer()
+    {
+        entrepot = new Entrepot();
+        ids = new int[PRODUITS.length];
+        for (int i = 0; i < PRODUITS.length; i++) {
+            ids[i] = Nomenclature.id(PRODUITS[i]);
+            entrepot.ajouter(ids[i], 100);
+        }
+    }
+
+    @Benchmark
+    public Entrepot ajouterParNom()
+    {
+        entrepot.ajouter(PRODUITS[n++ & 3], 1.5);
+        return entrepot;
+    }
+
+    @Benchmark
+    public Entrepot ajouterParId()
+    {
+        entrepot.ajouter(ids[n++ & 3], 1.5);
+        return entrepot;
+    }
+
+    @Benchmark
+    public double getTotal() {
+        return entrepot.getTotal();
+    }
+
+    @Benchmark
+    public Entrepot.Releve releve() {
+        return entrepot.releve();
+    }
+
+    @Benchmark
+    public Entrepot.Releve releveApresAjout()
+    {
+        entrepot.ajouter(ids[n++ & 3], 1.5);
+        return entrepot.releve();
+    }
+}
@@ -0,0 +1,79 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gestion.Jeu;
+import gestion.Magasin;
+import gestion.MoteurParallele;
+import gestion.TamponTelemetrie;
+import modele.Ferme;
+
+/**
+ * -coût d'une journée simulée (Jeu.jouer : Case.maj, déplacements des animaux,
+ *  production, nettoyage), selon la taille, la densité et le mode de déroulement.
+ * -chaque appel joue une saison de 30 jours sur une ferme neuve : le score est la
+ *  moyenne par jour, bilan de fin de saison compris. La ferme évolue au fil de la
+ *  saison (naissances, décès) comme dans une vraie partie.
+ * -telemetrie : coût des mesures, désactivées (aucune) ou gardées dans un tampon.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JourBench
+{
+    private static final int JOURS = 30;
+
+    @Param({"6", "30", "120"})
+    int taille;
+
+    @Param({"0.2", "0.8"})
+    double densite;
+
+    @Param({"casesOccupees", "parPhases", "parallele"})
+    String mode;
+
+    @Param({"aucune", "tampon"})
+    String telemetrie;
+
+    private Jeu jeu;
+
+    @Setup(Level.Invocation)
+    public void preparer()
+    {
+        Ferme ferme = Remplissage.ferme(taille, densite);
+        jeu = new Jeu(ferme, new Magasin(ferme));
+        switch (mode) {
+            case "parPhases" -> jeu.setModeParPhases(true);
+            case "parallele" -> jeu.setMoteurParallele(new MoteurParallele());
+            default -> { }
+        }
+        if (telemetrie.equals("tampon")) {
+            jeu.setTelemetrie(new TamponTelemetrie(JOURS));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JOURS)
+    public Jeu jour()
+    {
+        jeu.jouer(JOURS);
+        return jeu;
+    }
+}
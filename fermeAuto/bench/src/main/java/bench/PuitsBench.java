@@ -0,0 +1,67 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modele.Ferme;
+import modele.Position;
+
+/**
+ * -coût de la recherche de puits voisins : Case.puitsAutour sur toute la grille,
+ *  et mise à jour de la couverture quand un puits est construit puis détruit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PuitsBench
+{
+    @Param({"30", "120"})
+    int taille;
+
+    @Param({"1", "3"})
+    int rayon;
+
+    private Ferme ferme;
+    private Position centre;
+    private int nbIrriguees;
+
+    @Setup
+    public void preparer()
+    {
+        ferme = Remplissage.ferme(taille, 0);
+        ferme.setRayonIrrigation(rayon);
+        centre = new Position(taille / 2 + 1, taille / 2 + 1);
+    }
+
+    @Benchmark
+    public int puitsAutourGrille()
+    {
+        nbIrriguees = 0;
+        ferme.forEachCase(c -> {
+            if (c.puitsAutour()) nbIrriguees++;
+        });
+        return nbIrriguees;
+    }
+
+    @Benchmark
+    public Ferme construireEtDetruire()
+    {
+        ferme.construirePuits(centre);
+        ferme.detruirePuits(centre);
+        return ferme;
+    }
+}
@@ -0,0 +1,56 @@
+package bench;
+
+import java.util.SplittableRandom;
+
+import entite.Ble;
+import entite.Poule;
+import entite.Tomate;
+import entite.Vache;
+import modele.Evenements;
+import modele.Ferme;
+import modele.Position;
+
+/**
+ * -construit les fermes des bancs d'essai : une graine et une densité donnent
+ *  toujours la même ferme.
+ * -chaque case est occupée avec la probabilité densite, par une espèce tirée au
+ *  hasard, et reçoit alors du fertilisant ; un puits par bloc 6×6 complet.
+ */
+final class Remplissage
+{
+    static final long GRAINE = 42;
+
+    private Remplissage() {}
+
+    /**
+     * @param taille nombre de cases par côté
+     * @param densite proportion de cases occupées (entre 0 et 1)
+     * @return une ferme silencieuse (Evenements.AUCUN), prête à jouer
+     */
+    static Ferme ferme(int taille, double densite)
+    {
+        Ferme ferme = new Ferme(taille, GRAINE);
+        ferme.setEvenements(Evenements.AUCUN);
+        SplittableRandom hasard = new SplittableRandom(GRAINE);
+
+        for (int y = 0; y < taille; y++) {
+            for (int x = 0; x < taille; x++) {
+                if (hasard.nextDouble() >= densite) continue;
+                Position pos = new Position(x, y);
+                switch (hasard.nextInt(4)) {
+                    case 0 -> ferme.ajouterAnimal(pos, new Poule(pos));
+                    case 1 -> ferme.ajouterAnimal(pos, new Vache(pos));
+                    case 2 -> ferme.ajouterPlante(pos, new Tomate(pos));
+                    default -> ferme.ajouterPlante(pos, new Ble(pos));
+                }
+                ferme.poserFertilisant(pos, 50);
+            }
+        }
+        for (int by = 0; by + 6 <= taille; by += 6) {
+            for (int bx = 0; bx + 6 <= taille; bx += 6) {
+                ferme.construirePuits(new Position(bx, by));
+            }
+        }
+        return ferme;
+    }
+}
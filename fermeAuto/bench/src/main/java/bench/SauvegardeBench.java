@@ -0,0 +1,70 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gestion.Jeu;
+import gestion.Magasin;
+import gestion.Sauvegarde;
+import modele.Ferme;
+
+/**
+ * -coût de l'écriture et de la relecture d'une sauvegarde complète (Sauvegarde),
+ *  pour des fermes de 90 000 et 4 millions de cases.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SauvegardeBench
+{
+    @Param({"300", "2000"})
+    int taille;
+
+    private Jeu jeu;
+    private Path fichier;
+
+    @Setup
+    public void preparer() throws IOException
+    {
+        Ferme ferme = Remplissage.ferme(taille, 0.25);
+        jeu = new Jeu(ferme, new Magasin(ferme));
+        jeu.jouer(2);
+        fichier = Files.createTempFile("ferme", ".sauvegarde");
+        Sauvegarde.ecrire(jeu, fichier);
+    }
+
+    @TearDown
+    public void nettoyer() throws IOException {
+        Files.deleteIfExists(fichier);
+    }
+
+    @Benchmark
+    public Path ecrire() throws IOException
+    {
+        Sauvegarde.ecrire(jeu, fichier);
+        return fichier;
+    }
+
+    @Benchmark
+    public Jeu lire() throws IOException {
+        return Sauvegarde.lire(fichier);
+    }
+}
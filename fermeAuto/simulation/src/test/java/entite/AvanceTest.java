@@ -0,0 +1,162 @@
+package entite;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import modele.Case;
+import modele.Evenements;
+import modele.Ferme;
+import modele.Nomenclature;
+import modele.Position;
+import modele.Saison;
+
+/**
+ * Plante.avancer (calcul en une fois quand c'est possible) donne le même résultat que
+ * les tours joués un par un : calories et réservoir de la plante, eau et fertilisant de
+ * la case. Les écarts relatifs tolérés (1e-9) ne viennent que des arrondis.
+ */
+class AvanceTest
+{
+    private static final double TOLERANCE = 1e-9;
+    private static final Position POS = new Position(1, 1);
+
+    static Stream<Arguments> cas()
+    {
+        List<Arguments> cas = new ArrayList<>();
+        for (String espece : new String[] {"Ble", "Tomate"}) {
+            for (Saison saison : Saison.values()) {
+                for (int nbJours : new int[] {1, 7, 30, 90}) {
+                    for (String arrosage : new String[] {"puits", "case", "sec"}) {
+                        for (double fertilisant : new double[] {100_000, 60}) {
+                            cas.add(Arguments.of(espece, saison, nbJours, arrosage, fertilisant));
+                        }
+                    }
+                }
+            }
+        }
+        return cas.stream();
+    }
+
+    @ParameterizedTest(name = "{0} {1} {2}j {3} fert={4}")
+    @MethodSource("cas")
+    void avancerEgaleLesToursUnParUn(String espece, Saison saison, int nbJours, String arrosage,
+                                     double fertilisant)
+    {
+        Function<Position, Plante> creer = espece.equals("Ble") ? Ble::new : Tomate::new;
+        Ferme directe = preparer(arrosage, fertilisant);
+        Ferme pasAPas = preparer(arrosage, fertilisant);
+        Plante pd = creer.apply(POS);
+        Plante pp = creer.apply(POS);
+        directe.ajouterPlante(POS, pd);
+        pasAPas.ajouterPlante(POS, pp);
+        Case cd = directe.getCase(POS);
+        Case cp = pasAPas.getCase(POS);
+
+        pd.avancer(cd, saison, nbJours);
+        for (int i = 0; i < nbJours && pp.estVivante(); i++) {
+            pp.tourSuivant(cp, saison);
+        }
+
+        assertEquals(pp.estVivante(), pd.estVivante(), "vivante");
+        assertProches(pp.getCalories(), pd.getCalories(), "calories");
+        assertProches(pp.getEauActuelle(), pd.getEauActuelle(), "réservoir");
+        assertProches(cp.getEauDisponible(), cd.getEauDisponible(), "eau de la case");
+        assertProches(cp.getFertilisant(), cd.getFertilisant(), "fertilisant de la case");
+    }
+
+    @Test
+    void laProjectionNeModifiePasLaFerme()
+    {
+        Ferme ferme = plantee();
+        Ferme temoin = plantee();
+        double[] calories = new double[Nomenclature.taille()];
+
+        ferme.projeterCalories(Saison.ETE, 20, calories);
+
+        for (int x = 0; x < ferme.getTaille(); x++) {
+            for (int y = 0; y < ferme.getTaille(); y++) {
+                Case c = ferme.getCase(new Position(x, y));
+                Case t = temoin.getCase(new Position(x, y));
+                assertEquals(t.getEauDisponible(), c.getEauDisponible());
+                assertEquals(t.getFertilisant(), c.getFertilisant());
+                if (t.getPlante() != null) {
+                    assertEquals(t.getPlante().getCalories(), c.getPlante().getCalories());
+                    assertEquals(t.getPlante().getEauActuelle(), c.getPlante().getEauActuelle());
+                }
+            }
+        }
+    }
+
+    @Test
+    void laProjectionEgaleLesToursJouesSurLaFerme()
+    {
+        for (Saison saison : Saison.values()) {
+            for (int nbJours : new int[] {0, 5, 30}) {
+                double[] calories = new double[Nomenclature.taille()];
+                plantee().projeterCalories(saison, nbJours, calories);
+
+                // mêmes tours, sans pluie ni animaux, joués sur la ferme elle-même
+                Ferme ferme = plantee();
+                double[] attendues = new double[Nomenclature.taille()];
+                ferme.forEachPlante(p -> {
+                    Case c = ferme.getCase(p.getPosition());
+                    for (int i = 0; i < nbJours && p.estVivante(); i++) p.tourSuivant(c, saison);
+                    if (p.estVivante()) attendues[p.getIdEspece()] += p.getCalories();
+                });
+
+                for (int id = 0; id < attendues.length; id++) {
+                    assertProches(attendues[id], calories[id], saison + " " + nbJours + "j, " + Nomenclature.nom(id));
+                }
+            }
+        }
+    }
+
+    /**
+     * Ferme 5×5 plantée de blé et de tomates, irriguées par un puits, arrosées ou à sec,
+     * avec plus ou moins de fertilisant.
+     */
+    private static Ferme plantee()
+    {
+        Ferme ferme = new Ferme(5, 1);
+        ferme.setEvenements(Evenements.AUCUN);
+        ferme.construirePuits(new Position(0, 0));
+        for (int x = 0; x < 5; x++) {
+            for (int y = 0; y < 5; y++) {
+                if (x == 0 && y == 0) continue;
+                Position p = new Position(x, y);
+                ferme.ajouterPlante(p, (x + y) % 2 == 0 ? new Ble(p) : new Tomate(p));
+                if (y == 2) ferme.getCase(p).ajouterEau(10);
+                ferme.poserFertilisant(p, x == 4 ? 60 : 100_000);
+            }
+        }
+        return ferme;
+    }
+
+    private static Ferme preparer(String arrosage, double fertilisant)
+    {
+        Ferme ferme = new Ferme(3, 1);
+        ferme.setEvenements(Evenements.AUCUN);
+        if (arrosage.equals("puits")) {
+            ferme.construirePuits(new Position(0, 1));
+        } else if (arrosage.equals("case")) {
+            ferme.getCase(POS).ajouterEau(10);
+        }
+        ferme.poserFertilisant(POS, fertilisant);
+        return ferme;
+    }
+
+    private static void assertProches(double attendu, double obtenu, String quoi)
+    {
+        double ecart = TOLERANCE * Math.max(1, Math.max(Math.abs(attendu), Math.abs(obtenu)));
+        assertEquals(attendu, obtenu, ecart, quoi);
+    }
+}
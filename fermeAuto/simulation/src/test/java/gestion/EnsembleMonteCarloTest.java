@@ -0,0 +1,91 @@
+package gestion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import gestion.EnsembleMonteCarlo.Grandeur;
+import gestion.EnsembleMonteCarlo.Releve;
+import gestion.EnsembleMonteCarlo.Synthese;
+
+/**
+ * Un ensemble Monte-Carlo ne dépend que de sa graine : ni du nombre de threads, ni de
+ * l'ordre dans lequel les exécutions se terminent.
+ */
+class EnsembleMonteCarloTest
+{
+    private static final int TAILLE = 12;
+    private static final int NB_JOURS = 120;
+    private static final long GRAINE = 99;
+
+    private static Jeu fabrique(long graine) {
+        return Parties.nouvelle(TAILLE, graine, Jeu.MODE_FUSIONNE);
+    }
+
+    @Test
+    void leResultatNeDependPasDuNombreDeThreads()
+    {
+        int nbExecutions = 24;
+        int publierTous = 5;
+        String attendu = null;
+        for (int nbThreads : new int[] {1, 4, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(nbThreads);
+            try {
+                List<Integer> publiees = new ArrayList<>();
+                AtomicInteger enCours = new AtomicInteger();
+                Releve r = new EnsembleMonteCarlo(EnsembleMonteCarloTest::fabrique, NB_JOURS, pool)
+                        .executer(GRAINE, nbExecutions, publierTous, releve -> {
+                            assertEquals(1, enCours.incrementAndGet(), "publications simultanées");
+                            publiees.add(releve.getNbTerminees());
+                            enCours.decrementAndGet();
+                        });
+
+                assertEquals(List.of(5, 10, 15, 20, 24), publiees, nbThreads + " threads");
+                if (attendu == null) attendu = r.enJson();
+                assertEquals(attendu, r.enJson(), nbThreads + " threads");
+            } finally {
+                pool.shutdown();
+            }
+        }
+        Releve sansEcouteur = new EnsembleMonteCarlo(EnsembleMonteCarloTest::fabrique, NB_JOURS)
+                .executer(GRAINE, nbExecutions);
+        assertEquals(attendu, sansEcouteur.enJson());
+    }
+
+    @Test
+    void uneExecutionSeuleEgaleUnePartieIndependante()
+    {
+        Releve r = new EnsembleMonteCarlo(EnsembleMonteCarloTest::fabrique, NB_JOURS).executer(GRAINE, 1);
+
+        Jeu jeu = fabrique(EnsembleMonteCarlo.graines(GRAINE, 1)[0]);
+        List<BilanSaison> bilans = new ArrayList<>();
+        jeu.setEcouteurSaison(bilans::add);
+        jeu.jouer(NB_JOURS);
+
+        assertEquals(NB_JOURS / 30, r.getNbSaisons());
+        assertEquals(r.getNbSaisons(), bilans.size());
+        for (BilanSaison b : bilans) {
+            int saison = b.getNumero();
+            assertSeule(b.getBudget(), r.get(saison, Grandeur.BUDGET));
+            assertSeule(b.getVentesTotales(), r.get(saison, Grandeur.VENTES));
+            assertSeule(b.getAnimauxVivants().values().stream().mapToInt(Integer::intValue).sum(),
+                    r.get(saison, Grandeur.ANIMAUX));
+            assertSeule(b.getPlantesVivantes().values().stream().mapToInt(Integer::intValue).sum(),
+                    r.get(saison, Grandeur.PLANTES));
+        }
+    }
+
+    private static void assertSeule(double valeur, Synthese s)
+    {
+        assertEquals(1, s.getN());
+        assertEquals(valeur, s.getMoyenne());
+        assertEquals(valeur, s.getMin());
+        assertEquals(valeur, s.getMax());
+        assertEquals(0, s.getEcartType());
+    }
+}
@@ -0,0 +1,76 @@
+package gestion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import entite.Ble;
+import entite.Poule;
+import entite.Tomate;
+import entite.Vache;
+import modele.Evenements;
+import modele.Ferme;
+import modele.Position;
+
+/**
+ * Parties de référence des tests : ferme remplie par blocs de 6×6 comme celle de
+ * MainSansAffichage, sans messages sur la console.
+ */
+final class Parties
+{
+    private Parties() {}
+
+    /**
+     * @param mode Jeu.MODE_FUSIONNE, Jeu.MODE_PAR_PHASES ou Jeu.MODE_PARALLELE
+     * @return une partie neuve, reproductible pour une graine donnée
+     */
+    static Jeu nouvelle(int taille, long graine, int mode)
+    {
+        Ferme ferme = new Ferme(taille, graine);
+        ferme.setEvenements(Evenements.AUCUN);
+        remplir(ferme);
+        Jeu jeu = new Jeu(ferme, new Magasin(ferme));
+        regler(jeu, mode);
+        return jeu;
+    }
+
+    /**
+     * -choisit le mode de déroulement des journées (non sauvegardé avec la partie).
+     */
+    static void regler(Jeu jeu, int mode)
+    {
+        jeu.setMoteurParallele(mode == Jeu.MODE_PARALLELE ? new MoteurParallele() : null);
+        jeu.setModeParPhases(mode == Jeu.MODE_PAR_PHASES);
+    }
+
+    /**
+     * @return la liste, remplie au fil de la partie, des bilans de saison en JSON
+     */
+    static List<String> bilans(Jeu jeu)
+    {
+        List<String> bilans = new ArrayList<>();
+        jeu.setEcouteurSaison(b -> bilans.add(b.enJson()));
+        return bilans;
+    }
+
+    private static void remplir(Ferme ferme)
+    {
+        int taille = ferme.getTaille();
+        for (int bx = 0; bx + 6 <= taille; bx += 6) {
+            for (int by = 0; by + 6 <= taille; by += 6) {
+                ferme.ajouterAnimal(new Position(bx + 1, by + 1), new Poule(new Position(bx + 1, by + 1)));
+                ferme.ajouterAnimal(new Position(bx + 1, by + 2), new Poule(new Position(bx + 1, by + 2)));
+                ferme.ajouterAnimal(new Position(bx + 2, by + 1), new Vache(new Position(bx + 2, by + 1)));
+                ferme.ajouterAnimal(new Position(bx + 2, by + 2), new Vache(new Position(bx + 2, by + 2)));
+                ferme.ajouterPlante(new Position(bx + 3, by + 3), new Tomate(new Position(bx + 3, by + 3)));
+                ferme.ajouterPlante(new Position(bx + 3, by + 4), new Tomate(new Position(bx + 3, by + 4)));
+                ferme.ajouterPlante(new Position(bx + 4, by + 3), new Ble(new Position(bx + 4, by + 3)));
+                ferme.ajouterPlante(new Position(bx + 4, by + 4), new Ble(new Position(bx + 4, by + 4)));
+                for (int[] f : new int[][] {{1, 1}, {1, 2}, {2, 1}, {2, 2}, {3, 3}, {3, 4}, {4, 3}, {4, 4}}) {
+                    ferme.poserFertilisant(new Position(bx + f[0], by + f[1]), 50);
+                }
+                ferme.construirePuits(new Position(bx, by));
+                ferme.construirePuits(new Position(bx + 5, by + 5));
+            }
+        }
+    }
+}
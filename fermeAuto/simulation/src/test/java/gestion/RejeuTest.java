@@ -0,0 +1,125 @@
+package gestion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import modele.Ferme;
+import modele.Journal;
+
+/**
+ * Une partie enregistrée par Historique, avec des achats et des journées jouées dans les
+ * trois modes, est reconstituée par Rejeu à l'octet près à n'importe quel jour.
+ */
+class RejeuTest
+{
+    private static final int TAILLE = 13;
+    private static final long GRAINE = 31;
+    private static final int DUREE = 130;
+    private static final int INTERVALLE = 30;
+
+    @TempDir
+    static Path dossier;
+
+    private static Path historique;
+
+    /**
+     * -joue et enregistre la partie une fois pour tous les tests, en sauvegardant l'état
+     *  au début de chaque jour visé.
+     */
+    @BeforeAll
+    static void enregistrer() throws IOException
+    {
+        historique = dossier.resolve("historique");
+        Jeu jeu = Parties.nouvelle(TAILLE, GRAINE, Jeu.MODE_FUSIONNE);
+        try (Historique h = Historique.ouvrir(jeu, historique, INTERVALLE)) {
+            for (int jour = 1; jour <= DUREE; jour++) {
+                acheter(jeu, jour);
+                Sauvegarde.ecrire(jeu, reference(jour));
+                if (jour < DUREE) {
+                    Parties.regler(jeu, modeDuJour(jour));
+                    jeu.jouer(1);
+                }
+            }
+        }
+    }
+
+    /**
+     * -jours 1 à 40 en une passe, 41 à 80 en parallèle, la suite par phases.
+     */
+    private static int modeDuJour(int jour)
+    {
+        if (jour <= 40) return Jeu.MODE_FUSIONNE;
+        if (jour <= 80) return Jeu.MODE_PARALLELE;
+        return Jeu.MODE_PAR_PHASES;
+    }
+
+    /**
+     * -achats du magasin entre deux journées, réussis ou non selon l'état de la ferme.
+     */
+    private static void acheter(Jeu jeu, int jour)
+    {
+        Magasin m = jeu.getMagasin();
+        Ferme f = jeu.getFerme();
+        int t = f.getTaille();
+        if (jour % 7 == 0) {
+            m.acheterAnimal(jour % 2 == 0 ? "Poule" : "Vache", f.getPosition(jour % t, jour / 3 % t));
+            m.acheterPlante(jour % 3 == 0 ? "Ble" : "Tomate", f.getPosition(jour / 2 % t, jour % t));
+        }
+        if (jour % 11 == 0) {
+            m.acheterFertilisant(200);
+            m.utiliserFertilisant(f.getPosition(jour % t, jour % t), 100);
+        }
+        if (jour % 25 == 0) m.acheterPuits(f.getPosition(jour * 7 % t, jour * 3 % t));
+        if (jour % 50 == 0) m.detruirePuits(f.getPosition(jour * 7 % t, jour * 3 % t));
+    }
+
+    private static Path reference(int jour) {
+        return dossier.resolve("reference-" + jour + ".frma");
+    }
+
+    // instantanés, veille et lendemain de fin de saison, journées en parallèle (45, 61, 75)
+    // et par phases (100, 130)
+    @ParameterizedTest(name = "jour {0}")
+    @ValueSource(ints = {1, 2, 30, 31, 45, 60, 61, 75, 100, 121, 130})
+    void leRejeuReconstitueLaPartie(int jour) throws IOException
+    {
+        Jeu rejoue = Rejeu.jusquAu(historique, jour);
+        assertEquals(jour, rejoue.getJour());
+        Path fichier = dossier.resolve("rejeu-" + jour + ".frma");
+        Sauvegarde.ecrire(rejoue, fichier);
+        assertEquals(-1, Files.mismatch(reference(jour), fichier), "octet différent au jour " + jour);
+    }
+
+    @Test
+    void leJournalContientLesAchats() throws IOException
+    {
+        Map<Journal.Type, Integer> nombres = new EnumMap<>(Journal.Type.class);
+        try (LectureJournal l = new LectureJournal(historique.resolve(Historique.JOURNAL))) {
+            while (l.suivant()) nombres.merge(l.getType(), 1, Integer::sum);
+        }
+        for (Journal.Type type : new Journal.Type[] {Journal.Type.ACHAT_ANIMAL, Journal.Type.ACHAT_PLANTE,
+                Journal.Type.ACHAT_FERTILISANT, Journal.Type.POSE_FERTILISANT,
+                Journal.Type.CONSTRUCTION_PUITS, Journal.Type.DESTRUCTION_PUITS}) {
+            assertTrue(nombres.getOrDefault(type, 0) > 0, "aucun " + type + " dans le journal");
+        }
+    }
+
+    @Test
+    void leRejeuNeDepassePasLeJournal()
+    {
+        assertThrows(IOException.class, () -> Rejeu.jusquAu(historique, DUREE + 1));
+    }
+}
@@ -0,0 +1,127 @@
+package gestion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import entite.Tomate;
+import modele.Evenements;
+import modele.Ferme;
+import modele.Position;
+
+/**
+ * Une partie sauvegardée puis restaurée se poursuit exactement comme l'originale.
+ */
+class SauvegardeTest
+{
+    private static final int TAILLE = 13;
+    private static final long GRAINE = 20;
+    private static final int DUREE = 140;
+
+    @TempDir
+    Path dossier;
+
+    static Stream<Arguments> reprises()
+    {
+        // veille et lendemain de fin de saison, plein hiver (tomates en sommeil), réveil
+        int[] jours = {1, 30, 31, 45, 60, 61, 100};
+        return IntStream.of(Jeu.MODE_FUSIONNE, Jeu.MODE_PAR_PHASES, Jeu.MODE_PARALLELE).boxed()
+                .flatMap(mode -> IntStream.of(jours).mapToObj(jour -> Arguments.of(mode, jour)));
+    }
+
+    @ParameterizedTest(name = "mode {0}, sauvegarde au jour {1}")
+    @MethodSource("reprises")
+    void laRepriseSuitLaPartieOriginale(int mode, int jour) throws IOException
+    {
+        Jeu original = Parties.nouvelle(TAILLE, GRAINE, mode);
+        List<String> bilansOriginaux = Parties.bilans(original);
+        original.jouer(DUREE);
+
+        Jeu avant = Parties.nouvelle(TAILLE, GRAINE, mode);
+        List<String> bilans = Parties.bilans(avant);
+        avant.jouer(jour);
+        Jeu reprise = sauvegarderPuisRestaurer(avant, mode);
+        reprise.setEcouteurSaison(b -> bilans.add(b.enJson()));
+        assertEquals(avant.getFerme().getBudget(), reprise.getFerme().getBudget());
+        assertEquals(avant.getJour(), reprise.getJour());
+
+        reprise.jouer(DUREE - jour);
+        assertEquals(bilansOriginaux, bilans);
+        assertMemeEtat(original, reprise);
+    }
+
+    @Test
+    void laRepriseGardeLesPlantesEnSommeil() throws IOException
+    {
+        // les récoltes de fin d'automne vident la ferme : on replante des tomates en hiver
+        Jeu original = Parties.nouvelle(TAILLE, GRAINE, Jeu.MODE_FUSIONNE);
+        original.jouer(31);
+        Ferme ferme = original.getFerme();
+        for (int x = 0; x < TAILLE; x++) {
+            for (int y = 0; y < TAILLE; y += 2) {
+                Position p = ferme.getPosition(x, y);
+                if (ferme.getCase(p).getPlante() == null) ferme.ajouterPlante(p, new Tomate(p));
+            }
+        }
+        original.jouer(14);
+        int endormies = original.getFerme().getNbPlantesEndormies();
+        assertTrue(endormies > 0, "des tomates devraient dormir en plein hiver");
+
+        Jeu reprise = sauvegarderPuisRestaurer(original, Jeu.MODE_FUSIONNE);
+        assertEquals(endormies, reprise.getFerme().getNbPlantesEndormies());
+
+        // jusqu'au réveil du printemps (jour 61) et au-delà
+        original.jouer(20);
+        reprise.jouer(20);
+        assertEquals(0, reprise.getFerme().getNbPlantesEndormies());
+        assertMemeEtat(original, reprise);
+    }
+
+    @Test
+    void leFichierALaTailleExacteDeLaSauvegarde() throws IOException
+    {
+        Jeu jeu = Parties.nouvelle(TAILLE, GRAINE, Jeu.MODE_FUSIONNE);
+        jeu.jouer(10);
+        Path fichier = dossier.resolve("partie.frma");
+        Files.write(fichier, new byte[1 << 20]); // remplacé, pas seulement réécrit
+        Sauvegarde.ecrire(jeu, fichier);
+        Path copie = dossier.resolve("copie.frma");
+        Sauvegarde.ecrire(Sauvegarde.lire(fichier), copie);
+        assertEquals(-1, Files.mismatch(fichier, copie));
+        assertTrue(Files.size(fichier) < 1 << 20);
+    }
+
+    private Jeu sauvegarderPuisRestaurer(Jeu jeu, int mode) throws IOException
+    {
+        Path fichier = dossier.resolve("partie.frma");
+        Sauvegarde.ecrire(jeu, fichier);
+        Jeu reprise = Sauvegarde.lire(fichier);
+        reprise.getFerme().setEvenements(Evenements.AUCUN);
+        Parties.regler(reprise, mode);
+        return reprise;
+    }
+
+    private static void assertMemeEtat(Jeu attendu, Jeu obtenu)
+    {
+        Ferme a = attendu.getFerme(), o = obtenu.getFerme();
+        assertEquals(attendu.getJour(), obtenu.getJour());
+        assertEquals(a.getBudget(), o.getBudget());
+        assertEquals(a.getNbAnimaux(), o.getNbAnimaux());
+        assertEquals(a.getNbPlantes(), o.getNbPlantes());
+        assertEquals(a.getNbMorts(), o.getNbMorts());
+        assertEquals(a.getNbNaissances(), o.getNbNaissances());
+        assertEquals(attendu.getEntrepot().getTotal(), obtenu.getEntrepot().getTotal());
+    }
+}
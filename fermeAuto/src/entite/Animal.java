@@ -1,15 +1,12 @@
 package entite;
 
-import java.util.Properties;
-import java.util.Random;
-
 import modele.Case;
-import modele.Data;
+import modele.DefinitionEspece;
 import modele.Ferme;
+import modele.Flux;
 import modele.Position;
 import modele.Saison;
 
-import java.util.ArrayList;
 
 /**
  * Classe abstraite représentant un animal dans la ferme.
@@ -20,6 +17,7 @@ public abstract class Animal
 {
 
     protected String nom;
+    protected int idEspece; // identifiant du nom dans la Nomenclature
     protected int prix;
 
     protected double eauParJour;
@@ -48,43 +46,64 @@ public abstract class Animal
     protected double baseNourritureParJour;
     protected double baseEauParJour;
     protected Ferme ferme; 
+    protected Flux alea; // flux de hasard propre à l'animal
 
     /**
-     * Crée un animal en chargeant ses caractéristiques depuis un fichier de propriétés.
+     * Crée un animal à partir des caractéristiques de son fichier de propriétés.
+     * Le fichier n'est lu qu'une fois, la définition est partagée par l'espèce.
      *
      * @param fichier nom du fichier .properties (ex : "poule.properties")
      * @param pos position initiale de l'animal dans la grille
      */
     protected Animal(String fichier, Position pos) 
     {
-        Properties p = Data.chargerFichier(fichier);
+        DefinitionEspece d = DefinitionEspece.charger(fichier);
 
-        this.nom = p.getProperty("nom");
-        this.prix = Integer.parseInt(p.getProperty("prix"));
-        this.eauParJour = Double.parseDouble(p.getProperty("eauParJour"));
+        this.nom = d.getNom();
+        this.idEspece = d.getId();
+        this.prix = d.getPrix();
+        this.eauParJour = d.getEauParJour();
         this.baseEauParJour = this.eauParJour;
         
-        this.capEau = Double.parseDouble(p.getProperty("capEau"));
+        this.capEau = d.getCapEau();
         this.eauActuelle = this.capEau;
 
-        this.nourritureParJour = Double.parseDouble(p.getProperty("nourritureParJour"));
+        this.nourritureParJour = d.getNourritureParJour();
         this.baseNourritureParJour = this.nourritureParJour;
         
-        this.capNourriture = Double.parseDouble(p.getProperty("capNourriture"));
+        this.capNourriture = d.getCapNourriture();
         this.nourritureActuelle = this.capNourriture;
 
-        this.production = Double.parseDouble(p.getProperty("production"));
-        this.fertilisantParJour = Integer.parseInt(p.getProperty("fertilisantParJour"));
+        this.production = d.getProduction();
+        this.fertilisantParJour = d.getFertilisantParJour();
 
-        this.malusSoif = Integer.parseInt(p.getProperty("malusSoif"));
-        this.malusFaim = Integer.parseInt(p.getProperty("malusFaim"));
+        this.malusSoif = d.getMalusSoif();
+        this.malusFaim = d.getMalusFaim();
 
-        this.probaReproduction = Double.parseDouble(p.getProperty("probaReproduction"));
-        this.esperanceVie = Integer.parseInt(p.getProperty("esperanceVie"));
+        this.probaReproduction = d.getProbaReproduction();
+        this.esperanceVie = d.getEsperanceVie();
 
         this.position = pos;
     }
 
+    /**
+     * Crée un animal d'après le nom de son espèce.
+     *
+     * @param espece nom de l'espèce ("Poule" ou "Vache", casse indifférente)
+     * @param pos position de l'animal
+     * @return le nouvel animal
+     * @throws IllegalArgumentException si l'espèce n'existe pas
+     */
+    public static Animal creer(String espece, Position pos)
+    {
+        switch (espece.toLowerCase()) {
+            case "poule": return new Poule(pos);
+            case "vache": return new Vache(pos);
+            default:
+                throw new IllegalArgumentException("Espèce non reconnue : " + espece);
+        }
+    }
+
     /**
      * Vérifie si l'animal est encore en vie.
      *
@@ -115,12 +134,17 @@ public abstract class Animal
     }
 
     /**
-     * Tue l'animal et affiche un message d'état.
+     * Tue l'animal et signale sa mort aux événements de la ferme.
+     *
+     * @param c case où se trouve l'animal
      */
-    public void mourir() 
+    public void mourir(Case c) 
     {
-        vivant = false;
-        System.out.println(nom + " est mort à la position " + position +
+        if (vivant) {
+            vivant = false;
+            c.noterMort(this);
+        }
+        c.signaler(() -> nom + " est mort à la position " + position +
                 " (Eau=" + eauActuelle + " / Nourriture=" + nourritureActuelle + ")");
     }
     
@@ -141,7 +165,7 @@ public abstract class Animal
 
         if (eauActuelle <= 0) {
             eauActuelle = 0;
-            mourir();
+            mourir(c);
         }
     }
 
@@ -156,7 +180,7 @@ public abstract class Animal
         Plante plante = c.getPlante();
         if (plante != null && plante.estVivante()) {
             double manque = capNourriture - nourritureActuelle;
-            double mange = plante.etreMangee(manque);
+            double mange = plante.etreMangee(manque, c);
             nourritureActuelle += mange;
         } else {
             nourritureActuelle -= nourritureParJour;
@@ -164,7 +188,7 @@ public abstract class Animal
 
         if (nourritureActuelle <= 0) {
             nourritureActuelle = 0;
-            mourir();
+            mourir(c);
         }
     }
 
@@ -200,36 +224,83 @@ public abstract class Animal
      * @param ferme ferme pour accéder aux cases
      */
     public void seDeplacer(Ferme ferme) {
-        ArrayList<Position> options = new ArrayList<>();
-        options.add(position);
+        deplacerVers(ferme, proposerDeplacement(ferme));
+    }
 
+    /**
+     * Choisit au hasard la prochaine position de l'animal (sa case ou une case
+     * voisine sans animal), sans modifier la grille.
+     *
+     * @param ferme ferme pour accéder aux cases
+     * @return la position choisie (éventuellement la position actuelle)
+     */
+    public Position proposerDeplacement(Ferme ferme) {
         int x = position.getX();
         int y = position.getY();
-        int[][] directions = {{-1,0},{1,0},{0,-1},{0,1}};
 
-        for (int[] d : directions) {
-            Position voisine = Position.dansGrille(x + d[0], y + d[1]);
-            if (voisine != null && ferme.getCase(voisine).getAnimal() == null) {
-                options.add(voisine);
-            }
+        // options : la case actuelle, puis les voisines libres dans l'ordre des directions
+        int nbOptions = 1;
+        for (int d = 0; d < Ferme.NB_DIRECTIONS; d++) {
+            if (estLibre(ferme, ferme.voisine(x, y, d))) nbOptions++;
         }
 
-        Position nouvellePos = options.get(new Random().nextInt(options.size()));
+        int choix = alea(ferme).nextInt(nbOptions);
+        if (choix == 0) return position;
+        for (int d = 0; d < Ferme.NB_DIRECTIONS; d++) {
+            int v = ferme.voisine(x, y, d);
+            if (estLibre(ferme, v) && --choix == 0) return ferme.getPosition(v);
+        }
+        throw new IllegalStateException("option de déplacement introuvable");
+    }
+
+    /**
+     * @return vrai si l'indice désigne une case de la grille sans animal
+     */
+    private static boolean estLibre(Ferme ferme, int indice) {
+        return indice >= 0 && ferme.getAnimal(indice) == null;
+    }
+
+    /**
+     * Déplace l'animal sur la position donnée (supposée libre).
+     *
+     * @param ferme ferme pour accéder aux cases
+     * @param nouvellePos position d'arrivée
+     */
+    public void deplacerVers(Ferme ferme, Position nouvellePos) {
         if (!nouvellePos.equals(position)) {
-            ferme.getCase(position).setAnimal(null);
-            ferme.getCase(nouvellePos).setAnimal(this);
+            ferme.deplacerAnimal(position, nouvellePos);
             setPosition(nouvellePos);
         }
     }
     
     /**
      * Effectue toutes les actions journalières de l'animal : boire, manger,
-     * produire, vieillir et se déplacer. Spécifique à chaque espèce.
+     * produire, vieillir, puis se déplacer et tenter de se reproduire.
+     *
+     * @param f ferme contenant les cases et autres animaux
+     * @param c la case de l'animal (en début de tour)
+     * @param saison saison actuelle affectant le comportement
+     */
+    public void tourSuivant(Ferme f, Case c, Saison saison) {
+        if (!vivant) return;
+
+        vivreSurPlace(f, c, saison);
+        if (!vivant) return;
+
+        seDeplacer(f);
+        essayerReproduction(f);
+    }
+
+    /**
+     * Actions journalières de l'animal sur sa propre case (boire, manger,
+     * fertiliser, produire), avant déplacement et reproduction.
+     * Spécifique à chaque espèce ; ne modifie que la case de l'animal.
      *
      * @param f ferme contenant les cases et autres animaux
+     * @param c la case de l'animal, fournie par le parcours qui le visite
      * @param saison saison actuelle affectant le comportement
      */
-    public abstract void tourSuivant(Ferme f, Saison saison);
+    public abstract void vivreSurPlace(Ferme f, Case c, Saison saison);
 
     /**
      * Vérifie si l'animal peut se reproduire avec un autre.
@@ -274,51 +345,139 @@ public abstract class Animal
      * @param ferme ferme entière
      */
     public void essayerReproduction(Ferme ferme) {
-        if (estBebe || aReproduit || !vivant) return;
+        Naissance naissance = proposerReproduction(ferme);
+        if (naissance != null) {
+            naissance.realiser(ferme);
+        }
+    }
+
+    /**
+     * Cherche un partenaire voisin et tire au sort une naissance, sans modifier la grille
+     * ni les animaux (hormis le flux de hasard de cet animal).
+     *
+     * @param ferme ferme entière
+     * @return la naissance tirée, ou null s'il n'y en a pas
+     */
+    public Naissance proposerReproduction(Ferme ferme) {
+        if (estBebe || aReproduit || !vivant) return null;
 
         int x = position.getX();
         int y = position.getY();
-        int[][] directions = {{-1,0},{1,0},{0,-1},{0,1}};
 
-        for (int[] dir : directions) {
-            Position voisine = Position.dansGrille(x + dir[0], y + dir[1]);
-            if (voisine != null) {
-                Case caseVoisine = ferme.getCase(voisine);
-                Animal autre = caseVoisine.getAnimal();
+        for (int dir = 0; dir < Ferme.NB_DIRECTIONS; dir++) {
+            int v = ferme.voisine(x, y, dir);
+            if (v >= 0) {
+                Animal autre = ferme.getAnimal(v);
 
                 if (peutSeReproduireAvec(autre)) {
-                    ArrayList<Position> casesLibres = new ArrayList<>();
-
-                    for (int[] d : directions) {
-                        Position autour = Position.dansGrille(x + d[0], y + d[1]);
-                        if (autour != null && ferme.getCase(autour).getAnimal() == null) {
-                            casesLibres.add(autour);
-                        }
-                        Position autour2 = Position.dansGrille(voisine.getX() + d[0], voisine.getY() + d[1]);
-                        if (autour2 != null && ferme.getCase(autour2).getAnimal() == null) {
-                            casesLibres.add(autour2);
-                        }
+                    int ax = v % ferme.getTaille(), ay = v / ferme.getTaille();
+
+                    // cases libres autour de l'animal et autour du partenaire, dans l'ordre
+                    // des directions et en alternant les deux (une case peut compter deux fois)
+                    int nbLibres = 0;
+                    for (int d = 0; d < Ferme.NB_DIRECTIONS; d++) {
+                        if (estLibre(ferme, ferme.voisine(x, y, d))) nbLibres++;
+                        if (estLibre(ferme, ferme.voisine(ax, ay, d))) nbLibres++;
                     }
 
-                    if (!casesLibres.isEmpty()) {
-                        double chance = Math.random();
+                    if (nbLibres > 0) {
+                        double chance = alea(ferme).nextDouble();
                         if (chance < probaReproduction) {
-                            Position cible = casesLibres.get(new Random().nextInt(casesLibres.size()));
-                            Animal bebe = creerBebe(cible);
-                            ferme.getCase(cible).setAnimal(bebe);
-
-                            this.aReproduit = true;
-                            autre.aReproduit = true;
-
-                            System.out.println(nom + " et " + autre.nom + " ont eu un bébé en " + cible);
+                            int choix = alea.nextInt(nbLibres);
+                            for (int d = 0; d < Ferme.NB_DIRECTIONS; d++) {
+                                int autour = ferme.voisine(x, y, d);
+                                if (estLibre(ferme, autour) && choix-- == 0)
+                                    return new Naissance(this, autre, autour, ferme.getPosition(autour));
+                                int autour2 = ferme.voisine(ax, ay, d);
+                                if (estLibre(ferme, autour2) && choix-- == 0)
+                                    return new Naissance(this, autre, autour2, ferme.getPosition(autour2));
+                            }
                         }
                     }
-                    return;
+                    return null;
                 }
             }
         }
+        return null;
+    }
+
+    /**
+     * Naissance tirée au sort par proposerReproduction, à réaliser ensuite.
+     */
+    public static final class Naissance 
+    {
+        private final Animal parent;
+        private final Animal autre;
+        private final int indiceCible; // indice (y*taille+x) de la case du bébé
+        private final Position cible;
+
+        private Naissance(Animal parent, Animal autre, int indiceCible, Position cible) {
+            this.parent = parent;
+            this.autre = autre;
+            this.indiceCible = indiceCible;
+            this.cible = cible;
+        }
+
+        /**
+         * Place le bébé si les deux parents n'ont pas encore reproduit et que
+         * la case cible est toujours libre.
+         *
+         * @param ferme ferme entière
+         * @return vrai si le bébé est né
+         */
+        public boolean realiser(Ferme ferme) {
+            if (parent.aReproduit || autre.aReproduit) return false;
+            if (ferme.getAnimal(indiceCible) != null) return false;
+
+            Animal bebe = parent.creerBebe(cible);
+            bebe.alea = parent.alea.split();
+            ferme.ajouterAnimal(cible, bebe);
+            ferme.noterNaissance(bebe);
+
+            parent.aReproduit = true;
+            autre.aReproduit = true;
+
+            ferme.signaler(() -> parent.nom + " et " + autre.nom + " ont eu un bébé en " + cible);
+            return true;
+        }
+
+        /**
+         * @return la position du bébé à naître
+         */
+        public Position getCible() {
+            return cible;
+        }
     }
     
+    /**
+     * Retourne le flux de hasard de l'animal, en le créant depuis la ferme au besoin.
+     *
+     * @param ferme ferme dont la source de hasard sert à créer le flux
+     * @return le flux de hasard de l'animal
+     */
+    protected Flux alea(Ferme ferme) {
+        if (alea == null) alea = ferme.getAleatoire().nouveauFlux();
+        return alea;
+    }
+
+    /**
+     * Retourne le flux de hasard propre à l'animal.
+     *
+     * @return le flux, ou null s'il n'a pas encore été attribué
+     */
+    public Flux getAleatoire() {
+        return alea;
+    }
+
+    /**
+     * Attribue à l'animal son flux de hasard (fait par la ferme lors du placement).
+     *
+     * @param alea le flux à utiliser
+     */
+    public void setAleatoire(Flux alea) {
+        this.alea = alea;
+    }
+
     /**
      * Retourne l'âge actuel de l'animal en jours.
      *
@@ -345,6 +504,15 @@ public abstract class Animal
     public String getNom() {
         return nom;
     }
+
+    /**
+     * Retourne l'identifiant de l'espèce, qui indice les statistiques de Jeu.
+     *
+     * @return identifiant du nom de l'animal dans la Nomenclature
+     */
+    public int getIdEspece() {
+        return idEspece;
+    }
     
     /**
      * Retourne la quantité d'eau actuelle dans le réservoir.
@@ -20,6 +20,15 @@ public class Ble extends Plante {
         super("ble.properties", pos);
     }
 
+    private Ble(Ble autre) {
+        super(autre);
+    }
+
+    @Override
+    public Ble copie() {
+        return new Ble(this);
+    }
+
     /**
      * -ce que le blé fait à chaque jour :
      * ; consomme de l’eau
@@ -56,5 +65,22 @@ public class Ble extends Plante {
         calInit += gain;
     }
 
+    /**
+     * -ressources assurées : le gain de chaque jour est une fraction fixe des calories,
+     *  qui sont donc multipliées par (1 + taux) à chaque tour.
+     */
+    @Override
+    protected boolean avancerDirectement(Case c, Saison saison, int nbJours)
+    {
+        if (!ressourcesAssurees(c, nbJours)) return false;
+        preleverRessources(c, nbJours);
+
+        double taux = croissance / 100.0;
+        if (saison == Saison.HIVER) taux *= 0.7;
+        if (saison == Saison.ETE)   taux *= 1.15;
+        calInit *= Math.pow(1 + taux, nbJours);
+        return true;
+    }
+
 
 }
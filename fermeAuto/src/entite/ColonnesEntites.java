@@ -0,0 +1,201 @@
+package entite;
+
+import java.io.IOException;
+
+import modele.EntreeSauvegarde;
+import modele.Ferme;
+import modele.Flux;
+import modele.Position;
+import modele.Saison;
+import modele.SortieSauvegarde;
+
+/**
+ * -écrit et relit l'état variable d'une suite d'animaux ou de plantes, colonne par
+ *  colonne (toutes les réserves d'eau, puis toutes les nourritures...).
+ * -les caractéristiques fixes de l'espèce ne sont pas écrites : elles sont relues
+ *  dans son fichier .properties à la création de l'entité.
+ * -l'espèce est écrite par identifiant de la Nomenclature au moment de l'écriture ;
+ *  à la lecture, noms donne le nom correspondant à chaque identifiant.
+ */
+public final class ColonnesEntites
+{
+    // Bits de la colonne d'état des animaux
+    private static final int VIVANT = 1, BEBE = 2, A_REPRODUIT = 4, A_UN_FLUX = 8;
+
+    private ColonnesEntites() {}
+
+    /**
+     * -écrit les n premiers animaux du tableau.
+     */
+    public static void ecrireAnimaux(Animal[] t, int n, SortieSauvegarde s) throws IOException
+    {
+        int[] entiers = new int[n];
+        double[] reels = new double[n];
+        long[] longs = new long[n];
+        byte[] octets = new byte[n];
+
+        for (int i = 0; i < n; i++) entiers[i] = t[i].idEspece;
+        s.ecrireInts(entiers, 0, n);
+        for (int i = 0; i < n; i++) entiers[i] = t[i].position.getX();
+        s.ecrireInts(entiers, 0, n);
+        for (int i = 0; i < n; i++) entiers[i] = t[i].position.getY();
+        s.ecrireInts(entiers, 0, n);
+        for (int i = 0; i < n; i++) entiers[i] = t[i].age;
+        s.ecrireInts(entiers, 0, n);
+
+        for (int i = 0; i < n; i++) reels[i] = t[i].eauActuelle;
+        s.ecrireDoubles(reels, 0, n);
+        for (int i = 0; i < n; i++) reels[i] = t[i].nourritureActuelle;
+        s.ecrireDoubles(reels, 0, n);
+        for (int i = 0; i < n; i++) reels[i] = t[i].eauParJour;
+        s.ecrireDoubles(reels, 0, n);
+        for (int i = 0; i < n; i++) reels[i] = t[i].nourritureParJour;
+        s.ecrireDoubles(reels, 0, n);
+
+        for (int i = 0; i < n; i++) {
+            Animal a = t[i];
+            octets[i] = (byte) ((a.vivant ? VIVANT : 0) | (a.estBebe ? BEBE : 0)
+                    | (a.aReproduit ? A_REPRODUIT : 0) | (a.alea != null ? A_UN_FLUX : 0));
+        }
+        s.ecrireOctets(octets, 0, n);
+        for (int i = 0; i < n; i++) longs[i] = t[i].alea != null ? t[i].alea.getGerme() : 0;
+        s.ecrireLongs(longs, 0, n);
+        for (int i = 0; i < n; i++) longs[i] = t[i].alea != null ? t[i].alea.getPas() : 0;
+        s.ecrireLongs(longs, 0, n);
+    }
+
+    /**
+     * -relit n animaux écrits par ecrireAnimaux.
+     * @param noms nom de chaque identifiant d'espèce au moment de l'écriture
+     * @param ferme ferme dont les positions sont reprises (les animaux n'y sont pas placés)
+     * @throws IOException si le fichier est illisible
+     * @throws IllegalArgumentException si une espèce n'existe pas dans ce programme
+     */
+    public static Animal[] lireAnimaux(int n, String[] noms, Ferme ferme, EntreeSauvegarde e) throws IOException
+    {
+        int[] especes = new int[n], xs = new int[n], ys = new int[n];
+        e.lireInts(especes, 0, n);
+        e.lireInts(xs, 0, n);
+        e.lireInts(ys, 0, n);
+
+        Animal[] t = new Animal[n];
+        for (int i = 0; i < n; i++) {
+            t[i] = Animal.creer(nom(noms, especes[i]), position(ferme, xs[i], ys[i]));
+        }
+
+        int[] entiers = especes;
+        e.lireInts(entiers, 0, n);
+        for (int i = 0; i < n; i++) t[i].age = entiers[i];
+
+        double[] reels = new double[n];
+        e.lireDoubles(reels, 0, n);
+        for (int i = 0; i < n; i++) t[i].eauActuelle = reels[i];
+        e.lireDoubles(reels, 0, n);
+        for (int i = 0; i < n; i++) t[i].nourritureActuelle = reels[i];
+        e.lireDoubles(reels, 0, n);
+        for (int i = 0; i < n; i++) t[i].eauParJour = reels[i];
+        e.lireDoubles(reels, 0, n);
+        for (int i = 0; i < n; i++) t[i].nourritureParJour = reels[i];
+
+        byte[] etats = new byte[n];
+        e.lireOctets(etats, 0, n);
+        long[] germes = new long[n], pas = new long[n];
+        e.lireLongs(germes, 0, n);
+        e.lireLongs(pas, 0, n);
+        for (int i = 0; i < n; i++) {
+            Animal a = t[i];
+            a.vivant = (etats[i] & VIVANT) != 0;
+            a.estBebe = (etats[i] & BEBE) != 0;
+            a.aReproduit = (etats[i] & A_REPRODUIT) != 0;
+            a.alea = (etats[i] & A_UN_FLUX) != 0 ? flux(germes[i], pas[i]) : null;
+        }
+        return t;
+    }
+
+    /**
+     * -écrit les n premières plantes du tableau.
+     */
+    public static void ecrirePlantes(Plante[] t, int n, SortieSauvegarde s) throws IOException
+    {
+        int[] entiers = new int[n];
+        double[] reels = new double[n];
+        byte[] octets = new byte[n];
+
+        for (int i = 0; i < n; i++) entiers[i] = t[i].idEspece;
+        s.ecrireInts(entiers, 0, n);
+        for (int i = 0; i < n; i++) entiers[i] = t[i].position.getX();
+        s.ecrireInts(entiers, 0, n);
+        for (int i = 0; i < n; i++) entiers[i] = t[i].position.getY();
+        s.ecrireInts(entiers, 0, n);
+
+        for (int i = 0; i < n; i++) reels[i] = t[i].eauActuelle;
+        s.ecrireDoubles(reels, 0, n);
+        for (int i = 0; i < n; i++) reels[i] = t[i].calInit;
+        s.ecrireDoubles(reels, 0, n);
+
+        for (int i = 0; i < n; i++) octets[i] = (byte) (t[i].vivante ? 1 : 0);
+        s.ecrireOctets(octets, 0, n);
+        for (int i = 0; i < n; i++) octets[i] = (byte) (t[i].reveil != null ? t[i].reveil.ordinal() : -1);
+        s.ecrireOctets(octets, 0, n);
+    }
+
+    /**
+     * -relit n plantes écrites par ecrirePlantes.
+     * @param noms nom de chaque identifiant d'espèce au moment de l'écriture
+     * @param ferme ferme dont les positions sont reprises (les plantes n'y sont pas placées)
+     * @throws IOException si le fichier est illisible
+     * @throws IllegalArgumentException si un type de plante n'existe pas dans ce programme
+     */
+    public static Plante[] lirePlantes(int n, String[] noms, Ferme ferme, EntreeSauvegarde e) throws IOException
+    {
+        int[] especes = new int[n], xs = new int[n], ys = new int[n];
+        e.lireInts(especes, 0, n);
+        e.lireInts(xs, 0, n);
+        e.lireInts(ys, 0, n);
+
+        Plante[] t = new Plante[n];
+        for (int i = 0; i < n; i++) {
+            t[i] = Plante.creer(nom(noms, especes[i]), position(ferme, xs[i], ys[i]));
+        }
+
+        double[] reels = new double[n];
+        e.lireDoubles(reels, 0, n);
+        for (int i = 0; i < n; i++) t[i].eauActuelle = reels[i];
+        e.lireDoubles(reels, 0, n);
+        for (int i = 0; i < n; i++) t[i].calInit = reels[i];
+
+        byte[] octets = new byte[n];
+        e.lireOctets(octets, 0, n);
+        for (int i = 0; i < n; i++) t[i].vivante = octets[i] != 0;
+        e.lireOctets(octets, 0, n);
+        Saison[] saisons = Saison.values();
+        for (int i = 0; i < n; i++) {
+            int r = octets[i];
+            if (r >= saisons.length)
+                throw new IOException("Sauvegarde invalide : saison " + r);
+            t[i].reveil = r < 0 ? null : saisons[r];
+        }
+        return t;
+    }
+
+    private static String nom(String[] noms, int id) throws IOException
+    {
+        if (id < 0 || id >= noms.length)
+            throw new IOException("Sauvegarde invalide : espèce " + id);
+        return noms[id];
+    }
+
+    private static Position position(Ferme ferme, int x, int y) throws IOException
+    {
+        if (!ferme.dansGrille(x, y))
+            throw new IOException("Sauvegarde invalide : position (" + x + ", " + y + ")");
+        return ferme.getPosition(x, y);
+    }
+
+    private static Flux flux(long germe, long pas) throws IOException
+    {
+        if ((pas & 1) == 0)
+            throw new IOException("Sauvegarde invalide : flux de hasard");
+        return new Flux(germe, pas);
+    }
+}
@@ -1,10 +1,7 @@
 package entite;
 
-
-import java.util.Properties;
-
 import modele.Case;
-import modele.Data;
+import modele.DefinitionEspece;
 import modele.Position;
 import modele.Saison;
 
@@ -17,6 +14,7 @@ public abstract class Plante
 {
 
     protected String nom;
+    protected int idEspece; // identifiant du nom dans la Nomenclature
     protected int prix;
     protected double eauParJour;
     protected double capEau;
@@ -28,42 +26,85 @@ public abstract class Plante
     protected int malusFaim;
     protected boolean vivante;
     protected Position position;
+    protected Saison reveil; // saison où la plante a de nouveau besoin de ses tours (null : demain)
     
 
     /**
-     * Crée une plante en chargeant ses caractéristiques depuis un fichier .properties que
-     * on peut modifer facilement.
+     * Crée une plante à partir des caractéristiques d'un fichier .properties que
+     * on peut modifer facilement. Le fichier n'est lu qu'une fois par espèce.
      *
      * @param nomFichier nom du fichier .properties (ex : "tomate.properties")
      * @param pos position de la plante dans la grille
      */
     public Plante(String nomFichier, Position pos) 
     {
-        Properties p = Data.chargerFichier(nomFichier);
+        DefinitionEspece d = DefinitionEspece.charger(nomFichier);
 
-        this.nom = p.getProperty("nom");
-        this.prix = Integer.parseInt(p.getProperty("prix"));
-        this.eauParJour = Double.parseDouble(p.getProperty("eauParJour"));
-        this.capEau = Double.parseDouble(p.getProperty("capEau"));
+        this.nom = d.getNom();
+        this.idEspece = d.getId();
+        this.prix = d.getPrix();
+        this.eauParJour = d.getEauParJour();
+        this.capEau = d.getCapEau();
         this.eauActuelle = this.capEau;
-        this.calInit = Double.parseDouble(p.getProperty("calInit"));
-        this.fertParJour = Integer.parseInt(p.getProperty("fertParJour"));
-     // croissance fixe de tomate ou croissance en pourcentage blé
-        if (p.getProperty("croissance") != null) {
-            this.croissance = Double.parseDouble(p.getProperty("croissance"));
-        } else {
-            this.croissance = Double.parseDouble(p.getProperty("croissancePourcent"));
-        }
-
-
-        
-        this.malusSoif = Integer.parseInt(p.getProperty("malusSoif"));
-        this.malusFaim = Integer.parseInt(p.getProperty("malusFaim"));
+        this.calInit = d.getCalInit();
+        this.fertParJour = d.getFertParJour();
+        // croissance fixe de tomate ou croissance en pourcentage blé
+        this.croissance = d.getCroissance();
+        this.malusSoif = d.getMalusSoif();
+        this.malusFaim = d.getMalusFaim();
 
         this.vivante = true;
         this.position = pos;
     }
 
+    /**
+     * Crée une copie indépendante d'une autre plante (même état, même position).
+     *
+     * @param autre la plante à copier
+     */
+    protected Plante(Plante autre)
+    {
+        this.nom = autre.nom;
+        this.idEspece = autre.idEspece;
+        this.prix = autre.prix;
+        this.eauParJour = autre.eauParJour;
+        this.capEau = autre.capEau;
+        this.eauActuelle = autre.eauActuelle;
+        this.calInit = autre.calInit;
+        this.fertParJour = autre.fertParJour;
+        this.croissance = autre.croissance;
+        this.malusSoif = autre.malusSoif;
+        this.malusFaim = autre.malusFaim;
+        this.vivante = autre.vivante;
+        this.position = autre.position;
+        this.reveil = autre.reveil;
+    }
+
+    /**
+     * Copie la plante, par exemple pour la faire avancer sans toucher à l'originale.
+     *
+     * @return une copie indépendante de même espèce
+     */
+    public abstract Plante copie();
+
+    /**
+     * Crée une plante d'après le nom de son type.
+     *
+     * @param type nom du type ("Tomate" ou "Ble", casse indifférente)
+     * @param pos position de la plante
+     * @return la nouvelle plante
+     * @throws IllegalArgumentException si le type n'existe pas
+     */
+    public static Plante creer(String type, Position pos)
+    {
+        switch (type.toLowerCase()) {
+            case "tomate": return new Tomate(pos);
+            case "ble": return new Ble(pos);
+            default:
+                throw new IllegalArgumentException("Type de plante non reconnu : " + type);
+        }
+    }
+
     /**
      * Vérifie si la plante est encore en vie.
      */
@@ -117,7 +158,7 @@ public abstract class Plante
 
         if (eauActuelle <= 0) {
             eauActuelle = 0;
-            mourir();
+            mourir(c);
         }
     }
 
@@ -126,26 +167,31 @@ public abstract class Plante
      * Réduit les calories de la plante quand elle est mangée.
      * Si les calories tombent à 0, elle meurt.
      * @param quantiteDemande quantité de calories que l’animal veut prendre
+     * @param c la case où se trouve la plante
      * @return quantité réellement fournie (≤ quantiteDemande et ≤ stock restant)
      */
-    public double etreMangee(double quantiteDemande) 
+    public double etreMangee(double quantiteDemande, Case c) 
     {
         double fournie = Math.min(quantiteDemande, calInit);
         calInit -= fournie;
         if (calInit <= 0) {
             calInit = 0;
-            mourir();
+            mourir(c);
         }
         return fournie;
     }
 
 
     /**
-     * Fait mourir la plante.
+     * Fait mourir la plante et signale sa mort aux événements de la ferme.
+     * @param c la case où se trouve la plante
      */
-    public void mourir() {
-        vivante = false;
-        System.out.println(nom + " est mort à la position " + position +
+    public void mourir(Case c) {
+        if (vivante) {
+            vivante = false;
+            c.noterMort(this);
+        }
+        c.signaler(() -> nom + " est mort à la position " + position +
                 " (Eau=" + eauActuelle );
     }
 
@@ -160,6 +206,8 @@ public abstract class Plante
     /**
      * Méthode exécutée à chaque tour de simulation.
      * Chaque sous-classe la définit selon son type (tomate, blé…).
+     * Une plante qui n'aura rien à faire pendant un moment le déclare en
+     * renseignant reveil : le jeu peut alors la laisser dormir jusque-là.
      *
      * @param c la case où se trouve la plante
      */
@@ -168,10 +216,78 @@ public abstract class Plante
     
     
     public abstract void tourSuivant(Case c, Saison saison);
-    
-    
-    
-    
+
+
+    /**
+     * Fait jouer plusieurs tours d'affilée à la plante, dans une même saison et
+     * sans apport extérieur entre deux tours (pluie, fertilisant, animaux).
+     * Quand ses ressources restent assurées sur toute la période, la sous-classe
+     * calcule le résultat en une fois (avancerDirectement) ; sinon les tours sont
+     * joués un par un. Le résultat est le même, aux arrondis près.
+     *
+     * @param c la case où se trouve la plante
+     * @param saison la saison de toute la période
+     * @param nbJours nombre de tours à jouer
+     */
+    public final void avancer(Case c, Saison saison, int nbJours)
+    {
+        if (nbJours < 0) {
+            throw new IllegalArgumentException("Nombre de jours négatif : " + nbJours);
+        }
+        if (nbJours == 0 || !vivante) return;
+        if (avancerDirectement(c, saison, nbJours)) return;
+
+        for (int i = 0; i < nbJours && vivante; i++) {
+            tourSuivant(c, saison);
+        }
+    }
+
+    /**
+     * Calcule en une fois l'effet de nbJours tours, si c'est possible.
+     * Par défaut rien n'est calculé : avancer joue alors les tours un par un.
+     *
+     * @return faux si la plante et la case n'ont pas été modifiées
+     */
+    protected boolean avancerDirectement(Case c, Saison saison, int nbJours) {
+        return false;
+    }
+
+    /**
+     * Vérifie que chacun des nbJours prochains tours trouvera la plante désaltérée
+     * et assez de fertilisant sur la case (après le prélèvement du jour) :
+     * aucun malus ne s'applique alors et le gain de chaque jour suit une formule fixe.
+     */
+    protected boolean ressourcesAssurees(Case c, int nbJours)
+    {
+        boolean eau = c.puitsAutour()
+                || (eauActuelle >= capEau && c.getEauDisponible() >= nbJours * eauParJour);
+        return eau && capEau > 0
+                && c.getFertilisant() >= (nbJours + 1.0) * fertParJour;
+    }
+
+    /**
+     * Prélève sur la case l'eau et le fertilisant de nbJours tours dont les
+     * ressources sont assurées : le réservoir de la plante reste plein.
+     */
+    protected void preleverRessources(Case c, int nbJours)
+    {
+        if (!c.puitsAutour()) {
+            c.ajouterEau(-nbJours * eauParJour);
+        }
+        c.ajouterFertilisant(-nbJours * (double) fertParJour);
+        eauActuelle = capEau;
+    }
+
+
+    /**
+     * Indique jusqu'à quand la plante peut être laissée en sommeil, d'après son
+     * dernier tour : ses tours jusqu'au début de cette saison ne feraient rien.
+     * @return la saison de réveil, ou null si elle a besoin du prochain tour
+     */
+    public Saison getReveil() {
+        return reveil;
+    }
+
     /**
      * Retourne la quantité de calories actuellement stockée dans la plante.
      * @return calories disponibles
@@ -187,6 +303,13 @@ public abstract class Plante
     public String getNom() {
         return nom;
     }
+
+    /**
+     * @return l'identifiant de l'espèce dans la Nomenclature (indice des statistiques)
+     */
+    public int getIdEspece() {
+        return idEspece;
+    }
     
     /**
      * @return l'eau qu'a la plante (chargé depuis le fichier .properties)
@@ -24,22 +24,22 @@ public class Poule extends Animal {
     }
 
     /**
-     * -exécute le cycle quotidien de la poule :
-     * -elle boit, mange, produit des œufs, vieillit,
-     * -dépose du fertilisant et se déplace aléatoirement.
+     * -exécute la partie sur place du cycle quotidien de la poule :
+     * -elle boit, mange, produit des œufs, vieillit et dépose du fertilisant
+     * -(le déplacement et la reproduction sont faits ensuite par Animal).
      * 
      * -effets saisonniers :
      * ; en hiver : 1/3 chance de produire un œuf
      * ; en été : besoin en nourriture augmenté de 25%
      *
      * @param ferme  la ferme entière (accès aux cases voisines, etc.)
+     * @param c      la case de la poule
      * @param saison la saison actuelle
      */
     
-    public void tourSuivant(Ferme ferme, Saison saison) {
+    public void vivreSurPlace(Ferme ferme, Case c, Saison saison) {
         if (!vivant) return;
 
-        Case c = ferme.getCase(position);
         consommerEau(c);
         consommerNourriture(c);
         if (!vivant) return;
@@ -57,12 +57,9 @@ public class Poule extends Animal {
         if (aSoif()) prod -= prod * malusSoif / 100.0;
         if (aFaim()) prod -= prod * malusFaim / 100.0;
 
-        if (saison == Saison.HIVER && Math.random() > (1.0 / 3)) prod = 0;
+        if (saison == Saison.HIVER && alea(ferme).nextDouble() > (1.0 / 3)) prod = 0;
 
         
-
-        seDeplacer(ferme);
-        essayerReproduction(ferme);
     }
 
     /**
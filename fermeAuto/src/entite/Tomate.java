@@ -21,6 +21,15 @@ public class Tomate extends Plante
         super("tomate.properties", pos);
     }
 
+    private Tomate(Tomate autre) {
+        super(autre);
+    }
+
+    @Override
+    public Tomate copie() {
+        return new Tomate(this);
+    }
+
     /**
      * -ce que fait la tomate à chaque tour :
      *  consomme de l’eau
@@ -28,6 +37,7 @@ public class Tomate extends Plante
      * ; ajoute une quantité fixe de calories
      * ; spécifie les comportements pour chaque saison
      * ; En hiver : Les tomates se congèlent, arrêtant leur croissance ainsi que leurs besoins. 
+     *   Elles n'ont plus besoin de tour avant le printemps.
      * ; En hiver :Elles ne peuvent pas non plus être mangées par les animaux.
      * ; en été : la croissance des tomates augmente de 20%
      * 
@@ -40,11 +50,13 @@ public class Tomate extends Plante
     {
         if (!vivante) return;
 
-        // 1) Gèle en hiver
+        // 1) Gèle en hiver, jusqu'au printemps
         if (saison == Saison.HIVER) {
-            System.out.println("Tomate gelée en hiver à " + position);
+            c.signaler(() -> "Tomate gelée en hiver à " + position);
+            reveil = Saison.PRINTEMPS;
             return;
         }
+        reveil = null;
 
         // 2) Eau
         consommerEau(c);
@@ -65,6 +77,27 @@ public class Tomate extends Plante
         calInit += gain;
     }
 
+    /**
+     * -en hiver : gelée, la tomate ne change pas quel que soit le nombre de jours.
+     * -sinon, ressources assurées : le même gain fixe s'ajoute à chaque tour.
+     */
+    @Override
+    protected boolean avancerDirectement(Case c, Saison saison, int nbJours)
+    {
+        if (saison == Saison.HIVER) {
+            tourSuivant(c, saison);
+            return true;
+        }
+        if (!ressourcesAssurees(c, nbJours)) return false;
+        reveil = null;
+        preleverRessources(c, nbJours);
+
+        double gain = croissance;
+        if (saison == Saison.ETE) gain *= 1.2;
+        calInit += nbJours * gain;
+        return true;
+    }
+
 }
 
 
@@ -26,23 +26,22 @@ public class Vache extends Animal
     }
 
     /**
-     * -exécute le cycle quotidien de la vache :
-     * elle boit, mange, produit du lait, vieillit,
-     * dépose du fertilisant et se déplace aléatoirement.
+     * -exécute la partie sur place du cycle quotidien de la vache :
+     * elle boit, mange, produit du lait, vieillit et dépose du fertilisant
+     * (le déplacement et la reproduction sont faits ensuite par Animal).
      *  -en hiver : La production de lait baisse de 50%
      * -en été: besoin en nourriture des poules (+25%).
      *
      * @param ferme la ferme entière (accès aux cases voisines, etc.)
+     * @param c la case de la vache
      */
     
     
     @Override
-    public void tourSuivant(Ferme ferme, Saison saison)
+    public void vivreSurPlace(Ferme ferme, Case c, Saison saison)
     {
         if (!vivant) return;
 
-        Case c = ferme.getCase(position);
-
         // Été : augmente le besoin en eau
         if (saison == Saison.ETE) {
             eauParJour = baseEauParJour * 1.3;
@@ -64,9 +63,6 @@ public class Vache extends Animal
         if (aFaim()) prod -= prod * malusFaim / 100.0;
 
         
-
-        seDeplacer(ferme);
-        essayerReproduction(ferme);
     }
 
 
@@ -0,0 +1,120 @@
+package gestion;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import modele.Saison;
+
+/**
+ * -résumé immuable d'une saison terminée : ventes, budget et effectifs.
+ * -produit par Jeu à chaque fin de saison pour les exécutions sans affichage.
+ */
+public final class BilanSaison
+{
+    private final int numero;
+    private final Saison saison;
+    private final int jour;
+    private final double budget;
+    private final double ventesTotales;
+    private final double stockFertilisant;
+    private final Map<String, Double> ventesAnimaux;
+    private final Map<String, Double> ventesPlantes;
+    private final Map<String, Integer> animauxVivants;
+    private final Map<String, Integer> plantesVivantes;
+
+    /**
+     * @param numero numéro de la saison (1 pour la première)
+     * @param saison saison terminée
+     * @param jour dernier jour de la saison (depuis le début de la simulation)
+     * @param budget budget de la ferme après la vente
+     * @param ventesTotales recette de la vente de fin de saison
+     * @param stockFertilisant stock de fertilisant du magasin
+     * @param ventesAnimaux calories vendues par produit animal
+     * @param ventesPlantes calories vendues par plante
+     * @param animauxVivants animaux vivants par espèce le dernier jour
+     * @param plantesVivantes plantes vivantes par espèce le dernier jour
+     */
+    public BilanSaison(int numero, Saison saison, int jour, double budget, double ventesTotales,
+                       double stockFertilisant,
+                       Map<String, Double> ventesAnimaux, Map<String, Double> ventesPlantes,
+                       Map<String, Integer> animauxVivants, Map<String, Integer> plantesVivantes)
+    {
+        this.numero = numero;
+        this.saison = saison;
+        this.jour = jour;
+        this.budget = budget;
+        this.ventesTotales = ventesTotales;
+        this.stockFertilisant = stockFertilisant;
+        this.ventesAnimaux = Collections.unmodifiableMap(new LinkedHashMap<>(ventesAnimaux));
+        this.ventesPlantes = Collections.unmodifiableMap(new LinkedHashMap<>(ventesPlantes));
+        this.animauxVivants = Collections.unmodifiableMap(new LinkedHashMap<>(animauxVivants));
+        this.plantesVivantes = Collections.unmodifiableMap(new LinkedHashMap<>(plantesVivantes));
+    }
+
+    public int getNumero() { return numero; }
+
+    public Saison getSaison() { return saison; }
+
+    public int getJour() { return jour; }
+
+    public double getBudget() { return budget; }
+
+    public double getVentesTotales() { return ventesTotales; }
+
+    public double getStockFertilisant() { return stockFertilisant; }
+
+    public Map<String, Double> getVentesAnimaux() { return ventesAnimaux; }
+
+    public Map<String, Double> getVentesPlantes() { return ventesPlantes; }
+
+    public Map<String, Integer> getAnimauxVivants() { return animauxVivants; }
+
+    public Map<String, Integer> getPlantesVivantes() { return plantesVivantes; }
+
+    /**
+     * -sérialise le bilan en une ligne JSON (format « JSON lines »).
+     * @return l'objet JSON sur une seule ligne
+     */
+    public String enJson()
+    {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("{\"saison\":").append(numero)
+          .append(",\"nom\":\"").append(saison).append('"')
+          .append(",\"jour\":").append(jour)
+          .append(",\"budget\":").append(budget)
+          .append(",\"ventes\":").append(ventesTotales)
+          .append(",\"fertilisant\":").append(stockFertilisant)
+          .append(",\"ventesAnimaux\":");
+        ajouterJson(sb, ventesAnimaux);
+        sb.append(",\"ventesPlantes\":");
+        ajouterJson(sb, ventesPlantes);
+        sb.append(",\"animaux\":");
+        ajouterJson(sb, animauxVivants);
+        sb.append(",\"plantes\":");
+        ajouterJson(sb, plantesVivantes);
+        return sb.append('}').toString();
+    }
+
+    private static void ajouterJson(StringBuilder sb, Map<String, ? extends Number> valeurs)
+    {
+        sb.append('{');
+        boolean premier = true;
+        for (Map.Entry<String, ? extends Number> e : valeurs.entrySet()) {
+            if (!premier) sb.append(',');
+            premier = false;
+            sb.append('"');
+            for (char ch : e.getKey().toCharArray()) {
+                if (ch == '"' || ch == '\\') sb.append('\\');
+                sb.append(ch);
+            }
+            sb.append("\":").append(e.getValue());
+        }
+        sb.append('}');
+    }
+
+    @Override
+    public String toString() {
+        return enJson();
+    }
+}
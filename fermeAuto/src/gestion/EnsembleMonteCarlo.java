@@ -0,0 +1,406 @@
+package gestion;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+import modele.Evenements;
+import modele.Ferme;
+import modele.Flux;
+
+/**
+ * -lance un ensemble de simulations indépendantes (Monte-Carlo) sur un ForkJoinPool,
+ *  pour estimer ce que le hasard (pluie, reproduction, ponte d'hiver) laisse espérer :
+ *  chaque exécution a sa propre ferme, son magasin et son jeu, construits par une
+ *  fabrique à partir d'une graine.
+ * -les graines des exécutions sont tirées d'une graine maîtresse (voir graines) : un
+ *  ensemble se reproduit à l'identique, quel que soit le nombre de threads, et
+ *  chaque exécution peut être rejouée seule.
+ * -à chaque fin de saison sont relevés le budget, les ventes et les effectifs ; les
+ *  résumés (moyenne, intervalle de confiance, percentiles) sont publiés au fil des
+ *  exécutions terminées.
+ * -les exécutions ne partagent que les registres globaux en ajout seul (Nomenclature,
+ *  DefinitionEspece), sûrs entre threads. Les jeux construits par la fabrique doivent
+ *  rester en déroulement séquentiel : le parallélisme est entre les exécutions.
+ */
+public final class EnsembleMonteCarlo
+{
+    /**
+     * -grandeurs relevées à chaque fin de saison.
+     */
+    public enum Grandeur {
+        /** Budget de la ferme après la vente. */
+        BUDGET,
+        /** Recette de la vente de fin de saison. */
+        VENTES,
+        /** Animaux vivants, toutes espèces confondues, le dernier jour. */
+        ANIMAUX,
+        /** Plantes vivantes, toutes espèces confondues, le dernier jour. */
+        PLANTES
+    }
+
+    private static final Grandeur[] GRANDEURS = Grandeur.values();
+    private static final double Z_95 = 1.959963984540054; // quantile 97,5 % de la loi normale
+
+    private final LongFunction<Jeu> fabrique;
+    private final int nbJours;
+    private final ForkJoinPool pool;
+
+    /**
+     * -ensemble exécuté sur le pool commun de la JVM.
+     * @param fabrique construit le jeu neuf d'une exécution à partir de sa graine
+     * @param nbJours nombre de jours joués par chaque exécution (au moins une saison)
+     */
+    public EnsembleMonteCarlo(LongFunction<Jeu> fabrique, int nbJours) {
+        this(fabrique, nbJours, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param fabrique construit le jeu neuf d'une exécution à partir de sa graine
+     * @param nbJours nombre de jours joués par chaque exécution (au moins une saison)
+     * @param pool pool de threads sur lequel répartir les exécutions
+     */
+    public EnsembleMonteCarlo(LongFunction<Jeu> fabrique, int nbJours, ForkJoinPool pool)
+    {
+        if (fabrique == null || pool == null)
+            throw new IllegalArgumentException("Fabrique et pool requis");
+        if (nbJours < 30)
+            throw new IllegalArgumentException("Il faut au moins une saison (30 jours) : " + nbJours);
+        this.fabrique = fabrique;
+        this.nbJours = nbJours;
+        this.pool = pool;
+    }
+
+    /**
+     * -tire les graines des exécutions d'un ensemble.
+     * @param graine graine maîtresse de l'ensemble
+     * @param nbExecutions nombre d'exécutions
+     * @return la graine de chaque exécution, dans l'ordre
+     */
+    public static long[] graines(long graine, int nbExecutions)
+    {
+        Flux flux = new Flux(graine);
+        long[] g = new long[nbExecutions];
+        for (int i = 0; i < nbExecutions; i++) g[i] = flux.nextLong();
+        return g;
+    }
+
+    /**
+     * -lance l'ensemble et attend la fin de toutes les exécutions.
+     * @param graine graine maîtresse de l'ensemble
+     * @param nbExecutions nombre d'exécutions (> 0)
+     * @return le résumé final
+     */
+    public Releve executer(long graine, int nbExecutions) {
+        return executer(graine, nbExecutions, nbExecutions, null);
+    }
+
+    /**
+     * -lance l'ensemble et attend la fin de toutes les exécutions, en publiant un
+     *  résumé toutes les publierTous exécutions terminées, et à la fin.
+     * -l'écouteur est appelé depuis les threads du pool, un appel à la fois, avec un
+     *  nombre d'exécutions terminées croissant.
+     * @param graine graine maîtresse de l'ensemble
+     * @param nbExecutions nombre d'exécutions (> 0)
+     * @param publierTous nombre d'exécutions terminées entre deux publications (> 0)
+     * @param ecouteur reçoit les résumés intermédiaires et le final (null pour aucun)
+     * @return le résumé final
+     */
+    public Releve executer(long graine, int nbExecutions, int publierTous, Consumer<Releve> ecouteur)
+    {
+        if (nbExecutions <= 0 || publierTous <= 0)
+            throw new IllegalArgumentException("Nombres d'exécutions invalides : " + nbExecutions
+                    + ", publication tous les " + publierTous);
+        Agregateur agregateur = new Agregateur(nbExecutions, nbJours / 30, publierTous, ecouteur);
+        pool.invoke(new Executions(graines(graine, nbExecutions), 0, nbExecutions, agregateur));
+        return agregateur.releve();
+    }
+
+    /**
+     * -joue une exécution et relève ses bilans de saison.
+     * @return les grandeurs de chaque saison, [saison - 1][grandeur]
+     */
+    private double[][] jouer(long graine)
+    {
+        Jeu jeu = fabrique.apply(graine);
+        if (jeu == null || jeu.getJour() != 1)
+            throw new IllegalStateException("La fabrique doit fournir un jeu neuf (graine " + graine + ")");
+        Ferme ferme = jeu.getFerme();
+        ferme.setEvenements(Evenements.AUCUN);
+        double[][] valeurs = new double[nbJours / 30][];
+        jeu.setEcouteurSaison(b -> {
+            double[] v = new double[GRANDEURS.length];
+            v[Grandeur.BUDGET.ordinal()] = b.getBudget();
+            v[Grandeur.VENTES.ordinal()] = b.getVentesTotales();
+            v[Grandeur.ANIMAUX.ordinal()] = b.getAnimauxVivants().values().stream().mapToInt(Integer::intValue).sum();
+            v[Grandeur.PLANTES.ordinal()] = b.getPlantesVivantes().values().stream().mapToInt(Integer::intValue).sum();
+            valeurs[b.getNumero() - 1] = v;
+        });
+        jeu.jouer(nbJours);
+        return valeurs;
+    }
+
+    /**
+     * -découpe récursive de l'intervalle d'exécutions [debut, fin), comme les bandes
+     *  du MoteurParallele : les threads libres volent les moitiés restantes.
+     */
+    private final class Executions extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+        private final long[] graines;
+        private final int debut, fin;
+        private final Agregateur agregateur;
+
+        Executions(long[] graines, int debut, int fin, Agregateur agregateur) {
+            this.graines = graines;
+            this.debut = debut;
+            this.fin = fin;
+            this.agregateur = agregateur;
+        }
+
+        @Override
+        protected void compute() {
+            if (fin - debut <= 1) {
+                if (fin > debut) agregateur.ajouter(debut, jouer(graines[debut]));
+                return;
+            }
+            int milieu = (debut + fin) >>> 1;
+            invokeAll(new Executions(graines, debut, milieu, agregateur),
+                      new Executions(graines, milieu, fin, agregateur));
+        }
+    }
+
+    /**
+     * -range les résultats par numéro d'exécution (et non par ordre d'arrivée) : les
+     *  résumés ne dépendent que des exécutions terminées, pas de l'ordonnancement.
+     * -le verrou de l'agrégateur ne protège que le compte des exécutions terminées : les
+     *  résumés sont calculés hors verrou, puis publiés sous un verrou à part, dans
+     *  l'ordre de leur rang (le premier thread qui trouve le rang suivant prêt publie).
+     */
+    private static final class Agregateur
+    {
+        private final double[][][] valeurs; // [saison][grandeur][exécution]
+        private final int[] ordre; // exécutions terminées, par ordre d'arrivée
+        private final int publierTous;
+        private final Consumer<Releve> ecouteur;
+        private final Releve[] aPublier; // résumés calculés, par rang de publication
+        private int nbTerminees; // gardé par this
+        private int prochainRang; // gardé par aPublier
+
+        Agregateur(int nbExecutions, int nbSaisons, int publierTous, Consumer<Releve> ecouteur)
+        {
+            this.valeurs = new double[nbSaisons][GRANDEURS.length][nbExecutions];
+            this.ordre = new int[nbExecutions];
+            this.publierTous = publierTous;
+            this.ecouteur = ecouteur;
+            this.aPublier = new Releve[(nbExecutions - 1) / publierTous + 1];
+        }
+
+        void ajouter(int execution, double[][] parSaison)
+        {
+            // chaque exécution n'écrit que sa propre colonne, rendue visible par le verrou
+            for (int s = 0; s < valeurs.length; s++) {
+                for (int g = 0; g < GRANDEURS.length; g++) {
+                    valeurs[s][g][execution] = parSaison[s][g];
+                }
+            }
+            int n;
+            synchronized (this) {
+                ordre[nbTerminees++] = execution;
+                n = nbTerminees;
+            }
+            if (ecouteur == null || (n % publierTous != 0 && n != ordre.length)) return;
+
+            Releve r = releve(n);
+            synchronized (aPublier) {
+                aPublier[(n - 1) / publierTous] = r;
+                while (prochainRang < aPublier.length && aPublier[prochainRang] != null) {
+                    ecouteur.accept(aPublier[prochainRang]);
+                    aPublier[prochainRang++] = null;
+                }
+            }
+        }
+
+        Releve releve()
+        {
+            int n;
+            synchronized (this) {
+                n = nbTerminees;
+            }
+            return releve(n);
+        }
+
+        /**
+         * -résumé des n premières exécutions terminées, calculé sans verrou : leurs
+         *  valeurs et leur place dans ordre ne changent plus.
+         */
+        private Releve releve(int n)
+        {
+            int[] executions = Arrays.copyOf(ordre, n);
+            Arrays.sort(executions);
+            Synthese[][] syntheses = new Synthese[valeurs.length][GRANDEURS.length];
+            double[] echantillon = new double[n];
+            for (int s = 0; s < valeurs.length; s++) {
+                for (int g = 0; g < GRANDEURS.length; g++) {
+                    for (int i = 0; i < n; i++) echantillon[i] = valeurs[s][g][executions[i]];
+                    syntheses[s][g] = new Synthese(echantillon, n);
+                }
+            }
+            return new Releve(n, ordre.length, syntheses);
+        }
+    }
+
+    /**
+     * -résumé figé d'un ensemble, pour chaque saison et chaque grandeur.
+     */
+    public static final class Releve
+    {
+        private final int nbTerminees;
+        private final int nbExecutions;
+        private final Synthese[][] syntheses;
+
+        private Releve(int nbTerminees, int nbExecutions, Synthese[][] syntheses) {
+            this.nbTerminees = nbTerminees;
+            this.nbExecutions = nbExecutions;
+            this.syntheses = syntheses;
+        }
+
+        /** @return le nombre d'exécutions terminées prises en compte */
+        public int getNbTerminees() { return nbTerminees; }
+
+        /** @return le nombre d'exécutions de l'ensemble */
+        public int getNbExecutions() { return nbExecutions; }
+
+        /** @return le nombre de saisons jouées par chaque exécution */
+        public int getNbSaisons() { return syntheses.length; }
+
+        /**
+         * @param saison numéro de la saison (1 pour la première)
+         * @param grandeur grandeur relevée
+         * @return le résumé de cette grandeur en fin de saison
+         */
+        public Synthese get(int saison, Grandeur grandeur)
+        {
+            if (saison < 1 || saison > syntheses.length)
+                throw new IllegalArgumentException("Saison hors de l'ensemble : " + saison);
+            return syntheses[saison - 1][grandeur.ordinal()];
+        }
+
+        /**
+         * -sérialise le résumé en une ligne JSON, une entrée par saison.
+         * @return l'objet JSON sur une seule ligne
+         */
+        public String enJson()
+        {
+            StringBuilder sb = new StringBuilder(512 * syntheses.length);
+            sb.append("{\"terminees\":").append(nbTerminees)
+              .append(",\"executions\":").append(nbExecutions)
+              .append(",\"saisons\":[");
+            for (int s = 0; s < syntheses.length; s++) {
+                if (s > 0) sb.append(',');
+                sb.append("{\"saison\":").append(s + 1);
+                for (Grandeur g : GRANDEURS) {
+                    sb.append(",\"").append(g.name().toLowerCase()).append("\":");
+                    syntheses[s][g.ordinal()].ajouterJson(sb);
+                }
+                sb.append('}');
+            }
+            return sb.append("]}").toString();
+        }
+
+        @Override
+        public String toString() {
+            return enJson();
+        }
+    }
+
+    /**
+     * -résumé d'un échantillon : moyenne, écart-type, intervalle de confiance à 95 %
+     *  de la moyenne (approximation normale) et percentiles (interpolation linéaire).
+     */
+    public static final class Synthese
+    {
+        private final int n;
+        private final double moyenne;
+        private final double ecartType;
+        private final double min, p5, p25, mediane, p75, p95, max;
+
+        private Synthese(double[] echantillon, int n)
+        {
+            this.n = n;
+            double somme = 0;
+            for (int i = 0; i < n; i++) somme += echantillon[i];
+            moyenne = n > 0 ? somme / n : 0;
+            double carres = 0;
+            for (int i = 0; i < n; i++) {
+                double d = echantillon[i] - moyenne;
+                carres += d * d;
+            }
+            ecartType = n > 1 ? Math.sqrt(carres / (n - 1)) : 0;
+
+            double[] tries = Arrays.copyOf(echantillon, n);
+            Arrays.sort(tries);
+            min = percentile(tries, 0);
+            p5 = percentile(tries, 0.05);
+            p25 = percentile(tries, 0.25);
+            mediane = percentile(tries, 0.5);
+            p75 = percentile(tries, 0.75);
+            p95 = percentile(tries, 0.95);
+            max = percentile(tries, 1);
+        }
+
+        private static double percentile(double[] tries, double q)
+        {
+            if (tries.length == 0) return 0;
+            double rang = q * (tries.length - 1);
+            int i = (int) rang;
+            if (i + 1 >= tries.length) return tries[tries.length - 1];
+            return tries[i] + (rang - i) * (tries[i + 1] - tries[i]);
+        }
+
+        /** @return la taille de l'échantillon */
+        public int getN() { return n; }
+
+        public double getMoyenne() { return moyenne; }
+
+        /** @return l'écart-type de l'échantillon (0 avec moins de deux valeurs) */
+        public double getEcartType() { return ecartType; }
+
+        /** @return la borne basse de l'intervalle de confiance à 95 % de la moyenne */
+        public double getIcBas() { return n > 0 ? moyenne - Z_95 * ecartType / Math.sqrt(n) : 0; }
+
+        /** @return la borne haute de l'intervalle de confiance à 95 % de la moyenne */
+        public double getIcHaut() { return n > 0 ? moyenne + Z_95 * ecartType / Math.sqrt(n) : 0; }
+
+        public double getMin() { return min; }
+
+        public double getP5() { return p5; }
+
+        public double getP25() { return p25; }
+
+        public double getMediane() { return mediane; }
+
+        public double getP75() { return p75; }
+
+        public double getP95() { return p95; }
+
+        public double getMax() { return max; }
+
+        private void ajouterJson(StringBuilder sb)
+        {
+            sb.append("{\"moyenne\":").append(moyenne)
+              .append(",\"ecartType\":").append(ecartType)
+              .append(",\"ic95\":[").append(getIcBas()).append(',').append(getIcHaut()).append(']')
+              .append(",\"min\":").append(min)
+              .append(",\"p5\":").append(p5)
+              .append(",\"p25\":").append(p25)
+              .append(",\"mediane\":").append(mediane)
+              .append(",\"p75\":").append(p75)
+              .append(",\"p95\":").append(p95)
+              .append(",\"max\":").append(max)
+              .append('}');
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package gestion;
+
+import java.io.PrintStream;
+
+import modele.Evenements;
+import modele.Ferme;
+
+/**
+ * -exécute une simulation sans affichage console, pour les lancements en série.
+ * -les messages de la simulation (morts, naissances, rapports...) sont ignorés,
+ *  sauf si une autre destination est fournie.
+ * -une ligne JSON par saison terminée est écrite sur la sortie donnée.
+ */
+public class ExecutionSansAffichage
+{
+    private final Jeu jeu;
+
+    /**
+     * -prépare une exécution qui ignore tous les messages de la simulation.
+     *
+     * @param ferme la ferme simulée par le jeu
+     * @param jeu le jeu à faire tourner
+     * @param sortie où écrire les bilans de saison (JSON lines)
+     */
+    public ExecutionSansAffichage(Ferme ferme, Jeu jeu, PrintStream sortie)
+    {
+        this(ferme, jeu, sortie, Evenements.AUCUN);
+    }
+
+    /**
+     * -prépare une exécution avec une destination de messages choisie.
+     *
+     * @param ferme la ferme simulée par le jeu
+     * @param jeu le jeu à faire tourner
+     * @param sortie où écrire les bilans de saison (JSON lines)
+     * @param evenements destination des messages de la simulation
+     */
+    public ExecutionSansAffichage(Ferme ferme, Jeu jeu, PrintStream sortie, Evenements evenements)
+    {
+        if (ferme == null || jeu == null || sortie == null)
+            throw new IllegalArgumentException("Ferme, jeu et sortie requis");
+        this.jeu = jeu;
+        ferme.setEvenements(evenements);
+        jeu.setEcouteurSaison(bilan -> sortie.println(bilan.enJson()));
+    }
+
+    /**
+     * -fait avancer la simulation.
+     * @param nbJours nombre de jours à simuler
+     */
+    public void executer(int nbJours) {
+        jeu.jouer(nbJours);
+    }
+}
@@ -0,0 +1,136 @@
+package gestion;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import modele.Journal;
+
+/**
+ * -historique d'une partie dans un dossier, pour la revoir à n'importe quel jour
+ *  (voir Rejeu) sans la rejouer depuis le début :
+ *  ; journal.frmj : journal de tous les événements (voir JournalBinaire)
+ *  ; jour-NNNNNN.frma : instantané (Sauvegarde) pris au début du jour NNNNNN, avant
+ *    sa journée, tous les « intervalle » jours
+ *  ; instantanes.idx : pour chaque instantané, son jour (int) et la position du repère
+ *    correspondant dans le journal (long), en petit-boutiste
+ * -seuls les achats du magasin sont rejoués ; les modifications faites directement sur la
+ *  ferme pendant l'enregistrement n'en font pas partie.
+ */
+public final class Historique implements AutoCloseable
+{
+    static final String JOURNAL = "journal.frmj";
+    static final String INDEX = "instantanes.idx";
+    static final int TAILLE_ENTREE_INDEX = 12;
+
+    private final Jeu jeu;
+    private final Path dossier;
+    private final int intervalle;
+    private final JournalBinaire journal;
+    private final FileChannel index;
+    private int dernierInstantane;
+
+    private Historique(Jeu jeu, Path dossier, int intervalle, JournalBinaire journal, FileChannel index)
+    {
+        this.jeu = jeu;
+        this.dossier = dossier;
+        this.intervalle = intervalle;
+        this.journal = journal;
+        this.index = index;
+    }
+
+    /**
+     * -commence l'historique d'une partie : prend un premier instantané, puis le jeu
+     *  note tous ses événements dans le journal et prend un instantané tous les
+     *  « intervalle » jours, jusqu'à close.
+     * @param jeu partie à enregistrer, entre deux appels à jouer
+     * @param dossier dossier de l'historique (créé au besoin, sans historique existant)
+     * @param intervalle nombre de jours entre deux instantanés (>= 1)
+     * @return l'historique, à fermer en fin de partie
+     * @throws IOException si le dossier contient déjà un historique ou ne peut pas être écrit
+     */
+    public static Historique ouvrir(Jeu jeu, Path dossier, int intervalle) throws IOException
+    {
+        if (jeu == null || dossier == null)
+            throw new IllegalArgumentException("Jeu et dossier requis");
+        if (intervalle < 1)
+            throw new IllegalArgumentException("Intervalle entre instantanés invalide : " + intervalle);
+        Files.createDirectories(dossier);
+        if (Files.exists(dossier.resolve(JOURNAL)) || Files.exists(dossier.resolve(INDEX)))
+            throw new IOException("Le dossier contient déjà un historique : " + dossier);
+
+        JournalBinaire journal = new JournalBinaire(dossier.resolve(JOURNAL));
+        FileChannel index;
+        try {
+            index = FileChannel.open(dossier.resolve(INDEX), StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            journal.close();
+            throw e;
+        }
+        Historique h = new Historique(jeu, dossier, intervalle, journal, index);
+        h.instantane();
+        jeu.getFerme().setJournal(journal);
+        jeu.setHistorique(h);
+        return h;
+    }
+
+    /**
+     * -appelé par le jeu au début de chaque journée : prend un instantané si le dernier
+     *  date d'au moins « intervalle » jours.
+     * @throws UncheckedIOException si l'instantané ne peut pas être écrit
+     */
+    void debutJour()
+    {
+        if (jeu.getJour() - dernierInstantane < intervalle) return;
+        try {
+            instantane();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Instantané du jour " + jeu.getJour() + " impossible", e);
+        }
+    }
+
+    /**
+     * -prend tout de suite un instantané de la partie (entre deux journées).
+     * @throws IOException si l'écriture échoue
+     */
+    public void instantane() throws IOException
+    {
+        int jour = jeu.getJour();
+        long position = journal.repere();
+        journal.ecrireEnAttente();
+        Sauvegarde.ecrire(jeu, fichierInstantane(dossier, jour));
+        ByteBuffer entree = ByteBuffer.allocate(TAILLE_ENTREE_INDEX).order(ByteOrder.LITTLE_ENDIAN);
+        entree.putInt(jour).putLong(position).flip();
+        while (entree.hasRemaining()) index.write(entree);
+        dernierInstantane = jour;
+    }
+
+    /**
+     * -arrête l'enregistrement : le jeu n'a plus de journal ni d'instantanés, et les
+     *  événements en attente sont écrits.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        jeu.setHistorique(null);
+        jeu.getFerme().setJournal(Journal.AUCUN);
+        try {
+            journal.close();
+        } finally {
+            index.close();
+        }
+    }
+
+    /**
+     * @return le chemin de l'instantané du jour donné
+     */
+    static Path fichierInstantane(Path dossier, int jour) {
+        return dossier.resolve(String.format("jour-%06d.frma", jour));
+    }
+}
@@ -1,22 +1,23 @@
 package gestion;
 
+import java.io.IOException;
 import java.util.ArrayList;
-
-import java.util.Collections;
-import java.util.HashMap;
-
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.function.Consumer;
 
 import entite.Animal;
+import entite.ColonnesEntites;
 import entite.Plante;
 import modele.Case;
+import modele.EntreeSauvegarde;
 import modele.Entrepot;
 import modele.Ferme;
+import modele.Journal;
+import modele.Nomenclature;
 import modele.Position;
 import modele.Saison;
+import modele.SortieSauvegarde;
 
 /**
 
@@ -29,32 +30,37 @@ import modele.Saison;
  */
  
 public class Jeu {
+    // Mode de déroulement noté au début de chaque journée du journal (voir Rejeu)
+    static final int MODE_FUSIONNE = 0;
+    static final int MODE_PAR_PHASES = 1;
+    static final int MODE_PARALLELE = 2;
+
     private final Ferme ferme;
     private final Entrepot entrepot;
     private final Magasin magasin;
     private int jour;
     private Saison saison;
-    /** Liste des espèces présentes au lancement de la simulation */
-    private final Set<String> typesAnimauxInit;
-    private final Set<String> typesPlantesInit;
-
 
- // Statistiques journalières
-    private Map<String, Double> productionJournalieres;
-    private Map<String, Integer> decesAnimauxJournalier;
-    private Map<String, Integer> animauxVivantsJournalier;
-    private Map<String, Integer> decesPlantesJournalier;
-    private Map<String, Integer> plantesVivantesJournalier;
-
-    // Statistiques saisonnières (cumul des ventes)
-    private Map<String, Double> ventesAnimauxSaison;
-    private Map<String, Double> ventesPlantesSaison;
-
-    // Effectifs au début de chaque période pour calculer les décès
-    private Map<String, Integer> effectifsAnimauxPrecedents;
-    private Map<String, Integer> effectifsPlantesPrecedents;
+    // Statistiques journalières et saisonnières, par identifiant d'espèce ou de produit
+    private final Statistiques stats = new Statistiques();
+    // Réveils programmés des entités en sommeil
+    private final Ordonnanceur ordonnanceur = new Ordonnanceur();
  // Pour que le repositionnement des animaux vivants à la fin e chaque saison
     private List<Animal> animauxARemettre = new ArrayList<>();
+    // Journée en plusieurs parcours successifs de la grille (ancien fonctionnement)
+    private boolean modeParPhases = false;
+    // Clôture des cases du parcours fusionné (voir jouerJourFusionne)
+    private final Consumer<Case> cloture = this::cloreCase;
+    // Déroulement parallèle des journées (null : séquentiel)
+    private MoteurParallele moteurParallele;
+    // Reçoit le bilan de chaque saison terminée (exécutions sans affichage)
+    private Consumer<BilanSaison> ecouteurSaison;
+    // Mesures des journées (aucune par défaut) ; mesureActive est fixé au début de chaque jour
+    private Telemetrie telemetrie = Telemetrie.AUCUNE;
+    private final MesureJour mesure = new MesureJour();
+    private boolean mesureActive;
+    // Instantanés et journal de la partie (null : aucun)
+    private Historique historique;
 
     
     /**
@@ -71,22 +77,9 @@ public class Jeu {
         this.jour = 1;
         this.saison = Saison.AUTOMNE;
 
-        this.productionJournalieres = new HashMap<>();
-        this.decesAnimauxJournalier = new HashMap<>();
-        this.animauxVivantsJournalier = new HashMap<>();
-        this.decesPlantesJournalier = new HashMap<>();
-        this.plantesVivantesJournalier = new HashMap<>();
-        this.ventesAnimauxSaison = new HashMap<>();
-        this.ventesPlantesSaison = new HashMap<>();
-
         // Comptage initial pour détecter les décès à J1
-        this.effectifsAnimauxPrecedents = compterAnimauxParType();
-        this.effectifsPlantesPrecedents = compterPlantesParType();
-     // À la création, on recopie la liste des clefs (animaux et plantes)  
-        this.typesAnimauxInit  = new HashSet<>(this.effectifsAnimauxPrecedents.keySet());
-        this.typesPlantesInit  = new HashSet<>(this.effectifsPlantesPrecedents.keySet());
-        
-
+        stats.assurerCapacite();
+        ferme.copierEffectifs(stats.animauxPrecedents, stats.plantesPrecedents);
     }
 
 
@@ -100,64 +93,266 @@ public class Jeu {
     public void jouer(int nbJours) 
     {
         for (int i = 0; i < nbJours; i++) {
+            if (historique != null) historique.debutJour();
+            Journal journal = ferme.getJournal();
+            if (journal.estActif()) {
+                journal.noter(Journal.Type.JOUR, -1, jour, getMode(), ferme.getBudget());
+            }
+            mesureActive = telemetrie.estActive();
+            if (mesureActive) mesure.commencer(jour, ferme);
             initStatsJournalieres();
-            System.out.printf("--- Jour %d/30 (%s) ---%n", getJourDansSaison(), saison);
+            if (ferme.getEvenements().estActif()) {
+                afficher(String.format("--- Jour %d/30 (%s) ---", getJourDansSaison(), saison));
+            }
 
             majSaison();
-            fairePluie();
-
-            // Mise à jour de chaque case
-            for (Case[] ligne : ferme.getGrille()) {
-                for (Case c : ligne) {
-                    c.maj(saison);
-                }
+            long t = chrono();
+            ordonnanceur.executerDus(jour);
+            chrono(Telemetrie.Phase.REVEILS, t);
+            if (moteurParallele != null) {
+                jouerJourParallele();
+            } else if (modeParPhases) {
+                jouerJourParPhases();
+            } else {
+                jouerJourFusionne();
             }
 
-            // Collecte de la production animale du jour
-            collecterProductionAnimale();
-
-            // Calcul des décès et vivants par type
-            Map<String, Integer> Animaux = compterAnimauxParType();
-            Map<String, Integer> Plantes = compterPlantesParType();
-            miseAJourDecesEtVivants(Animaux, Plantes);
-            ferme.retirerEntitesMortes();
-
             // Affichage du rapport quotidien
+            t = chrono();
             afficherRapportJournalier();
+            chrono(Telemetrie.Phase.RAPPORT, t);
 
             // Bilan de fin de saison
             if (jour % 30 == 0) {
+                t = chrono();
                // 1) Avant toute vente : on retire du modèle les entités mortes
               ferme.retirerEntitesMortes();
    
                 // 2) On replace d'abord les animaux vivants
                 replacerAnimauxVivant();
-                System.out.println("\n*** Bilan de la saison " + saison + " ***");
-                cloturerSaison();
+                afficher("\n*** Bilan de la saison " + saison + " ***");
+                double ventes = cloturerSaison();
                 afficherResumeSaison();
-                ventesAnimauxSaison.clear();
-                ventesPlantesSaison.clear();
+                if (ecouteurSaison != null) {
+                    ecouteurSaison.accept(new BilanSaison(jour / 30, saison, jour,
+                            ferme.getBudget(), ventes, magasin.getStockFertilisant(),
+                            Statistiques.enMap(stats.ventesAnimaux),
+                            Statistiques.enMap(stats.ventesPlantes),
+                            Statistiques.enMap(stats.animauxVivants),
+                            Statistiques.enMap(stats.plantesVivantes)));
+                }
+                stats.finSaison();
+                chrono(Telemetrie.Phase.CLOTURE_SAISON, t);
             }
 
             // Début de saison
             if (jour % 30 == 1) {
+                t = chrono();
                 replacerAnimauxVivant();  // repositionnement des animaux vivants
                 reproduireDebutSaison();  // reproduction animale automatique
+                chrono(Telemetrie.Phase.DEBUT_SAISON, t);
             }
 
+            if (mesureActive) {
+                mesure.terminer(saison, ferme);
+                telemetrie.enregistrer(mesure);
+            }
             jour++;
         }
     }
 
-    private void reproduireDebutSaison() {
-        for (Case[] ligne : ferme.getGrille()) {
-            for (Case c : ligne) {
-                Animal a = c.getAnimal();
-                if (a != null && a.estVivant()) {
-                    a.essayerReproduction(ferme);
-                }
+    /**
+     * -journée en phases successives : pluie, mise à jour des cases, production,
+     *  comptage puis retrait des morts, chacune sur toute la grille.
+     */
+    private void jouerJourParPhases() 
+    {
+        long t = chrono();
+        fairePluie();
+        t = chrono(Telemetrie.Phase.PLUIE, t);
+
+        // Mise à jour de chaque case
+        ferme.forEachCase(c -> c.maj(saison));
+        t = chrono(Telemetrie.Phase.TOURS, t);
+
+        // Collecte de la production animale du jour
+        collecterProductionAnimale();
+        t = chrono(Telemetrie.Phase.PRODUCTION, t);
+
+        // Calcul des décès et vivants par type
+        ferme.copierEffectifs(stats.animauxVivants, stats.plantesVivantes);
+        miseAJourDecesEtVivants();
+        t = chrono(Telemetrie.Phase.COMPTAGE, t);
+        ferme.retirerEntitesMortes();
+        chrono(Telemetrie.Phase.NETTOYAGE, t);
+    }
+
+    /**
+     * -même journée que jouerJourParPhases, mais en un seul parcours des cases occupées
+     *  (Ferme.forEachCaseFusionne) : chaque case active est mise à jour, puis chaque case
+     *  occupée est clôturée (production, retrait des morts) dès que plus aucune visite ne
+     *  peut l'atteindre. Le temps dépend de la population, pas de la surface (hors pluie,
+     *  simple boucle sur l'eau des cases, vides comprises) ; les vivants sont lus dans
+     *  les effectifs tenus par la ferme.
+     * -une plante qui déclare n'avoir rien à faire avant une autre saison (tomate gelée)
+     *  est mise en sommeil jusque-là : elle n'est plus visitée d'ici son réveil.
+     */
+    private void jouerJourFusionne() 
+    {
+        long t = chrono();
+        ferme.arroser(tirerPluie());
+        t = chrono(Telemetrie.Phase.PLUIE, t);
+        ferme.forEachCaseFusionne(c -> {
+            c.maj(saison);
+            endormirSiInactive(c);
+        }, cloture);
+        t = chrono(Telemetrie.Phase.TOURS, t);
+
+        ferme.copierEffectifs(stats.animauxVivants, stats.plantesVivantes);
+        miseAJourDecesEtVivants();
+        chrono(Telemetrie.Phase.COMPTAGE, t);
+    }
+
+    /**
+     * -clôture d'une case dans jouerJourFusionne : production de l'animal vivant,
+     *  retrait de l'animal et de la plante morts.
+     */
+    private void cloreCase(Case c) 
+    {
+        Animal a = c.getAnimal();
+        if (a != null) {
+            if (a.estVivant()) {
+                collecterProduction(a);
+            } else {
+                c.setAnimal(null);
             }
         }
+        Plante p = c.getPlante();
+        if (p != null && !p.estVivante()) {
+            c.setPlante(null);
+        }
+    }
+
+    /**
+     * -met en sommeil la plante de la case si son tour vient de déclarer une saison de
+     *  réveil, et programme ce réveil au premier jour de cette saison.
+     */
+    private void endormirSiInactive(Case c) 
+    {
+        Plante p = c.getPlante();
+        if (p == null || !p.estVivante() || p.getReveil() == null) return;
+        int x = c.getX(), y = c.getY();
+        if (ferme.endormirPlante(x, y)) {
+            ordonnanceur.programmer(premierJour(p.getReveil()), () -> ferme.reveillerPlante(x, y, p));
+        }
+    }
+
+    /**
+     * @return le premier jour, après aujourd'hui, de la saison donnée
+     */
+    private int premierJour(Saison s) 
+    {
+        int j = jour / 30 * 30 + 31; // début de la saison suivante
+        while (saisonDuJour(j) != s) j += 30;
+        return j;
+    }
+
+    /**
+     * -journée déroulée par le moteur parallèle (voir MoteurParallele).
+     */
+    private void jouerJourParallele() 
+    {
+        long t = chrono();
+        double pluie = tirerPluie();
+        moteurParallele.jouerJour(ferme, saison, pluie, this::ajouterProduction, stats.produitDe);
+        t = chrono(Telemetrie.Phase.TOURS, t);
+        ferme.retirerEntitesMortes();
+        t = chrono(Telemetrie.Phase.NETTOYAGE, t);
+        ferme.copierEffectifs(stats.animauxVivants, stats.plantesVivantes);
+        miseAJourDecesEtVivants();
+        chrono(Telemetrie.Phase.COMPTAGE, t);
+    }
+
+    /**
+     * -active ou désactive le déroulement parallèle des journées.
+     * -le parallèle a son propre ordonnancement (déterministe pour une graine donnée,
+     *  quel que soit le nombre de threads), distinct de celui du mode séquentiel.
+     * @param moteur le moteur à utiliser, ou null pour revenir au séquentiel
+     */
+    public void setMoteurParallele(MoteurParallele moteur) {
+        this.moteurParallele = moteur;
+    }
+
+    /**
+     * @return le mode de déroulement des prochaines journées (MODE_...)
+     */
+    int getMode() {
+        if (moteurParallele != null) return MODE_PARALLELE;
+        return modeParPhases ? MODE_PAR_PHASES : MODE_FUSIONNE;
+    }
+
+    /**
+     * -choisit le mode de déroulement d'une journée.
+     * @param parPhases vrai pour enchaîner les phases sur toute la grille (ordre
+     *                  historique), faux pour le parcours unique fusionné des cases
+     *                  occupées (par défaut)
+     */
+    public void setModeParPhases(boolean parPhases) {
+        this.modeParPhases = parPhases;
+    }
+
+    /**
+     * -enregistre le destinataire des bilans de fin de saison.
+     * @param ecouteur appelé à chaque fin de saison (null pour aucun)
+     */
+    public void setEcouteurSaison(Consumer<BilanSaison> ecouteur) {
+        this.ecouteurSaison = ecouteur;
+    }
+
+    /**
+     * -choisit la destination des mesures de chaque journée (durées des phases,
+     *  effectifs, naissances, morts, allocations).
+     * @param telemetrie destination des mesures, ou null pour ne rien mesurer
+     */
+    public void setTelemetrie(Telemetrie telemetrie) {
+        this.telemetrie = telemetrie != null ? telemetrie : Telemetrie.AUCUNE;
+    }
+
+    /**
+     * -rattache l'historique qui prend les instantanés au début des journées.
+     * @param historique l'historique, ou null pour aucun
+     */
+    void setHistorique(Historique historique) {
+        this.historique = historique;
+    }
+
+    /**
+     * @return l'heure de début d'une phase, ou 0 sans lire l'horloge si la journée
+     *         n'est pas mesurée
+     */
+    private long chrono() {
+        return mesureActive ? System.nanoTime() : 0;
+    }
+
+    /**
+     * -ajoute à la phase le temps écoulé depuis debut, si la journée est mesurée.
+     * @return l'heure de fin, début de la phase suivante
+     */
+    private long chrono(Telemetrie.Phase phase, long debut)
+    {
+        if (!mesureActive) return 0;
+        long maintenant = System.nanoTime();
+        mesure.ajouterDuree(phase, maintenant - debut);
+        return maintenant;
+    }
+
+    private void reproduireDebutSaison() {
+        ferme.forEachCaseOccupee(c -> {
+            Animal a = c.getAnimal();
+            if (a != null && a.estVivant()) {
+                a.essayerReproduction(ferme);
+            }
+        });
     }
 
 
@@ -166,11 +361,7 @@ public class Jeu {
      */
     private void initStatsJournalieres() 
     {
-        productionJournalieres.clear();
-        decesAnimauxJournalier.clear();
-        animauxVivantsJournalier.clear();
-        decesPlantesJournalier.clear();
-        plantesVivantesJournalier.clear();
+        stats.debutJour();
     }
 
     
@@ -178,12 +369,20 @@ public class Jeu {
      * -met à jour la saison en fonction du numéro de jour écoulé.
      */
     private void majSaison() 
+    {
+        saison = saisonDuJour(jour);
+    }
+
+    /**
+     * @return la saison d'un jour (depuis le début de la simulation, saisons de 30 jours)
+     */
+    private static Saison saisonDuJour(int jour) 
     {
         switch ((jour - 1) / 30 % 4) {
-            case 0 -> saison = Saison.AUTOMNE;
-            case 1 -> saison = Saison.HIVER;
-            case 2 -> saison = Saison.PRINTEMPS;
-            default -> saison = Saison.ETE;
+            case 0: return Saison.AUTOMNE;
+            case 1: return Saison.HIVER;
+            case 2: return Saison.PRINTEMPS;
+            default: return Saison.ETE;
         }
     }
 
@@ -192,6 +391,15 @@ public class Jeu {
      * -chaque case sans puits reçoit de l'eau avec une probabilité donnée.
      */
     private void fairePluie() 
+    {
+        ferme.arroser(tirerPluie());
+    }
+
+    /**
+     * -tire au sort la pluie du jour selon la saison.
+     * @return la quantité d'eau tombée sur chaque case sans puits (0 s'il ne pleut pas)
+     */
+    private double tirerPluie() 
     {
         double proba, pluie;
         switch (saison) {
@@ -200,126 +408,87 @@ public class Jeu {
             case PRINTEMPS -> { proba = 0.6; pluie = 0.1; }
             default ->       { proba = 0.05; pluie = 0.1; }
         }
-        if (Math.random() < proba) {
-            System.out.println("Pluie ! +" + pluie + " L sur toutes les cases sans puits.");
-            for (Case[] ligne : ferme.getGrille()) {
-                for (Case c : ligne) {
-                    if (!c.aUnPuits()) {
-                        c.ajouterEau(pluie);
-                    }
-                }
-            }
+        if (ferme.getAleatoire().nextDouble() < proba) {
+            afficher("Pluie ! +" + pluie + " L sur toutes les cases sans puits.");
+            ferme.noter(Journal.Type.PLUIE, -1, null, pluie);
+            return pluie;
         }
+        return 0;
     }
 
     /**
      * -parcourt toutes les cases et collecte la production des animaux vivants.
-     * -met à jour l'Entrepôt et les statistiques journalières et saisonnières.
-     * -affiche clairement "Œufs" et "Lait" plutôt que les espèces pour qu'on se retrouve mieux.
      */
     private void collecterProductionAnimale() 
     {
-        for (Case[] ligne : ferme.getGrille()) {
-            for (Case c : ligne) {
-                Animal a = c.getAnimal();
-                if (a != null && a.estVivant()) {
-                    double prod = a.produire();
-                    if (prod > 0) {
-                        // Déterminer le type de produit (œufs ou lait)
-                        String espece = a.getNom();
-                        String produit;
-                        if ("Poule".equalsIgnoreCase(espece)) {
-                            produit = "Œufs";
-                        } else if ("Vache".equalsIgnoreCase(espece)) {
-                            produit = "Lait";
-                        } else {
-                            produit = espece; // fallback
-                        }
-                        entrepot.ajouter(produit, prod);
-                        productionJournalieres.merge(produit, prod, Double::sum);
-                        ventesAnimauxSaison.merge(produit, prod, Double::sum);
-                    }
-                }
+        ferme.forEachCaseOccupee(c -> {
+            Animal a = c.getAnimal();
+            if (a != null && a.estVivant()) {
+                collecterProduction(a);
             }
-        }
+        });
     }
 
     /**
-     * -compte les animaux vivants par type dans la ferme.
-     *
-     * @return map type -> nombre d'animaux vivants
-     */
-    private Map<String, Integer> compterAnimauxParType() {
-        Map<String, Integer> comptes = new HashMap<>();
-        for (Case[] ligne : ferme.getGrille()) {
-            for (Case c : ligne) {
-                Animal a = c.getAnimal();
-                if (a != null && a.estVivant()) {
-                    comptes.merge(a.getNom(), 1, Integer::sum);
-                }
-            }
+     * -collecte la production du jour d'un animal vivant.
+     * -met à jour l'Entrepôt et les statistiques journalières et saisonnières.
+     * -affiche clairement "Œufs" et "Lait" plutôt que les espèces pour qu'on se retrouve mieux.
+     */
+    private void collecterProduction(Animal a) 
+    {
+        double prod = a.produire();
+        if (prod > 0) {
+            ajouterProduction(stats.produitDe[a.getIdEspece()], prod);
         }
-        return comptes;
     }
 
     /**
-     * -compte les plantes vivantes par type dans la ferme.
-     *
-     * @return map type -> nombre de plantes vivantes
-     */
-    private Map<String, Integer> compterPlantesParType() {
-        Map<String, Integer> comptes = new HashMap<>();
-        for (Case[] ligne : ferme.getGrille()) {
-            for (Case c : ligne) {
-                Plante p = c.getPlante();
-                if (p != null && p.estVivante()) {
-                    comptes.merge(p.getNom(), 1, Integer::sum);
-                }
-            }
-        }
-        return comptes;
+     * -range une production dans l'Entrepôt et les statistiques journalières et saisonnières.
+     * @param produit identifiant du produit dans la Nomenclature
+     */
+    private void ajouterProduction(int produit, double prod) 
+    {
+        entrepot.ajouter(produit, prod);
+        stats.ajouterProduction(produit, prod);
     }
 
     /**
-     * -met à jour les statistiques de décès et de vivants selon les effectifs précédents.
-     *
-     * @param Animaux effectifs actuels d'animaux par type
-     * @param Plantes effectifs actuels de plantes par type
-     */
-    private void miseAJourDecesEtVivants(Map<String, Integer> Animaux,
-            Map<String, Integer> Plantes) {
-
-    			for (String type : Animaux.keySet()) {
-    				int prev = effectifsAnimauxPrecedents.getOrDefault(type, 0);
-    				int curr = Animaux.get(type);
-    				int deces = Math.max(0, prev - curr);
-    				decesAnimauxJournalier.put(type, deces);
-    				animauxVivantsJournalier.put(type, curr);
-    			}
-
-    			for (String type : Plantes.keySet()) {
-    				int prev = effectifsPlantesPrecedents.getOrDefault(type, 0);
-    				int curr = Plantes.get(type);
-    				int deces = Math.max(0, prev - curr);
-    				decesPlantesJournalier.put(type, deces);
-    				plantesVivantesJournalier.put(type, curr);
-    			}
+     * -détermine le type de produit (œufs ou lait) d'une espèce animale.
+     */
+    static String nomProduit(String espece) 
+    {
+        if ("Poule".equalsIgnoreCase(espece)) {
+            return "Œufs";
+        } else if ("Vache".equalsIgnoreCase(espece)) {
+            return "Lait";
+        }
+        return espece; // fallback
+    }
 
-    			// Mise à jour des effectifs pour la saison suivante
-    			effectifsAnimauxPrecedents = Animaux;
-    			effectifsPlantesPrecedents = Plantes;
+    /**
+     * -met à jour les statistiques de décès selon les effectifs précédents, une fois
+     *  les vivants du jour comptés.
+     */
+    private void miseAJourDecesEtVivants() {
+    			stats.finJour();
 
     			// Affichage clair
-    			System.out.println("----- Rapport journalier -----");
-    			Animaux.forEach((type, nb) -> 
-    			{
-    				int morts = decesAnimauxJournalier.getOrDefault(type, 0);
-    				System.out.printf("Animal: %s | Vivants: %d | Morts: %d%n", type, nb, morts);
-    			});
-    			Plantes.forEach((type, nb) -> {
-    				int morts = decesPlantesJournalier.getOrDefault(type, 0);
-    				System.out.printf("Plante: %s | Vivantes: %d | Mortes: %d%n", type, nb, morts);
-    			});
+    			if (!ferme.getEvenements().estActif()) return;
+    			afficher("----- Rapport journalier -----");
+    			for (int id = 0; id < stats.animauxVivants.length; id++) {
+    				int nb = stats.animauxVivants[id];
+    				if (nb > 0) {
+    					afficher(String.format("Animal: %s | Vivants: %d | Morts: %d",
+    							Nomenclature.nom(id), nb, stats.decesAnimaux[id]));
+    				}
+    			}
+    			for (int id = 0; id < stats.plantesVivantes.length; id++) {
+    				int nb = stats.plantesVivantes[id];
+    				if (nb > 0) {
+    					afficher(String.format("Plante: %s | Vivantes: %d | Mortes: %d",
+    							Nomenclature.nom(id), nb, stats.decesPlantes[id]));
+    				}
+    			}
     }
 
 
@@ -330,92 +499,213 @@ public class Jeu {
      */
     private void afficherRapportJournalier() 
     {
-    	
-    	System.out.println("Production du jour :");
-    	for (String type : productionJournalieres.keySet()) {
-    	    double cal = productionJournalieres.get(type);
-    	    System.out.printf("  - %s : %.1f cal%n", type, cal);
+    	if (!ferme.getEvenements().estActif()) return;
+
+    	afficher("Production du jour :");
+    	for (int id = 0; id < stats.production.length; id++) {
+    	    if (stats.production[id] > 0) {
+    	        afficher(String.format("  - %s : %.1f cal", Nomenclature.nom(id), stats.production[id]));
+    	    }
     	}
 
-    	System.out.println("État des animaux :");
-    	for (String type : animauxVivantsJournalier.keySet()) {
-    	    int vivants = animauxVivantsJournalier.get(type);
-    	    int deces = decesAnimauxJournalier.getOrDefault(type, 0);
-    	    System.out.printf("  - %s : %d vivants, %d morts%n", type, vivants, deces);
+    	afficher("État des animaux :");
+    	for (int id = 0; id < stats.animauxVivants.length; id++) {
+    	    if (stats.animauxVivants[id] > 0) {
+    	        afficher(String.format("  - %s : %d vivants, %d morts", Nomenclature.nom(id),
+    	                stats.animauxVivants[id], stats.decesAnimaux[id]));
+    	    }
     	}
 
-    	System.out.println("État des plantes :");
-    	for (String type : plantesVivantesJournalier.keySet()) {
-    	    int vivantes = plantesVivantesJournalier.get(type);
-    	    int mortes = decesPlantesJournalier.getOrDefault(type, 0);
-    	    System.out.printf("  - %s : %d vivantes, %d mortes%n", type, vivantes, mortes);
+    	afficher("État des plantes :");
+    	for (int id = 0; id < stats.plantesVivantes.length; id++) {
+    	    if (stats.plantesVivantes[id] > 0) {
+    	        afficher(String.format("  - %s : %d vivantes, %d mortes", Nomenclature.nom(id),
+    	                stats.plantesVivantes[id], stats.decesPlantes[id]));
+    	    }
     	}
 
 
-        System.out.printf("Stock de fertilisant (g) : %.1f%n", magasin.getStockFertilisant());
+        afficher(String.format("Stock de fertilisant (g) : %.1f", magasin.getStockFertilisant()));
         
-        System.out.printf("Stock Entrepôt (cal) : Œufs = %.1f, Lait = %.1f%n",
+        afficher(String.format("Stock Entrepôt (cal) : Œufs = %.1f, Lait = %.1f",
         	    entrepot.getCaloriesParType("Œufs"),
         	    entrepot.getCaloriesParType("Lait")
-        	);
+        	));
 
     }
 
     /**
      * -traite la fin de saison : récolte des plantes, vente des productions et remise à zéro des stocks.
+     * @return la recette de la vente
      */
-    private void cloturerSaison() 
+    private double cloturerSaison() 
     {
     	animauxARemettre.clear(); // important pour éviter les doublons
 
-    	for (Case[] ligne : ferme.getGrille()) {
-    	    for (Case c : ligne) {
-    	        Animal a = c.getAnimal();
-    	        if (a != null) {
-    	            if (a.estVivant() && a.getAge() < a.getEsperanceVie() * 30) {
-    	                animauxARemettre.add(a);
-    	            }
-    	            c.setAnimal(null); // vide dans tous les cas
+    	ferme.forEachCaseOccupee(c -> {
+    	    Animal a = c.getAnimal();
+    	    if (a != null) {
+    	        if (a.estVivant() && a.getAge() < a.getEsperanceVie() * 30) {
+    	            animauxARemettre.add(a);
     	        }
+    	        c.setAnimal(null); // vide dans tous les cas
+    	    }
 
-    	        Plante p = c.getPlante();
-    	        if (p != null && p.estVivante()) {
-    	            entrepot.ajouter(p.getNom(), p.getCalories());
-    	            ventesPlantesSaison.merge(p.getNom(), p.getCalories(), Double::sum);
-    	            c.setPlante(null);
-    	        }
+    	    Plante p = c.getPlante();
+    	    if (p != null && p.estVivante()) {
+    	        entrepot.ajouter(p.getIdEspece(), p.getCalories());
+    	        stats.ventesPlantes[p.getIdEspece()] += p.getCalories();
+    	        c.setPlante(null);
     	    }
-    	}
+    	});
 
         // Vente et mise à jour du budget
         double total = entrepot.getTotal();
-        System.out.printf("Ventes saisonnières totales : %.1f Y%n", total);
+        if (ferme.getJournal().estActif()) {
+            for (int id = 0; id < Nomenclature.taille(); id++) {
+                double cal = entrepot.getCalories(id);
+                if (cal > 0) ferme.noter(Journal.Type.VENTE, id, null, cal);
+            }
+        }
+        afficher(String.format("Ventes saisonnières totales : %.1f Y", total));
         ferme.ajouterBudget(total);
         entrepot.vider();
+        return total;
     }
 
     /**
      * -affiche le résumé des ventes de la saison par type.
      */
     private void afficherResumeSaison() {
-        System.out.println("Ventes plantes cette saison :");
-        ventesPlantesSaison.forEach((type, cal) ->
-            System.out.printf("  - %s : %.1f cal vendues%n", type, cal)
-        );
-        System.out.println("Ventes animaux cette saison :");
-        ventesAnimauxSaison.forEach((type, cal) ->
-            System.out.printf("  - %s : %.1f cal vendus%n", type, cal)
-        );
+        if (!ferme.getEvenements().estActif()) return;
+        afficher("Ventes plantes cette saison :");
+        for (int id = 0; id < stats.ventesPlantes.length; id++) {
+            if (stats.ventesPlantes[id] > 0) {
+                afficher(String.format("  - %s : %.1f cal vendues", Nomenclature.nom(id), stats.ventesPlantes[id]));
+            }
+        }
+        afficher("Ventes animaux cette saison :");
+        for (int id = 0; id < stats.ventesAnimaux.length; id++) {
+            if (stats.ventesAnimaux[id] > 0) {
+                afficher(String.format("  - %s : %.1f cal vendus", Nomenclature.nom(id), stats.ventesAnimaux[id]));
+            }
+        }
     }
     
     
     /**
-     * @return une copie de l'entrepôt consolidant la production (œufs, lait, plantes)
-     * -tout appel ne touchera pas au vrai stock 
+     * -écrit l'état propre au jeu (voir Sauvegarde) : jour, saison, statistiques et
+     *  entrepôt par identifiant de la Nomenclature, animaux en attente de replacement.
+     * -les réveils programmés ne sont pas écrits : ils se déduisent des plantes en
+     *  sommeil de la ferme.
+     * @param noms noms écrits dans la sauvegarde, par identifiant
+     */
+    void sauvegarder(SortieSauvegarde s, String[] noms) throws IOException
+    {
+        s.ecrireInt(jour);
+        s.ecrireInt(saison.ordinal());
+        for (int[] t : new int[][] {stats.animauxVivants, stats.decesAnimaux, stats.plantesVivantes,
+                stats.decesPlantes, stats.animauxPrecedents, stats.plantesPrecedents}) {
+            s.ecrireInt(t.length);
+            s.ecrireInts(t, 0, t.length);
+        }
+        for (double[] t : new double[][] {stats.production, stats.ventesAnimaux, stats.ventesPlantes}) {
+            s.ecrireInt(t.length);
+            s.ecrireDoubles(t, 0, t.length);
+        }
+        for (String nom : noms) {
+            s.ecrireDouble(entrepot.getCaloriesParType(nom));
+        }
+        Animal[] aRemettre = animauxARemettre.toArray(new Animal[0]);
+        s.ecrireInt(aRemettre.length);
+        ColonnesEntites.ecrireAnimaux(aRemettre, aRemettre.length, s);
+    }
+
+    /**
+     * -reprend l'état écrit par sauvegarder, sur un jeu neuf construit autour de la
+     *  ferme restaurée, puis reprogramme le réveil des plantes en sommeil.
+     * @param noms noms lus dans la sauvegarde, par identifiant
      */
-    public Entrepot getEntrepot() 
+    void restaurer(EntreeSauvegarde e, String[] noms) throws IOException
     {
-    	  return new Entrepot(entrepot); // constructeur qui clone la map interne
+        jour = e.lireInt();
+        int s = e.lireInt();
+        if (jour < 1 || s < 0 || s >= Saison.values().length)
+            throw new IOException("Sauvegarde invalide : jour " + jour + ", saison " + s);
+        saison = Saison.values()[s];
+
+        int[] ids = new int[noms.length];
+        for (int i = 0; i < noms.length; i++) ids[i] = Nomenclature.id(noms[i]);
+        stats.assurerCapacite();
+        for (int[] t : new int[][] {stats.animauxVivants, stats.decesAnimaux, stats.plantesVivantes,
+                stats.decesPlantes, stats.animauxPrecedents, stats.plantesPrecedents}) {
+            int[] lu = new int[lireLongueur(e, ids)];
+            e.lireInts(lu, 0, lu.length);
+            for (int i = 0; i < lu.length; i++) t[ids[i]] = lu[i];
+        }
+        for (double[] t : new double[][] {stats.production, stats.ventesAnimaux, stats.ventesPlantes}) {
+            double[] lu = new double[lireLongueur(e, ids)];
+            e.lireDoubles(lu, 0, lu.length);
+            for (int i = 0; i < lu.length; i++) t[ids[i]] = lu[i];
+        }
+        for (int i = 0; i < noms.length; i++) {
+            double cal = e.lireDouble();
+            if (cal > 0) entrepot.ajouter(ids[i], cal);
+        }
+        animauxARemettre.clear();
+        int n = e.lireTaille();
+        for (Animal a : ColonnesEntites.lireAnimaux(n, noms, ferme, e)) animauxARemettre.add(a);
+
+        if (ferme.getNbPlantesEndormies() == 0) return;
+        ferme.forEachPlante(p -> {
+            Position pos = p.getPosition();
+            if (!ferme.getCase(pos).planteEndormie()) return;
+            int x = pos.getX(), y = pos.getY();
+            int reveil = p.getReveil() != null ? prochainDebut(p.getReveil()) : jour;
+            ordonnanceur.programmer(reveil, () -> ferme.reveillerPlante(x, y, p));
+        });
+    }
+
+    private static int lireLongueur(EntreeSauvegarde e, int[] ids) throws IOException
+    {
+        int n = e.lireTaille();
+        if (n > ids.length)
+            throw new IOException("Sauvegarde invalide : " + n + " statistiques pour " + ids.length + " noms");
+        return n;
+    }
+
+    /**
+     * @return le premier jour, à partir d'aujourd'hui inclus, qui commence la saison donnée
+     */
+    private int prochainDebut(Saison s)
+    {
+        int j = (jour + 28) / 30 * 30 + 1; // premier début de saison >= jour
+        while (saisonDuJour(j) != s) j += 30;
+        return j;
+    }
+
+    /**
+     * @return la ferme simulée
+     */
+    public Ferme getFerme() {
+        return ferme;
+    }
+
+    /**
+     * @return le magasin de la ferme
+     */
+    public Magasin getMagasin() {
+        return magasin;
+    }
+
+    /**
+     * @return un relevé figé de l'entrepôt consolidant la production (œufs, lait, plantes)
+     * -tout appel ne touchera pas au vrai stock ; le relevé n'est recopié que si le
+     *  stock a changé depuis l'appel précédent
+     */
+    public Entrepot.Releve getEntrepot() 
+    {
+    	  return entrepot.releve();
     	}
     
     /**
@@ -423,26 +713,40 @@ public class Jeu {
      */
     private void replacerAnimauxVivant() 
     {
-        Collections.shuffle(animauxARemettre); // pour randomiser le placement
+        ferme.getAleatoire().melanger(animauxARemettre); // pour randomiser le placement
+        // les cases déjà examinées restent occupées : chaque animal reprend la recherche
+        // là où le précédent a été placé, au lieu de repartir de (0, 0)
+        int taille = ferme.getTaille();
+        int i = 0, j = 0;
         for (Animal a : animauxARemettre) {
-            boolean placé = false;
-            for (int i = 0; i < 6 && !placé; i++) {
-                for (int j = 0; j < 6 && !placé; j++) {
-                    Position pos = new Position(i, j);
-                    Case c = ferme.getCase(pos);
-                    if (c.getAnimal() == null) {
-                        c.setAnimal(a);
-                        a.setPosition(pos);
-                        placé = true;
-                    }
-                }
+            // prochaine case libre, colonne par colonne (i = x, j = y)
+            while (i < taille && ferme.getAnimal(j * taille + i) != null) {
+                if (++j == taille) { j = 0; i++; }
             }
+            if (i == taille) break; // plus de case libre
+            Position pos = ferme.getPosition(i, j);
+            ferme.getCase(pos).setAnimal(a);
+            a.setPosition(pos);
         }
-        System.out.println("Repositionnement de " + animauxARemettre.size() + " animaux vivants.");
+        afficher("Repositionnement de " + animauxARemettre.size() + " animaux vivants.");
 
         animauxARemettre.clear(); // une fois replacés
     }
 
+    /**
+     * -transmet un message aux événements de la ferme (console par défaut).
+     */
+    private void afficher(String message) {
+        ferme.getEvenements().signaler(message);
+    }
+
+    /**
+     * @return le numéro du prochain jour à jouer, depuis le début de la partie
+     */
+    public int getJour() {
+        return jour;
+    }
+
     public int getJourDansSaison() {
         return (jour - 1) % 30 + 1;
     }
@@ -452,48 +756,86 @@ public class Jeu {
         return saison;
     }
 
-    /**  
-     * Expose le décompte d’animaux vivants par type à la fin du dernier jour simulé  
-     */  
-    public Map<String, Integer> getAnimauxVivantsJournalier() {  
-        return Collections.unmodifiableMap(animauxVivantsJournalier);  
-    }  
-
-    /**  
-     * Expose le décompte de décès d’animaux par type à la fin du dernier jour simulé  
-     */  
-    public Map<String, Integer> getDecesAnimauxJournalier() {  
-        return Collections.unmodifiableMap(decesAnimauxJournalier);  
-    }  
-
-    /**  
-     * Expose le décompte de plantes vivantes par type à la fin du dernier jour simulé  
-     */  
-    public Map<String, Integer> getPlantesVivantesJournalier() {  
-        return Collections.unmodifiableMap(plantesVivantesJournalier);  
-    }  
-
-    /**  
-     * Expose le décompte de décès de plantes par type à la fin du dernier jour simulé  
-     */  
-    public Map<String, Integer> getDecesPlantesJournalier() {  
-        return Collections.unmodifiableMap(decesPlantesJournalier);  
-    }  
-
-    /**  
-     * Expose le nombre d’animaux vivants par type aujourd’hui (avant récolte).  
-     */  
-    public Map<String, Integer> getAnimauxParType() {  
-        return compterAnimauxParType();  
-    }  
-
-    /**  
-     * Expose le nombre de plantes vivantes par type aujourd’hui (avant récolte).  
-     */  
-    public Map<String, Integer> getPlantesParType() {  
-        return compterPlantesParType();  
-    }  
+    /**
+     * -projette la récolte de fin de saison : calories qu'auraient les plantes vivantes
+     *  si les jours restants de la saison se jouaient sans pluie, fertilisant ni animaux.
+     * -à appeler entre deux journées ; la partie n'est pas modifiée.
+     * @return calories projetées par espèce de plante
+     */
+    public Map<String, Double> projeterRecolte()
+    {
+        double[] calories = new double[Nomenclature.taille()];
+        ferme.projeterCalories(saisonDuJour(jour), 30 - getJourDansSaison() + 1, calories);
+        return Statistiques.enMap(calories);
+    }
+
+    /**
+     * Nombre d’animaux vivants d’une espèce à la fin du dernier jour simulé.
+     * @param espece nom de l’espèce (ex : "Poule")
+     */
+    public int getAnimauxVivantsJournalier(String espece) {
+        return Statistiques.lire(stats.animauxVivants, espece);
+    }
+
+    /**
+     * Nombre de décès d’animaux d’une espèce pendant le dernier jour simulé.
+     * @param espece nom de l’espèce (ex : "Poule")
+     */
+    public int getDecesAnimauxJournalier(String espece) {
+        return Statistiques.lire(stats.decesAnimaux, espece);
+    }
+
+    /**
+     * Nombre total de décès d’animaux pendant le dernier jour simulé.
+     */
+    public int getTotalDecesAnimauxJournalier() {
+        return Statistiques.somme(stats.decesAnimaux);
+    }
 
+    /**
+     * Nombre de plantes vivantes d’une espèce à la fin du dernier jour simulé.
+     * @param espece nom de l’espèce (ex : "Tomate")
+     */
+    public int getPlantesVivantesJournalier(String espece) {
+        return Statistiques.lire(stats.plantesVivantes, espece);
+    }
 
+    /**
+     * Nombre de décès de plantes d’une espèce pendant le dernier jour simulé.
+     * @param espece nom de l’espèce (ex : "Tomate")
+     */
+    public int getDecesPlantesJournalier(String espece) {
+        return Statistiques.lire(stats.decesPlantes, espece);
+    }
 
+    /**
+     * Nombre total de décès de plantes pendant le dernier jour simulé.
+     */
+    public int getTotalDecesPlantesJournalier() {
+        return Statistiques.somme(stats.decesPlantes);
+    }
+
+    /**
+     * Calories produites pendant le dernier jour simulé.
+     * @param produit nom du produit (ex : "Œufs", "Lait")
+     */
+    public double getProductionJournaliere(String produit) {
+        return Statistiques.lire(stats.production, produit);
+    }
+
+    /**
+     * Nombre d’animaux vivants d’une espèce présents sur la grille en ce moment.
+     * @param espece nom de l’espèce (ex : "Vache")
+     */
+    public int getAnimauxParType(String espece) {
+        return ferme.getNbAnimauxVivants(espece);
+    }
+
+    /**
+     * Nombre de plantes vivantes d’une espèce présentes sur la grille en ce moment.
+     * @param espece nom de l’espèce (ex : "Ble")
+     */
+    public int getPlantesParType(String espece) {
+        return ferme.getNbPlantesVivantes(espece);
+    }
 }
@@ -0,0 +1,144 @@
+package gestion;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import modele.Journal;
+import modele.Nomenclature;
+
+/**
+ * -journal binaire des événements, en ajout seul : les événements s'accumulent dans
+ *  un tampon de 64 Ko écrit d'un bloc quand il est plein, à chaque instantané de
+ *  l'historique (ecrireEnAttente) et à la fermeture.
+ * -format (version 1, petit-boutiste) :
+ *  ; en-tête : signature « FRMJ », version
+ *  ; événement : type (octet, rang dans Journal.Type), espèce, indice, cible (int),
+ *    valeur (double), soit 21 octets
+ *  ; déclaration de nom : octet 0xFF, identifiant, texte (longueur puis UTF-8). Les
+ *    espèces sont notées par leur identifiant dans la Nomenclature de l'écriture,
+ *    déclaré avant sa première utilisation (et de nouveau à chaque repère).
+ * -noter peut être appelé depuis plusieurs threads (journées parallèles) ; l'ordre des
+ *  événements d'une même phase parallèle n'est alors pas fixé.
+ */
+public final class JournalBinaire implements Journal, AutoCloseable
+{
+    static final int SIGNATURE = 0x4A4D5246; // "FRMJ" en petit-boutiste
+    static final int VERSION = 1;
+    static final int TAILLE_EN_TETE = 8;
+    static final int TAILLE_EVENEMENT = 21;
+    static final byte NOM = (byte) 0xFF;
+
+    private static final int TAILLE_TAMPON = 64 << 10;
+
+    private final FileChannel canal;
+    private final ByteBuffer tampon = ByteBuffer.allocateDirect(TAILLE_TAMPON).order(ByteOrder.LITTLE_ENDIAN);
+    private long ecrits; // octets déjà passés au fichier
+    private int nbNomsDeclares;
+    private boolean ouvert = true;
+
+    /**
+     * -ouvre le journal en fin de fichier (créé s'il n'existe pas).
+     * -les noms sont déclarés de nouveau : un journal repris par une autre exécution
+     *  reste lisible même si la Nomenclature y a d'autres identifiants.
+     * @param fichier chemin du journal
+     * @throws IOException si le fichier ne peut pas être ouvert ou n'est pas un journal
+     */
+    public JournalBinaire(Path fichier) throws IOException
+    {
+        canal = FileChannel.open(fichier, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        ecrits = canal.size();
+        if (ecrits == 0) {
+            tampon.putInt(SIGNATURE).putInt(VERSION);
+        } else {
+            try (FileChannel lecture = FileChannel.open(fichier, StandardOpenOption.READ)) {
+                LectureJournal.verifierEnTete(lecture, fichier);
+            } catch (IOException e) {
+                canal.close();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void noter(Type type, int espece, int indice, int cible, double valeur)
+    {
+        if (!ouvert) throw new IllegalStateException("Journal fermé");
+        if (espece >= nbNomsDeclares) declarerNoms(nbNomsDeclares, espece + 1);
+        assurer(TAILLE_EVENEMENT);
+        tampon.put((byte) type.ordinal()).putInt(espece).putInt(indice).putInt(cible).putDouble(valeur);
+    }
+
+    /**
+     * -pose un repère d'où la lecture peut reprendre : tous les noms connus y sont
+     *  déclarés de nouveau.
+     * @return la position du repère dans le fichier
+     */
+    public synchronized long repere()
+    {
+        if (!ouvert) throw new IllegalStateException("Journal fermé");
+        long position = ecrits + tampon.position();
+        declarerNoms(0, Nomenclature.taille());
+        return position;
+    }
+
+    /**
+     * -écrit dans le fichier les événements encore dans le tampon.
+     * @throws IOException si l'écriture échoue
+     */
+    public synchronized void ecrireEnAttente() throws IOException
+    {
+        if (!ouvert) return;
+        tampon.flip();
+        while (tampon.hasRemaining()) {
+            ecrits += canal.write(tampon);
+        }
+        tampon.clear();
+    }
+
+    /**
+     * -écrit les événements en attente et ferme le fichier.
+     */
+    @Override
+    public synchronized void close() throws IOException
+    {
+        if (!ouvert) return;
+        try {
+            ecrireEnAttente();
+        } finally {
+            ouvert = false;
+            canal.close();
+        }
+    }
+
+    private void declarerNoms(int debut, int fin)
+    {
+        for (int id = debut; id < fin; id++) {
+            byte[] nom = Nomenclature.nom(id).getBytes(StandardCharsets.UTF_8);
+            assurer(9 + nom.length);
+            tampon.put(NOM).putInt(id).putInt(nom.length).put(nom);
+        }
+        nbNomsDeclares = Math.max(nbNomsDeclares, fin);
+    }
+
+    /**
+     * -vide le tampon dans le fichier s'il n'a plus la place pour n octets.
+     */
+    private void assurer(int n)
+    {
+        if (tampon.remaining() >= n) return;
+        try {
+            ecrireEnAttente();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du journal impossible", e);
+        }
+        if (n > TAILLE_TAMPON)
+            throw new IllegalArgumentException("Enregistrement trop long pour le journal : " + n + " octets");
+    }
+}
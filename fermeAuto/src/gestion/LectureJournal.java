@@ -0,0 +1,187 @@
+package gestion;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import modele.Journal;
+import modele.Nomenclature;
+
+/**
+ * -lecture séquentielle d'un journal écrit par JournalBinaire, par blocs de 64 Ko.
+ * -curseur réutilisé : suivant() avance d'un événement, les accesseurs décrivent
+ *  l'événement courant. Les déclarations de noms sont lues au passage et les espèces
+ *  rendues avec leur identifiant dans la Nomenclature de cette exécution.
+ */
+public final class LectureJournal implements AutoCloseable
+{
+    private static final Journal.Type[] TYPES = Journal.Type.values();
+
+    private final Path fichier;
+    private final FileChannel canal;
+    private final ByteBuffer tampon = ByteBuffer.allocate(64 << 10).order(ByteOrder.LITTLE_ENDIAN);
+    private long position; // position dans le fichier de l'événement suivant
+    private int[] ids = new int[0]; // identifiant courant de chaque identifiant du journal (-1 : non déclaré)
+
+    private Journal.Type type;
+    private int espece;
+    private int indice;
+    private int cible;
+    private double valeur;
+
+    /**
+     * -ouvre un journal au début.
+     * @param fichier chemin du journal
+     * @throws IOException si le fichier est illisible ou n'est pas un journal
+     */
+    public LectureJournal(Path fichier) throws IOException {
+        this(fichier, JournalBinaire.TAILLE_EN_TETE);
+    }
+
+    /**
+     * -ouvre un journal à une position donnée, début d'un événement ou repère
+     *  (voir JournalBinaire.repere).
+     * @param fichier chemin du journal
+     * @param position position de départ dans le fichier
+     * @throws IOException si le fichier est illisible ou n'est pas un journal
+     */
+    public LectureJournal(Path fichier, long position) throws IOException
+    {
+        if (fichier == null) throw new IllegalArgumentException("Fichier requis");
+        this.fichier = fichier;
+        this.canal = FileChannel.open(fichier, StandardOpenOption.READ);
+        try {
+            verifierEnTete(canal, fichier);
+            if (position < JournalBinaire.TAILLE_EN_TETE || position > canal.size())
+                throw new IOException("Position hors du journal : " + position);
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+        this.position = position;
+        canal.position(position);
+        tampon.limit(0);
+    }
+
+    /**
+     * -vérifie la signature et la version d'un journal.
+     */
+    static void verifierEnTete(FileChannel canal, Path fichier) throws IOException
+    {
+        ByteBuffer enTete = ByteBuffer.allocate(JournalBinaire.TAILLE_EN_TETE).order(ByteOrder.LITTLE_ENDIAN);
+        while (enTete.hasRemaining() && canal.read(enTete, enTete.position()) > 0) {
+            // lecture de l'en-tête en entier
+        }
+        if (enTete.hasRemaining() || enTete.getInt(0) != JournalBinaire.SIGNATURE)
+            throw new IOException("Ce fichier n'est pas un journal de ferme : " + fichier);
+        int version = enTete.getInt(4);
+        if (version != JournalBinaire.VERSION)
+            throw new IOException("Version de journal non prise en charge : " + version);
+    }
+
+    /**
+     * -avance jusqu'à l'événement suivant.
+     * @return faux à la fin du journal
+     * @throws IOException si la lecture échoue ou si le journal est tronqué ou incohérent
+     */
+    public boolean suivant() throws IOException
+    {
+        while (remplir(1)) {
+            byte code = tampon.get(tampon.position());
+            if (code == JournalBinaire.NOM) {
+                lireNom();
+                continue;
+            }
+            if (code < 0 || code >= TYPES.length)
+                throw new IOException("Journal invalide : type " + code + " à la position " + position);
+            exiger(JournalBinaire.TAILLE_EVENEMENT);
+            tampon.get();
+            type = TYPES[code];
+            int e = tampon.getInt();
+            indice = tampon.getInt();
+            cible = tampon.getInt();
+            valeur = tampon.getDouble();
+            position += JournalBinaire.TAILLE_EVENEMENT;
+            espece = e < 0 ? -1 : idCourant(e);
+            return true;
+        }
+        return false;
+    }
+
+    private void lireNom() throws IOException
+    {
+        exiger(9);
+        tampon.get();
+        int id = tampon.getInt();
+        int n = tampon.getInt();
+        if (id < 0 || n < 0 || n > 1024)
+            throw new IOException("Journal invalide : nom " + id + " à la position " + position);
+        exiger(n);
+        byte[] octets = new byte[n];
+        tampon.get(octets);
+        position += 9 + n;
+        if (id >= ids.length) {
+            int ancien = ids.length;
+            ids = Arrays.copyOf(ids, id + 1);
+            Arrays.fill(ids, ancien, ids.length, -1);
+        }
+        ids[id] = Nomenclature.id(new String(octets, StandardCharsets.UTF_8));
+    }
+
+    private int idCourant(int e) throws IOException
+    {
+        if (e >= ids.length || ids[e] < 0)
+            throw new IOException("Journal invalide : espèce " + e + " non déclarée avant la position " + position);
+        return ids[e];
+    }
+
+    /**
+     * -lit la suite du fichier jusqu'à avoir n octets dans le tampon.
+     * @return faux si le fichier est fini et le tampon vide
+     */
+    private boolean remplir(int n) throws IOException
+    {
+        if (tampon.remaining() >= n) return true;
+        tampon.compact();
+        while (tampon.position() < n && canal.read(tampon) > 0) {
+            // lecture jusqu'à n octets
+        }
+        tampon.flip();
+        return tampon.hasRemaining();
+    }
+
+    private void exiger(int n) throws IOException
+    {
+        if (!remplir(n) || tampon.remaining() < n)
+            throw new EOFException("Journal tronqué à la position " + position + " : " + fichier);
+    }
+
+    /** @return le type de l'événement courant */
+    public Journal.Type getType() { return type; }
+
+    /** @return l'identifiant de l'espèce dans la Nomenclature (-1 si sans objet) */
+    public int getEspece() { return espece; }
+
+    /** @return la case concernée, ou le numéro du jour pour Type.JOUR */
+    public int getIndice() { return indice; }
+
+    /** @return la case d'arrivée d'un déplacement, ou le mode pour Type.JOUR */
+    public int getCible() { return cible; }
+
+    /** @return la quantité associée */
+    public double getValeur() { return valeur; }
+
+    /** @return la position dans le fichier de l'événement suivant */
+    public long getPosition() { return position; }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
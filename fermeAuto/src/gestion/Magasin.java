@@ -1,23 +1,18 @@
 package gestion;
 
-import java.util.Properties;
-
-import modele.Data;
-import java.util.Properties;
 import entite.Animal;
-import entite.Ble;
 import entite.Plante;
-import entite.Poule;
-import entite.Tomate;
-import entite.Vache;
-import modele.Data;
+import modele.DefinitionEspece;
 import modele.Ferme;
+import modele.Journal;
 import modele.Position;
 import modele.Case;
 
 /**
  * -classe Magasin : gère l'achat et la vente des éléments de la ferme (animaux, plantes, puits, fertilisants).
  * -capacité illimitée. Utilise le budget de la ferme pour valider les transactions.
+ * -chaque opération qui touche au budget est notée dans le journal de la ferme, pour
+ *  pouvoir être rejouée (voir Rejeu).
  */
 public class Magasin 
 {
@@ -46,18 +41,19 @@ public class Magasin
     public void acheterFertilisant(double quantiteGrammes) 
     {
         if (quantiteGrammes <= 0) {
-            System.out.println("Quantité de fertilisant invalide");
+            ferme.signaler(() -> "Quantité de fertilisant invalide");
             return;
         }
         double cout = quantiteGrammes * PRIX_FERTILISANT_PAR_GRAMME;
         if (ferme.getBudget() < cout) {
-            System.out.println("Budget insuffisant pour acheter " + quantiteGrammes + "g de fertilisant.");
+            ferme.signaler(() -> "Budget insuffisant pour acheter " + quantiteGrammes + "g de fertilisant.");
             return;
         }
         ferme.retirerBudget(cout);
         stockFertilisant += quantiteGrammes;
-        System.out.printf("Achat de %.0f g de fertilisant pour %.1f Y. Stock fertilisant = %.0f g.\n",
-            quantiteGrammes, cout, stockFertilisant);
+        ferme.noter(Journal.Type.ACHAT_FERTILISANT, -1, null, quantiteGrammes);
+        ferme.signaler(() -> String.format("Achat de %.0f g de fertilisant pour %.1f Y. Stock fertilisant = %.0f g.",
+            quantiteGrammes, cout, stockFertilisant));
     }
 
     /**
@@ -66,20 +62,12 @@ public class Magasin
      * @param pos position d'installation de l'animal
      */
     public void acheterAnimal(String espece, Position pos) {
-        String fichier = espece.toLowerCase() + ".properties";
-        Properties props = Data.chargerFichier(fichier);
-        int prix = Integer.parseInt(props.getProperty("prix", "0"));
+        int prix = DefinitionEspece.pour(espece).getPrix();
         if (ferme.getBudget() < prix) {
-            System.out.println("Budget insuffisant pour acheter une " + espece);
+            ferme.signaler(() -> "Budget insuffisant pour acheter une " + espece);
             return;
         }
-        Animal a;
-        switch (espece.toLowerCase()) {
-            case "poule": a = new Poule(pos); break;
-            case "vache": a = new Vache(pos); break;
-            default:
-                throw new IllegalArgumentException("Espèce non reconnue : " + espece);
-        }
+        Animal a = Animal.creer(espece, pos);
         try {
             // Un animal peut partager la case avec une plante ou un puits
             Case c = ferme.getCase(pos);
@@ -88,9 +76,10 @@ public class Magasin
             }
             ferme.ajouterAnimal(pos, a);
             ferme.retirerBudget(prix);
-            System.out.println(espece + " achetée et placée en " + pos + ". Budget restant : " + ferme.getBudget() + " Y");
+            ferme.noter(Journal.Type.ACHAT_ANIMAL, a.getIdEspece(), pos, prix);
+            ferme.signaler(() -> espece + " achetée et placée en " + pos + ". Budget restant : " + ferme.getBudget() + " Y");
         } catch (IllegalArgumentException ex) {
-            System.out.println("Impossible de placer l'animal : " + ex.getMessage());
+            ferme.signaler(() -> "Impossible de placer l'animal : " + ex.getMessage());
         }
     }
     
@@ -102,37 +91,30 @@ public class Magasin
      */
     public void acheterPlante(String type, Position pos) 
     {
-        String fichier = type.toLowerCase() + ".properties";
-        Properties props = Data.chargerFichier(fichier);
-        int prix = Integer.parseInt(props.getProperty("prix", "0"));
+        int prix = DefinitionEspece.pour(type).getPrix();
         if (ferme.getBudget() < prix) {
-            System.out.println("Budget insuffisant pour acheter du " + type);
+            ferme.signaler(() -> "Budget insuffisant pour acheter du " + type);
             return;
         }
         // Vérifier l'occupation de la case :
         Case c = ferme.getCase(pos);
         if (c.getPlante() != null) {
-            System.out.println("Impossible de placer la plante : une autre plante est déjà présente à " + pos);
+            ferme.signaler(() -> "Impossible de placer la plante : une autre plante est déjà présente à " + pos);
             return;
         }
         // Seule combinaison autorisée avec plante : présence d'un animal
         if (c.aUnPuits() && c.getAnimal() == null) {
-            System.out.println("Impossible de placer la plante : case occupée par un puits sans animal à " + pos);
+            ferme.signaler(() -> "Impossible de placer la plante : case occupée par un puits sans animal à " + pos);
             return;
         }
-        Plante p;
-        switch (type.toLowerCase()) {
-            case "tomate": p = new Tomate(pos); break;
-            case "ble": p = new Ble(pos); break;
-            default:
-                throw new IllegalArgumentException("Type de plante non reconnu : " + type);
-        }
+        Plante p = Plante.creer(type, pos);
         try {
             ferme.ajouterPlante(pos, p);
             ferme.retirerBudget(prix);
-            System.out.println(type + " achetée et placée en " + pos + ". Budget restant : " + ferme.getBudget() + " Y");
+            ferme.noter(Journal.Type.ACHAT_PLANTE, p.getIdEspece(), pos, prix);
+            ferme.signaler(() -> type + " achetée et placée en " + pos + ". Budget restant : " + ferme.getBudget() + " Y");
         } catch (IllegalArgumentException ex) {
-            System.out.println("Impossible de placer la plante : " + ex.getMessage());
+            ferme.signaler(() -> "Impossible de placer la plante : " + ex.getMessage());
         }
     }
 
@@ -144,26 +126,27 @@ public class Magasin
     public void acheterPuits(Position pos) {
         int prix = 3000;
         if (ferme.getBudget() < prix) {
-            System.out.println("Pas assez de budget pour un puits");
+            ferme.signaler(() -> "Pas assez de budget pour un puits");
             return;
         }
         // Vérifier l'occupation de la case :
         Case c = ferme.getCase(pos);
         if (c.aUnPuits()) {
-            System.out.println("Impossible de construire un puits : un puits existe déjà à " + pos);
+            ferme.signaler(() -> "Impossible de construire un puits : un puits existe déjà à " + pos);
             return;
         }
         // Seule combinaison autorisée avec puits : présence d'un animal
         if (c.getPlante() != null && c.getAnimal() == null) {
-            System.out.println("Impossible de construire un puits : case occupée par une plante sans animal à " + pos);
+            ferme.signaler(() -> "Impossible de construire un puits : case occupée par une plante sans animal à " + pos);
             return;
         }
         try {
             ferme.retirerBudget(prix);
+            ferme.noter(Journal.Type.CONSTRUCTION_PUITS, -1, pos, prix);
             ferme.construirePuits(pos);
-            System.out.println("Puits construit en " + pos);
+            ferme.signaler(() -> "Puits construit en " + pos);
         } catch (Exception e) {
-            System.out.println("Échec construction : " + e.getMessage());
+            ferme.signaler(() -> "Échec construction : " + e.getMessage());
         }
     }
 
@@ -176,15 +159,16 @@ public class Magasin
     {
         int prix = 200;
         if (ferme.getBudget() < prix) {
-            System.out.println("Pas assez de budget pour détruire puits");
+            ferme.signaler(() -> "Pas assez de budget pour détruire puits");
             return;
         }
         ferme.retirerBudget(prix);
+        ferme.noter(Journal.Type.DESTRUCTION_PUITS, -1, pos, prix);
         try {
             ferme.detruirePuits(pos);
-            System.out.println("Puits détruit en " + pos);
+            ferme.signaler(() -> "Puits détruit en " + pos);
         } catch(Exception e) {
-            System.out.println("Échec destruction : " + e.getMessage());
+            ferme.signaler(() -> "Échec destruction : " + e.getMessage());
         }
     }
 
@@ -195,18 +179,19 @@ public class Magasin
     public void utiliserFertilisant(Position pos, double quantiteGrammes) 
     {
         if (quantiteGrammes <= 0 || quantiteGrammes > stockFertilisant) {
-            System.out.println("Quantité de fertilisant non disponible ou invalide");
+            ferme.signaler(() -> "Quantité de fertilisant non disponible ou invalide");
             return;
         }
         try {
             ferme.poserFertilisant(pos, quantiteGrammes);
         } catch (IllegalArgumentException e) {
-            System.out.println("Erreur lors du dépôt de fertilisant : " + e.getMessage());
+            ferme.signaler(() -> "Erreur lors du dépôt de fertilisant : " + e.getMessage());
             return;
         }
         stockFertilisant -= quantiteGrammes;
-        System.out.printf("Posé %.0f g de fertilisant en %s. Stock restant = %.0f g.%n",
-            quantiteGrammes, pos, stockFertilisant);
+        ferme.noter(Journal.Type.POSE_FERTILISANT, -1, pos, quantiteGrammes);
+        ferme.signaler(() -> String.format("Posé %.0f g de fertilisant en %s. Stock restant = %.0f g.",
+            quantiteGrammes, pos, stockFertilisant));
     }
     
     /**
@@ -215,18 +200,23 @@ public class Magasin
     public double getStockFertilisant() {
         return stockFertilisant;
     }
+
+    /**
+     * -remet le stock de fertilisant à une valeur sauvegardée (voir Sauvegarde).
+     */
+    void restaurerStockFertilisant(double quantiteGrammes) {
+        this.stockFertilisant = quantiteGrammes;
+    }
     
-    /** Lit le prix de l’animal (depuis "poule.properties" ou "vache.properties"). */
+    /** Lit le prix de l’animal (défini dans "poule.properties" ou "vache.properties"). */
     public double getPrixAnimal(String nomAnimal) {
-        Properties props = Data.chargerFichier(nomAnimal.toLowerCase() + ".properties");
-        return Double.parseDouble(props.getProperty("prix", "0"));
+        return DefinitionEspece.pour(nomAnimal).getPrix();
     }
 
-    /** Lit le prix de la plante (depuis "tomate.properties" ou "ble.properties"). */
+    /** Lit le prix de la plante (défini dans "tomate.properties" ou "ble.properties"). */
     public double getPrixPlante(String nomPlante) 
     {
-        Properties props = Data.chargerFichier(nomPlante.toLowerCase() + ".properties");
-        return Double.parseDouble(props.getProperty("prix", "0"));
+        return DefinitionEspece.pour(nomPlante).getPrix();
     }
 
     /** Renvoie le prix au gramme (2 Y/g). */
@@ -0,0 +1,122 @@
+package gestion;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+import modele.Ferme;
+import modele.Saison;
+
+/**
+ * -mesures d'une journée simulée, remplies par Jeu quand la télémétrie est active.
+ * -une seule instance par Jeu, réutilisée chaque jour (aucune allocation) : les
+ *  destinations copient ce qu'elles gardent.
+ * -la mémoire allouée est celle du thread de simulation ; celle des threads du
+ *  moteur parallèle n'y figure pas. Elle n'est connue que si la JVM mesure déjà les
+ *  allocations par thread (réglage par défaut de HotSpot) : ce réglage global n'est
+ *  pas modifié ici.
+ */
+public final class MesureJour
+{
+
+    private int jour;
+    private Saison saison;
+    private final long[] durees = new long[Telemetrie.Phase.values().length];
+    private int nbAnimaux;
+    private int nbPlantes;
+    private long naissances;
+    private long morts;
+    private long octetsAlloues;
+
+    // Valeurs au début de la journée
+    private long naissancesDebut;
+    private long mortsDebut;
+    private long octetsDebut;
+
+    MesureJour() {}
+
+    /**
+     * -remet la mesure à zéro au début d'une journée.
+     */
+    void commencer(int jour, Ferme ferme)
+    {
+        this.jour = jour;
+        Arrays.fill(durees, 0);
+        naissancesDebut = ferme.getNbNaissances();
+        mortsDebut = ferme.getNbMorts();
+        octetsDebut = octetsDuThread();
+    }
+
+    void ajouterDuree(Telemetrie.Phase phase, long nanos) {
+        durees[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * -relève effectifs, naissances, morts et allocations en fin de journée.
+     */
+    void terminer(Saison saison, Ferme ferme)
+    {
+        this.saison = saison;
+        nbAnimaux = ferme.getNbAnimaux();
+        nbPlantes = ferme.getNbPlantes();
+        naissances = ferme.getNbNaissances() - naissancesDebut;
+        morts = ferme.getNbMorts() - mortsDebut;
+        long octets = octetsDuThread();
+        octetsAlloues = octets < 0 || octetsDebut < 0 ? -1 : octets - octetsDebut;
+    }
+
+    /** @return le numéro du jour (depuis le début de la simulation) */
+    public int getJour() { return jour; }
+
+    /** @return la saison du jour */
+    public Saison getSaison() { return saison; }
+
+    /**
+     * @param phase phase de la journée
+     * @return le temps passé dans cette phase, en nanosecondes
+     */
+    public long getDuree(Telemetrie.Phase phase) { return durees[phase.ordinal()]; }
+
+    /** @return le temps total des phases, en nanosecondes */
+    public long getDureeTotale()
+    {
+        long total = 0;
+        for (long d : durees) total += d;
+        return total;
+    }
+
+    /** @return le nombre d'animaux sur la grille en fin de journée */
+    public int getNbAnimaux() { return nbAnimaux; }
+
+    /** @return le nombre de plantes sur la grille en fin de journée */
+    public int getNbPlantes() { return nbPlantes; }
+
+    /** @return le nombre de naissances de la journée */
+    public long getNaissances() { return naissances; }
+
+    /** @return le nombre de morts (animaux et plantes) de la journée */
+    public long getMorts() { return morts; }
+
+    /** @return les octets alloués par le thread de simulation (-1 si inconnu) */
+    public long getOctetsAlloues() { return octetsAlloues; }
+
+    private static long octetsDuThread() {
+        com.sun.management.ThreadMXBean t = Threads.BEAN;
+        return t != null && t.isThreadAllocatedMemoryEnabled() ? t.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * -accès aux mesures des threads de la JVM, résolu au premier jour mesuré
+     *  seulement (chargement de la classe), et non à la création de chaque Jeu.
+     */
+    private static final class Threads
+    {
+        static final com.sun.management.ThreadMXBean BEAN = resoudre();
+
+        private static com.sun.management.ThreadMXBean resoudre()
+        {
+            ThreadMXBean t = ManagementFactory.getThreadMXBean();
+            return t instanceof com.sun.management.ThreadMXBean s && s.isThreadAllocatedMemorySupported() ? s : null;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package gestion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import entite.Animal;
+import entite.Plante;
+import modele.Ferme;
+import modele.Position;
+import modele.Saison;
+
+/**
+ * -déroule une journée de simulation en parallèle sur un ForkJoinPool, pour les grandes fermes.
+ * -la grille est découpée en bandes de lignes de hauteur fixe, qui ne dépend que de la
+ *  taille de la ferme (pas du nombre de threads). Une journée enchaîne :
+ *  ; pluie et plantes : chaque plante ne touche que sa case, toutes les bandes en parallèle
+ *  ; animaux sur place (boire, manger, fertiliser) puis proposition de déplacement vers une
+ *    case libre au début de la phase, en parallèle
+ *  ; application des déplacements en parallèle : si plusieurs animaux visent la même case,
+ *    celui dont la case de départ a le plus petit indice l'emporte, les autres restent
+ *  ; naissances proposées en parallèle, puis réalisées dans l'ordre des cases
+ *  ; production relevée par bande, fusionnée dans l'ordre des bandes ; les morts
+ *    sont retirés ensuite par Jeu
+ * -chaque animal tire son hasard dans son propre flux : le résultat ne dépend que de la
+ *  graine, pas du nombre de threads. L'ordonnancement diffère de celui du mode séquentiel
+ *  de Jeu (où un animal qui avance vers une case pas encore visitée rejoue son tour).
+ * -les messages de la ferme peuvent être émis depuis plusieurs threads.
+ */
+public class MoteurParallele
+{
+    /** Nombre approximatif de cases traitées par une tâche. */
+    private static final int CASES_PAR_BANDE = 16384;
+
+    private final ForkJoinPool pool;
+    private int[] cibles; // case visée par l'animal de chaque case (-1 : il reste)
+
+    /**
+     * -moteur utilisant le pool commun de la JVM.
+     */
+    public MoteurParallele() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool pool de threads sur lequel répartir les bandes
+     */
+    public MoteurParallele(ForkJoinPool pool) {
+        if (pool == null) throw new IllegalArgumentException("Pool non fourni");
+        this.pool = pool;
+    }
+
+    /**
+     * -déroule une journée sur toute la ferme.
+     *
+     * @param ferme la ferme simulée
+     * @param saison la saison en cours
+     * @param pluie eau tombée sur chaque case sans puits (0 s'il ne pleut pas)
+     * @param production reçoit la production animale (produit, calories), dans l'ordre des bandes
+     * @param produitDe identifiant du produit de chaque espèce animale
+     */
+    void jouerJour(Ferme ferme, Saison saison, double pluie, Production production,
+                   int[] produitDe)
+    {
+        int taille = ferme.getTaille();
+        int n = taille * taille;
+        if (cibles == null || cibles.length != n) cibles = new int[n];
+        int hauteur = Math.max(1, CASES_PAR_BANDE / taille);
+        int nbBandes = (taille + hauteur - 1) / hauteur;
+
+        // 1) Pluie et plantes
+        enParallele(nbBandes, b -> ferme.forEachCaseLignes(b * hauteur, (b + 1) * hauteur, c -> {
+            if (pluie > 0 && !c.aUnPuits()) {
+                c.ajouterEau(pluie);
+            }
+            Plante p = c.getPlante();
+            if (p != null && p.estVivante() && !c.planteEndormie()) {
+                p.tourSuivant(c, saison);
+            }
+        }));
+
+        // 2) Animaux sur place, puis proposition de déplacement
+        enParallele(nbBandes, b -> ferme.forEachCaseLignes(b * hauteur, (b + 1) * hauteur, c -> {
+            int k = c.getY() * taille + c.getX();
+            cibles[k] = -1;
+            Animal a = c.getAnimal();
+            if (a != null && a.estVivant()) {
+                a.vivreSurPlace(ferme, c, saison);
+                if (a.estVivant()) {
+                    Position p = a.proposerDeplacement(ferme);
+                    if (p.getX() != c.getX() || p.getY() != c.getY()) {
+                        cibles[k] = p.getY() * taille + p.getX();
+                    }
+                }
+            }
+        }));
+
+        // 3) Application des déplacements sans conflit
+        enParallele(nbBandes, b -> ferme.forEachCaseLignes(b * hauteur, (b + 1) * hauteur, c -> {
+            int k = c.getY() * taille + c.getX();
+            int t = cibles[k];
+            if (t >= 0 && gagneCible(k, t, taille)) {
+                c.getAnimal().deplacerVers(ferme, ferme.getPosition(t));
+            }
+        }));
+
+        // 4) Naissances : tirées en parallèle, réalisées dans l'ordre des cases
+        List<List<Animal.Naissance>> naissances = new ArrayList<>(nbBandes);
+        for (int b = 0; b < nbBandes; b++) naissances.add(new ArrayList<>());
+        enParallele(nbBandes, b -> {
+            List<Animal.Naissance> liste = naissances.get(b);
+            ferme.forEachCaseLignes(b * hauteur, (b + 1) * hauteur, c -> {
+                Animal a = c.getAnimal();
+                if (a != null && a.estVivant()) {
+                    Animal.Naissance naissance = a.proposerReproduction(ferme);
+                    if (naissance != null) liste.add(naissance);
+                }
+            });
+        });
+        for (List<Animal.Naissance> liste : naissances) {
+            for (Animal.Naissance naissance : liste) {
+                naissance.realiser(ferme);
+            }
+        }
+
+        // 5) Clôture : production (le retrait des morts est fait ensuite par la ferme,
+        //    qui tient ses tableaux de cases occupées sur un seul thread)
+        double[][] clotures = new double[nbBandes][]; // production de chaque bande, par produit
+        enParallele(nbBandes, b -> {
+            double[] cl = new double[produitDe.length];
+            ferme.forEachCaseLignes(b * hauteur, (b + 1) * hauteur, c -> {
+                Animal a = c.getAnimal();
+                if (a != null && a.estVivant()) {
+                    double prod = a.produire();
+                    if (prod > 0) {
+                        cl[produitDe[a.getIdEspece()]] += prod;
+                    }
+                }
+            });
+            clotures[b] = cl;
+        });
+        for (double[] cl : clotures) {
+            for (int id = 0; id < cl.length; id++) {
+                if (cl[id] > 0) production.ajouter(id, cl[id]);
+            }
+        }
+    }
+
+    /**
+     * -un animal parti de k obtient la case t si aucun animal d'indice plus petit
+     *  ne la vise aussi (seules les 4 voisines de t peuvent la viser).
+     */
+    private boolean gagneCible(int k, int t, int taille)
+    {
+        int tx = t % taille, ty = t / taille;
+        if (tx > 0 && t - 1 < k && cibles[t - 1] == t) return false;
+        if (tx < taille - 1 && t + 1 < k && cibles[t + 1] == t) return false;
+        if (ty > 0 && t - taille < k && cibles[t - taille] == t) return false;
+        if (ty < taille - 1 && t + taille < k && cibles[t + taille] == t) return false;
+        return true;
+    }
+
+    /**
+     * -exécute la tâche pour chaque bande sur le pool, et attend la fin.
+     */
+    private void enParallele(int nbBandes, IntConsumer tache) {
+        pool.invoke(new Bandes(0, nbBandes, tache));
+    }
+
+    /**
+     * -découpe récursive de l'intervalle de bandes [debut, fin).
+     */
+    private static final class Bandes extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+        private final int debut, fin;
+        private final IntConsumer tache;
+
+        Bandes(int debut, int fin, IntConsumer tache) {
+            this.debut = debut;
+            this.fin = fin;
+            this.tache = tache;
+        }
+
+        @Override
+        protected void compute() {
+            if (fin - debut <= 1) {
+                if (fin > debut) tache.accept(debut);
+                return;
+            }
+            int milieu = (debut + fin) >>> 1;
+            invokeAll(new Bandes(debut, milieu, tache), new Bandes(milieu, fin, tache));
+        }
+    }
+
+    /**
+     * -reçoit la production animale d'une journée.
+     */
+    interface Production
+    {
+        /**
+         * @param produit identifiant du produit dans la Nomenclature
+         * @param calories calories produites
+         */
+        void ajouter(int produit, double calories);
+    }
+}
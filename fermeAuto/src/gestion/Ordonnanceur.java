@@ -0,0 +1,73 @@
+package gestion;
+
+import java.util.PriorityQueue;
+
+/**
+ * -échéancier d'événements discrets : chaque événement est une action à exécuter au
+ *  début d'un jour donné (réveil d'une entité en sommeil...).
+ * -les événements dus sont exécutés par jour croissant, et à jour égal dans l'ordre
+ *  où ils ont été programmés : le déroulement ne dépend que de la simulation.
+ */
+public class Ordonnanceur
+{
+    private final PriorityQueue<Echeance> file = new PriorityQueue<>();
+    private long prochainNumero;
+
+    /**
+     * -programme une action.
+     * @param jour jour (depuis le début de la simulation) où l'exécuter
+     * @param action action à exécuter
+     * @throws IllegalArgumentException si l'action est nulle
+     */
+    public void programmer(int jour, Runnable action)
+    {
+        if (action == null)
+            throw new IllegalArgumentException("Action non fournie");
+        file.add(new Echeance(jour, prochainNumero++, action));
+    }
+
+    /**
+     * -exécute, dans l'ordre, les actions programmées jusqu'au jour donné inclus.
+     * -une action peut en programmer d'autres ; celles qui sont dues sont exécutées aussi.
+     * @param jour jour courant
+     * @return le nombre d'actions exécutées
+     */
+    public int executerDus(int jour)
+    {
+        int n = 0;
+        while (!file.isEmpty() && file.peek().jour <= jour) {
+            file.poll().action.run();
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * @return le nombre d'actions en attente
+     */
+    public int getNbEnAttente() {
+        return file.size();
+    }
+
+    /**
+     * -action programmée, triée par jour puis par numéro d'ordre.
+     */
+    private static final class Echeance implements Comparable<Echeance>
+    {
+        final int jour;
+        final long numero;
+        final Runnable action;
+
+        Echeance(int jour, long numero, Runnable action) {
+            this.jour = jour;
+            this.numero = numero;
+            this.action = action;
+        }
+
+        @Override
+        public int compareTo(Echeance autre) {
+            if (jour != autre.jour) return Integer.compare(jour, autre.jour);
+            return Long.compare(numero, autre.numero);
+        }
+    }
+}
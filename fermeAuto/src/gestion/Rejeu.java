@@ -0,0 +1,130 @@
+package gestion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import modele.Evenements;
+import modele.Ferme;
+import modele.Journal;
+import modele.Nomenclature;
+
+/**
+ * -reconstitue une partie enregistrée par Historique au début d'un jour quelconque :
+ *  le dernier instantané pris au plus tard ce jour-là est restauré, puis la simulation
+ *  (déterministe) est rejouée jusqu'au jour voulu en suivant le journal :
+ *  ; au début de chaque journée, le mode de déroulement noté est repris et le budget
+ *    comparé à celui du journal (un écart signale que le rejeu diverge) ;
+ *  ; entre deux journées, les achats du magasin sont refaits dans le même ordre.
+ * -les autres événements (naissances, morts, déplacements, pluie, ventes) se
+ *  reproduisent d'eux-mêmes ; LectureJournal permet de les consulter.
+ */
+public final class Rejeu
+{
+    private Rejeu() {}
+
+    /**
+     * -reconstitue la partie au début du jour donné, avant sa journée et après les achats
+     *  qui la précèdent.
+     * @param dossier dossier de l'historique
+     * @param jour jour voulu (>= 1)
+     * @return la partie, dont la ferme n'a ni événements (Evenements.AUCUN) ni journal
+     * @throws IOException si l'historique est illisible, ne couvre pas ce jour, ou si le
+     *         rejeu s'écarte du journal
+     */
+    public static Jeu jusquAu(Path dossier, int jour) throws IOException
+    {
+        if (dossier == null)
+            throw new IllegalArgumentException("Dossier requis");
+        if (jour < 1)
+            throw new IllegalArgumentException("Jour invalide : " + jour);
+
+        // Dernier instantané au plus tard ce jour-là
+        int jourInstantane = -1;
+        long position = 0;
+        try (FileChannel index = FileChannel.open(dossier.resolve(Historique.INDEX), StandardOpenOption.READ)) {
+            ByteBuffer entree = ByteBuffer.allocate(Historique.TAILLE_ENTREE_INDEX).order(ByteOrder.LITTLE_ENDIAN);
+            for (long p = 0; p + entree.capacity() <= index.size(); p += entree.capacity()) {
+                entree.clear();
+                while (entree.hasRemaining() && index.read(entree, p + entree.position()) > 0) {
+                    // lecture de l'entrée en entier
+                }
+                int j = entree.getInt(0);
+                if (j <= jour && j >= jourInstantane) {
+                    jourInstantane = j;
+                    position = entree.getLong(4);
+                }
+            }
+        }
+        if (jourInstantane < 0)
+            throw new IOException("Aucun instantané au plus tard le jour " + jour + " dans " + dossier);
+
+        Jeu jeu = Sauvegarde.lire(Historique.fichierInstantane(dossier, jourInstantane));
+        Ferme ferme = jeu.getFerme();
+        ferme.setEvenements(Evenements.AUCUN);
+        MoteurParallele parallele = null;
+
+        try (LectureJournal l = new LectureJournal(dossier.resolve(Historique.JOURNAL), position)) {
+            while (l.suivant()) {
+                switch (l.getType()) {
+                    case JOUR -> {
+                        if (l.getIndice() != jeu.getJour())
+                            throw new IOException("Journal incohérent : jour " + l.getIndice()
+                                    + " au lieu du jour " + jeu.getJour());
+                        if (l.getValeur() != ferme.getBudget())
+                            throw new IOException(String.format("Le rejeu diverge du journal au jour %d :"
+                                    + " budget %s au lieu de %s", jeu.getJour(), ferme.getBudget(), l.getValeur()));
+                        if (jeu.getJour() == jour) return jeu;
+                        if (l.getCible() == Jeu.MODE_PARALLELE) {
+                            if (parallele == null) parallele = new MoteurParallele();
+                            jeu.setMoteurParallele(parallele);
+                        } else {
+                            jeu.setMoteurParallele(null);
+                            jeu.setModeParPhases(l.getCible() == Jeu.MODE_PAR_PHASES);
+                        }
+                        jeu.jouer(1);
+                    }
+                    case ACHAT_ANIMAL, ACHAT_PLANTE, ACHAT_FERTILISANT, POSE_FERTILISANT,
+                            CONSTRUCTION_PUITS, DESTRUCTION_PUITS -> refaireAchat(l, jeu);
+                    default -> {
+                        // conséquence de la simulation : se reproduit au rejeu
+                    }
+                }
+            }
+        }
+        if (jeu.getJour() != jour)
+            throw new IOException("Le journal s'arrête au jour " + jeu.getJour() + ", avant le jour " + jour);
+        return jeu;
+    }
+
+    /**
+     * -refait une opération du magasin notée dans le journal.
+     */
+    private static void refaireAchat(LectureJournal l, Jeu jeu) throws IOException
+    {
+        Magasin magasin = jeu.getMagasin();
+        Ferme ferme = jeu.getFerme();
+        int n = ferme.getTaille() * ferme.getTaille();
+        if (l.getType() != Journal.Type.ACHAT_FERTILISANT && (l.getIndice() < 0 || l.getIndice() >= n))
+            throw new IOException("Journal invalide : case " + l.getIndice() + " pour " + l.getType());
+        switch (l.getType()) {
+            case ACHAT_ANIMAL -> magasin.acheterAnimal(nomEspece(l), ferme.getPosition(l.getIndice()));
+            case ACHAT_PLANTE -> magasin.acheterPlante(nomEspece(l), ferme.getPosition(l.getIndice()));
+            case ACHAT_FERTILISANT -> magasin.acheterFertilisant(l.getValeur());
+            case POSE_FERTILISANT -> magasin.utiliserFertilisant(ferme.getPosition(l.getIndice()), l.getValeur());
+            case CONSTRUCTION_PUITS -> magasin.acheterPuits(ferme.getPosition(l.getIndice()));
+            case DESTRUCTION_PUITS -> magasin.detruirePuits(ferme.getPosition(l.getIndice()));
+            default -> throw new IllegalArgumentException("Pas un achat : " + l.getType());
+        }
+    }
+
+    private static String nomEspece(LectureJournal l) throws IOException
+    {
+        if (l.getEspece() < 0)
+            throw new IOException("Journal invalide : achat sans espèce (" + l.getType() + ")");
+        return Nomenclature.nom(l.getEspece());
+    }
+}
@@ -0,0 +1,92 @@
+package gestion;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import modele.EntreeSauvegarde;
+import modele.Ferme;
+import modele.Nomenclature;
+import modele.SortieSauvegarde;
+
+/**
+ * -sauvegarde binaire complète d'une partie entre deux journées : ferme (grille,
+ *  animaux, plantes, hasard), magasin et jeu. Une partie restaurée se poursuit
+ *  exactement comme l'originale ; on peut aussi en tirer plusieurs expériences.
+ * -format (version 1, petit-boutiste) :
+ *  ; en-tête : signature « FRMA », version
+ *  ; noms de la Nomenclature, dans l'ordre des identifiants utilisés dans le fichier
+ *  ; ferme : voir Ferme.sauvegarder (cases en colonnes, puis entités en colonnes)
+ *  ; stock de fertilisant du magasin
+ *  ; jeu : voir Jeu.sauvegarder
+ * -les réglages d'exécution (événements, télémétrie, mode de déroulement, écouteur de
+ *  saison) ne font pas partie de la sauvegarde.
+ */
+public final class Sauvegarde
+{
+    /** Version du format écrit. */
+    public static final int VERSION = 1;
+
+    private static final int SIGNATURE = 0x414D5246; // "FRMA" en petit-boutiste
+
+    private Sauvegarde() {}
+
+    /**
+     * -écrit la partie dans un fichier (remplacé s'il existe).
+     * @param jeu partie à sauvegarder, entre deux appels à jouer
+     * @param fichier chemin du fichier
+     * @throws IOException si l'écriture échoue
+     */
+    public static void ecrire(Jeu jeu, Path fichier) throws IOException
+    {
+        if (jeu == null || fichier == null)
+            throw new IllegalArgumentException("Jeu et fichier requis");
+        String[] noms = new String[Nomenclature.taille()];
+        for (int id = 0; id < noms.length; id++) noms[id] = Nomenclature.nom(id);
+
+        // taille exacte du fichier d'abord, pour ne projeter que ce qui sera écrit
+        SortieSauvegarde mesure = SortieSauvegarde.mesure();
+        ecrire(jeu, noms, mesure);
+        try (SortieSauvegarde s = new SortieSauvegarde(fichier, mesure.getPosition())) {
+            ecrire(jeu, noms, s);
+        }
+    }
+
+    private static void ecrire(Jeu jeu, String[] noms, SortieSauvegarde s) throws IOException
+    {
+        s.ecrireInt(SIGNATURE);
+        s.ecrireInt(VERSION);
+        s.ecrireInt(noms.length);
+        for (String nom : noms) s.ecrireTexte(nom);
+        jeu.getFerme().sauvegarder(s);
+        s.ecrireDouble(jeu.getMagasin().getStockFertilisant());
+        jeu.sauvegarder(s, noms);
+    }
+
+    /**
+     * -recrée une partie sauvegardée.
+     * @param fichier chemin du fichier
+     * @return le jeu, dont la ferme (getFerme) affiche ses événements sur la console
+     * @throws IOException si le fichier est illisible, incohérent ou d'une autre version
+     */
+    public static Jeu lire(Path fichier) throws IOException
+    {
+        if (fichier == null)
+            throw new IllegalArgumentException("Fichier requis");
+        try (EntreeSauvegarde e = new EntreeSauvegarde(fichier)) {
+            if (e.lireInt() != SIGNATURE)
+                throw new IOException("Ce fichier n'est pas une sauvegarde de ferme : " + fichier);
+            int version = e.lireInt();
+            if (version != VERSION)
+                throw new IOException("Version de sauvegarde non prise en charge : " + version);
+            String[] noms = new String[e.lireTaille()];
+            for (int id = 0; id < noms.length; id++) noms[id] = e.lireTexte();
+
+            Ferme ferme = Ferme.restaurer(e, noms);
+            Magasin magasin = new Magasin(ferme);
+            magasin.restaurerStockFertilisant(e.lireDouble());
+            Jeu jeu = new Jeu(ferme, magasin);
+            jeu.restaurer(e, noms);
+            return jeu;
+        }
+    }
+}
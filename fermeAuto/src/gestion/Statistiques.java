@@ -0,0 +1,155 @@
+package gestion;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import modele.Nomenclature;
+
+/**
+ * -compteurs journaliers et saisonniers de Jeu, rangés par identifiant de la
+ *  Nomenclature (espèce ou produit) dans des tableaux primitifs.
+ * -les tableaux sont remis à zéro sur place ; ils ne sont agrandis que lorsqu'une
+ *  nouvelle espèce apparaît.
+ * -une espèce est « présente » un jour donné si elle compte au moins un vivant ;
+ *  les décès ne sont relevés que pour les espèces présentes.
+ */
+final class Statistiques
+{
+    // Journalières
+    double[] production = new double[0];      // par produit
+    int[] animauxVivants = new int[0];        // par espèce
+    int[] decesAnimaux = new int[0];
+    int[] plantesVivantes = new int[0];
+    int[] decesPlantes = new int[0];
+
+    // Effectifs de la veille, pour calculer les décès
+    int[] animauxPrecedents = new int[0];
+    int[] plantesPrecedents = new int[0];
+
+    // Saisonnières (cumul des ventes)
+    double[] ventesAnimaux = new double[0];   // par produit
+    double[] ventesPlantes = new double[0];   // par espèce
+
+    /** Produit (Œufs, Lait...) de chaque espèce animale. */
+    int[] produitDe = new int[0];
+
+    /**
+     * -agrandit les tableaux si de nouveaux noms ont été enregistrés, en attribuant
+     *  d'abord un identifiant au produit de chaque nouvelle espèce.
+     */
+    void assurerCapacite()
+    {
+        int debut = produitDe.length;
+        if (Nomenclature.taille() == debut) return;
+        for (int id = debut; id < Nomenclature.taille(); id++) {
+            Nomenclature.id(Jeu.nomProduit(Nomenclature.nom(id)));
+        }
+        int n = Nomenclature.taille();
+        produitDe = Arrays.copyOf(produitDe, n);
+        for (int id = debut; id < n; id++) {
+            produitDe[id] = Nomenclature.id(Jeu.nomProduit(Nomenclature.nom(id)));
+        }
+        production = Arrays.copyOf(production, n);
+        animauxVivants = Arrays.copyOf(animauxVivants, n);
+        decesAnimaux = Arrays.copyOf(decesAnimaux, n);
+        plantesVivantes = Arrays.copyOf(plantesVivantes, n);
+        decesPlantes = Arrays.copyOf(decesPlantes, n);
+        animauxPrecedents = Arrays.copyOf(animauxPrecedents, n);
+        plantesPrecedents = Arrays.copyOf(plantesPrecedents, n);
+        ventesAnimaux = Arrays.copyOf(ventesAnimaux, n);
+        ventesPlantes = Arrays.copyOf(ventesPlantes, n);
+    }
+
+    /**
+     * -remet à zéro les compteurs journaliers ; les vivants sont ensuite comptés
+     *  directement dans animauxVivants et plantesVivantes.
+     */
+    void debutJour()
+    {
+        assurerCapacite();
+        Arrays.fill(production, 0);
+        Arrays.fill(animauxVivants, 0);
+        Arrays.fill(decesAnimaux, 0);
+        Arrays.fill(plantesVivantes, 0);
+        Arrays.fill(decesPlantes, 0);
+    }
+
+    /**
+     * -range la production d'un produit dans les compteurs du jour et de la saison.
+     */
+    void ajouterProduction(int produit, double calories)
+    {
+        production[produit] += calories;
+        ventesAnimaux[produit] += calories;
+    }
+
+    /**
+     * -calcule les décès de chaque espèce présente par rapport à la veille, puis
+     *  retient les vivants du jour comme effectifs de référence.
+     */
+    void finJour()
+    {
+        for (int id = 0; id < animauxVivants.length; id++) {
+            int curr = animauxVivants[id];
+            decesAnimaux[id] = curr > 0 ? Math.max(0, animauxPrecedents[id] - curr) : 0;
+            animauxPrecedents[id] = curr;
+            curr = plantesVivantes[id];
+            decesPlantes[id] = curr > 0 ? Math.max(0, plantesPrecedents[id] - curr) : 0;
+            plantesPrecedents[id] = curr;
+        }
+    }
+
+    /**
+     * -remet à zéro les ventes cumulées de la saison.
+     */
+    void finSaison()
+    {
+        Arrays.fill(ventesAnimaux, 0);
+        Arrays.fill(ventesPlantes, 0);
+    }
+
+    /**
+     * @return la valeur d'un compteur, 0 pour un nom jamais rencontré
+     */
+    static int lire(int[] compteurs, String nom)
+    {
+        int id = Nomenclature.chercher(nom);
+        return id >= 0 && id < compteurs.length ? compteurs[id] : 0;
+    }
+
+    static double lire(double[] compteurs, String nom)
+    {
+        int id = Nomenclature.chercher(nom);
+        return id >= 0 && id < compteurs.length ? compteurs[id] : 0;
+    }
+
+    static int somme(int[] compteurs)
+    {
+        int total = 0;
+        for (int n : compteurs) total += n;
+        return total;
+    }
+
+    /**
+     * -copie les compteurs non nuls dans une map nom -> valeur, par identifiant
+     *  croissant (pour les bilans de saison).
+     */
+    static Map<String, Integer> enMap(int[] compteurs)
+    {
+        Map<String, Integer> m = new LinkedHashMap<>();
+        for (int id = 0; id < compteurs.length; id++) {
+            if (compteurs[id] > 0) m.put(Nomenclature.nom(id), compteurs[id]);
+        }
+        return m;
+    }
+
+    static Map<String, Double> enMap(double[] compteurs)
+    {
+        Map<String, Double> m = new LinkedHashMap<>();
+        for (int id = 0; id < compteurs.length; id++) {
+            if (compteurs[id] > 0) m.put(Nomenclature.nom(id), compteurs[id]);
+        }
+        return m;
+    }
+}
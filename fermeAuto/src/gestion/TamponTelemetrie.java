@@ -0,0 +1,144 @@
+package gestion;
+
+/**
+ * -garde les mesures des derniers jours dans un tampon circulaire de taille fixe,
+ *  rangé en colonnes de types primitifs : l'enregistrement d'un jour ne fait que
+ *  recopier quelques nombres, sans allocation.
+ * -la simulation écrit, l'interface lit (par exemple pour tracer des courbes) avec
+ *  releve(), qui copie le contenu sous le même verrou.
+ */
+public class TamponTelemetrie implements Telemetrie
+{
+    private static final Phase[] PHASES = Phase.values();
+    private static final int NB_PHASES = PHASES.length;
+
+    private final int capacite;
+    private final int[] jours;
+    private final long[] durees; // NB_PHASES valeurs par jour
+    private final int[] nbAnimaux;
+    private final int[] nbPlantes;
+    private final long[] naissances;
+    private final long[] morts;
+    private final long[] octets;
+    private long nbEnregistres;
+
+    /**
+     * @param capacite nombre de jours conservés
+     * @throws IllegalArgumentException si la capacité n'est pas positive
+     */
+    public TamponTelemetrie(int capacite)
+    {
+        if (capacite <= 0)
+            throw new IllegalArgumentException("Capacité invalide : " + capacite);
+        this.capacite = capacite;
+        this.jours = new int[capacite];
+        this.durees = new long[capacite * NB_PHASES];
+        this.nbAnimaux = new int[capacite];
+        this.nbPlantes = new int[capacite];
+        this.naissances = new long[capacite];
+        this.morts = new long[capacite];
+        this.octets = new long[capacite];
+    }
+
+    @Override
+    public synchronized void enregistrer(MesureJour mesure)
+    {
+        int i = (int) (nbEnregistres % capacite);
+        jours[i] = mesure.getJour();
+        for (Phase p : PHASES) {
+            durees[i * NB_PHASES + p.ordinal()] = mesure.getDuree(p);
+        }
+        nbAnimaux[i] = mesure.getNbAnimaux();
+        nbPlantes[i] = mesure.getNbPlantes();
+        naissances[i] = mesure.getNaissances();
+        morts[i] = mesure.getMorts();
+        octets[i] = mesure.getOctetsAlloues();
+        nbEnregistres++;
+    }
+
+    /**
+     * @return le nombre de jours enregistrés depuis la création (y compris ceux
+     *         qui ont quitté le tampon)
+     */
+    public synchronized long getNbEnregistres() {
+        return nbEnregistres;
+    }
+
+    /**
+     * -copie le contenu du tampon, du jour le plus ancien au plus récent.
+     * @return un relevé figé, lisible depuis n'importe quel thread
+     */
+    public synchronized Releve releve()
+    {
+        int n = (int) Math.min(nbEnregistres, capacite);
+        int debut = (int) ((nbEnregistres - n) % capacite);
+        Releve r = new Releve(n);
+        for (int j = 0; j < n; j++) {
+            int i = (debut + j) % capacite;
+            r.jours[j] = jours[i];
+            System.arraycopy(durees, i * NB_PHASES, r.durees, j * NB_PHASES, NB_PHASES);
+            r.nbAnimaux[j] = nbAnimaux[i];
+            r.nbPlantes[j] = nbPlantes[i];
+            r.naissances[j] = naissances[i];
+            r.morts[j] = morts[i];
+            r.octets[j] = octets[i];
+        }
+        return r;
+    }
+
+    /**
+     * -copie immuable des derniers jours ; l'indice 0 est le plus ancien.
+     */
+    public static final class Releve
+    {
+        private final int[] jours;
+        private final long[] durees;
+        private final int[] nbAnimaux;
+        private final int[] nbPlantes;
+        private final long[] naissances;
+        private final long[] morts;
+        private final long[] octets;
+
+        private Releve(int n) {
+            jours = new int[n];
+            durees = new long[n * NB_PHASES];
+            nbAnimaux = new int[n];
+            nbPlantes = new int[n];
+            naissances = new long[n];
+            morts = new long[n];
+            octets = new long[n];
+        }
+
+        /** @return le nombre de jours relevés */
+        public int getNbJours() { return jours.length; }
+
+        /** @return le numéro du i-ème jour relevé */
+        public int getJour(int i) { return jours[i]; }
+
+        /** @return le temps passé dans une phase le i-ème jour, en nanosecondes */
+        public long getDuree(int i, Phase phase) { return durees[i * NB_PHASES + phase.ordinal()]; }
+
+        /** @return le temps total du i-ème jour, en nanosecondes */
+        public long getDureeTotale(int i)
+        {
+            long total = 0;
+            for (int p = 0; p < NB_PHASES; p++) total += durees[i * NB_PHASES + p];
+            return total;
+        }
+
+        /** @return le nombre d'animaux en fin du i-ème jour */
+        public int getNbAnimaux(int i) { return nbAnimaux[i]; }
+
+        /** @return le nombre de plantes en fin du i-ème jour */
+        public int getNbPlantes(int i) { return nbPlantes[i]; }
+
+        /** @return les naissances du i-ème jour */
+        public long getNaissances(int i) { return naissances[i]; }
+
+        /** @return les morts du i-ème jour */
+        public long getMorts(int i) { return morts[i]; }
+
+        /** @return les octets alloués le i-ème jour (-1 si inconnu) */
+        public long getOctetsAlloues(int i) { return octets[i]; }
+    }
+}
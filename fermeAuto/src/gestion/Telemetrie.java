@@ -0,0 +1,90 @@
+package gestion;
+
+/**
+ * -destination des mesures de chaque journée simulée : durée de chaque phase,
+ *  effectifs, naissances, morts et mémoire allouée (voir MesureJour).
+ * -Jeu n'en utilise aucune par défaut ; quand la télémétrie n'est pas active, il ne
+ *  lit pas l'horloge et ne remplit aucune mesure.
+ * -implémentations fournies : TamponTelemetrie (derniers jours, pour les graphiques)
+ *  et TelemetrieJmx (consultation par JMX).
+ */
+@FunctionalInterface
+public interface Telemetrie
+{
+    /**
+     * -phases chronométrées d'une journée.
+     * -en mode parallèle, pluie, tours et production sont déroulés ensemble par le
+     *  moteur et comptés dans TOURS.
+     */
+    enum Phase {
+        /** Réveil des entités en sommeil (Ordonnanceur). */
+        REVEILS,
+        /** Tirage et arrosage de la pluie. */
+        PLUIE,
+        /** Tour de chaque case : plantes, animaux, déplacements. */
+        TOURS,
+        /** Collecte de la production animale. */
+        PRODUCTION,
+        /** Comptage des vivants et des décès. */
+        COMPTAGE,
+        /** Retrait des entités mortes. */
+        NETTOYAGE,
+        /** Rapport journalier (quand les événements sont affichés). */
+        RAPPORT,
+        /** Fin de saison : récolte, ventes, bilan. */
+        CLOTURE_SAISON,
+        /** Début de saison : replacement et reproduction des animaux. */
+        DEBUT_SAISON
+    }
+
+    /** Ne mesure rien. */
+    Telemetrie AUCUNE = new Telemetrie() {
+        @Override
+        public void enregistrer(MesureJour mesure) {
+        }
+
+        @Override
+        public boolean estActive() {
+            return false;
+        }
+    };
+
+    /**
+     * -reçoit les mesures d'une journée terminée.
+     * -la mesure est réutilisée le lendemain : en copier les valeurs, ne pas la conserver.
+     * @param mesure mesures de la journée
+     */
+    void enregistrer(MesureJour mesure);
+
+    /**
+     * @return vrai si les journées doivent être mesurées
+     */
+    default boolean estActive() {
+        return true;
+    }
+
+    /**
+     * -combine deux destinations : chaque mesure est transmise aux deux.
+     * @param autre seconde destination
+     * @return une télémétrie active si l'une des deux l'est
+     * @throws IllegalArgumentException si autre est null
+     */
+    default Telemetrie et(Telemetrie autre)
+    {
+        if (autre == null)
+            throw new IllegalArgumentException("Télémétrie non fournie");
+        Telemetrie premiere = this;
+        return new Telemetrie() {
+            @Override
+            public void enregistrer(MesureJour mesure) {
+                if (premiere.estActive()) premiere.enregistrer(mesure);
+                if (autre.estActive()) autre.enregistrer(mesure);
+            }
+
+            @Override
+            public boolean estActive() {
+                return premiere.estActive() || autre.estActive();
+            }
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package gestion;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * -publie la télémétrie d'un Jeu par JMX (jconsole, VisualVM...) sous le nom
+ *  « fermeAuto:type=Telemetrie,name=... ».
+ * -la simulation écrit, les clients JMX lisent depuis leurs propres threads : l'état
+ *  est protégé par le verrou de l'objet.
+ */
+public class TelemetrieJmx implements Telemetrie, TelemetrieMXBean
+{
+    private static final Telemetrie.Phase[] PHASES = Telemetrie.Phase.values();
+
+    private final ObjectName nomJmx;
+
+    private int jour;
+    private final long[] dureesDernierJour = new long[PHASES.length];
+    private final long[] dureesCumulees = new long[PHASES.length];
+    private long nbJours;
+    private int nbAnimaux;
+    private int nbPlantes;
+    private long naissances;
+    private long morts;
+    private long naissancesCumulees;
+    private long mortsCumulees;
+    private long octets;
+
+    /**
+     * -crée la télémétrie et l'enregistre auprès du serveur JMX de la plateforme.
+     * @param nom nom distinguant cette simulation des autres (ex : "principale")
+     * @throws IllegalArgumentException si le nom est vide ou déjà enregistré
+     */
+    public TelemetrieJmx(String nom)
+    {
+        if (nom == null || nom.isEmpty())
+            throw new IllegalArgumentException("Nom de télémétrie invalide : " + nom);
+        try {
+            nomJmx = new ObjectName("fermeAuto:type=Telemetrie,name=" + ObjectName.quote(nom));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, nomJmx);
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Enregistrement JMX impossible : " + nom, e);
+        }
+    }
+
+    /**
+     * -retire la télémétrie du serveur JMX (sans effet si elle n'y est plus).
+     */
+    public void desenregistrer()
+    {
+        MBeanServer serveur = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (serveur.isRegistered(nomJmx)) serveur.unregisterMBean(nomJmx);
+        } catch (JMException e) {
+            throw new IllegalStateException("Désenregistrement JMX impossible : " + nomJmx, e);
+        }
+    }
+
+    /**
+     * @return le nom sous lequel la télémétrie est publiée
+     */
+    public ObjectName getNomJmx() {
+        return nomJmx;
+    }
+
+    @Override
+    public synchronized void enregistrer(MesureJour mesure)
+    {
+        jour = mesure.getJour();
+        for (Telemetrie.Phase p : PHASES) {
+            long d = mesure.getDuree(p);
+            dureesDernierJour[p.ordinal()] = d;
+            dureesCumulees[p.ordinal()] += d;
+        }
+        nbJours++;
+        nbAnimaux = mesure.getNbAnimaux();
+        nbPlantes = mesure.getNbPlantes();
+        naissances = mesure.getNaissances();
+        morts = mesure.getMorts();
+        naissancesCumulees += naissances;
+        mortsCumulees += morts;
+        octets = mesure.getOctetsAlloues();
+    }
+
+    @Override
+    public synchronized int getJour() { return jour; }
+
+    @Override
+    public synchronized Map<String, Long> getDureesDernierJour() { return parPhase(dureesDernierJour); }
+
+    @Override
+    public synchronized long getDureeDernierJour()
+    {
+        long total = 0;
+        for (long d : dureesDernierJour) total += d;
+        return total;
+    }
+
+    @Override
+    public synchronized Map<String, Long> getDureesCumulees() { return parPhase(dureesCumulees); }
+
+    @Override
+    public synchronized long getNbJours() { return nbJours; }
+
+    @Override
+    public synchronized int getNbAnimaux() { return nbAnimaux; }
+
+    @Override
+    public synchronized int getNbPlantes() { return nbPlantes; }
+
+    @Override
+    public synchronized long getNaissancesDernierJour() { return naissances; }
+
+    @Override
+    public synchronized long getMortsDernierJour() { return morts; }
+
+    @Override
+    public synchronized long getNaissancesCumulees() { return naissancesCumulees; }
+
+    @Override
+    public synchronized long getMortsCumulees() { return mortsCumulees; }
+
+    @Override
+    public synchronized long getOctetsAllouesDernierJour() { return octets; }
+
+    @Override
+    public synchronized void reinitialiser()
+    {
+        Arrays.fill(dureesCumulees, 0);
+        nbJours = 0;
+        naissancesCumulees = 0;
+        mortsCumulees = 0;
+    }
+
+    private static Map<String, Long> parPhase(long[] durees)
+    {
+        Map<String, Long> m = new LinkedHashMap<>();
+        for (Telemetrie.Phase p : PHASES) m.put(p.name(), durees[p.ordinal()]);
+        return m;
+    }
+}
@@ -0,0 +1,52 @@
+package gestion;
+
+import java.util.Map;
+
+/**
+ * -attributs JMX de la télémétrie d'un Jeu (voir TelemetrieJmx) : dernière journée
+ *  mesurée et cumuls depuis l'enregistrement.
+ * -les durées sont en nanosecondes, rangées par nom de phase.
+ */
+public interface TelemetrieMXBean
+{
+    /** @return le numéro de la dernière journée mesurée (0 si aucune) */
+    int getJour();
+
+    /** @return la durée de chaque phase de la dernière journée */
+    Map<String, Long> getDureesDernierJour();
+
+    /** @return la durée totale de la dernière journée */
+    long getDureeDernierJour();
+
+    /** @return la durée cumulée de chaque phase */
+    Map<String, Long> getDureesCumulees();
+
+    /** @return le nombre de journées mesurées */
+    long getNbJours();
+
+    /** @return le nombre d'animaux en fin de dernière journée */
+    int getNbAnimaux();
+
+    /** @return le nombre de plantes en fin de dernière journée */
+    int getNbPlantes();
+
+    /** @return les naissances de la dernière journée */
+    long getNaissancesDernierJour();
+
+    /** @return les morts de la dernière journée */
+    long getMortsDernierJour();
+
+    /** @return les naissances cumulées */
+    long getNaissancesCumulees();
+
+    /** @return les morts cumulées */
+    long getMortsCumulees();
+
+    /** @return les octets alloués pendant la dernière journée (-1 si inconnu) */
+    long getOctetsAllouesDernierJour();
+
+    /**
+     * -remet les cumuls à zéro.
+     */
+    void reinitialiser();
+}
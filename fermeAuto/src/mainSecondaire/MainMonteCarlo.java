@@ -0,0 +1,41 @@
+package mainSecondaire;
+
+import java.util.concurrent.ForkJoinPool;
+
+import gestion.EnsembleMonteCarlo;
+import gestion.Jeu;
+import gestion.Magasin;
+import modele.Ferme;
+
+/**
+ * Lance un ensemble de simulations sans affichage et écrit, au fil des exécutions
+ * terminées, une ligne JSON résumant chaque saison (moyenne, intervalle de
+ * confiance, percentiles du budget, des ventes et des effectifs).
+ * Arguments (facultatifs) : nombre d'exécutions (100), nombre de jours (360),
+ * taille de la ferme (6), graine maîtresse (1), nombre de threads (tous les
+ * processeurs), exécutions entre deux résumés (un dixième de l'ensemble).
+ * Chaque ferme est remplie comme dans MainSansAffichage.
+ */
+public class MainMonteCarlo {
+
+    public static void main(String[] args) {
+        int nbExecutions = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int nbJours      = args.length > 1 ? Integer.parseInt(args[1]) : 360;
+        int taille       = args.length > 2 ? Integer.parseInt(args[2]) : Ferme.TAILLE_DEFAUT;
+        long graine      = args.length > 3 ? Long.parseLong(args[3]) : 1;
+        int threads      = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        int publierTous  = args.length > 5 ? Integer.parseInt(args[5]) : Math.max(1, nbExecutions / 10);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            EnsembleMonteCarlo ensemble = new EnsembleMonteCarlo(g -> {
+                Ferme ferme = new Ferme(taille, g);
+                MainSansAffichage.remplir(ferme);
+                return new Jeu(ferme, new Magasin(ferme));
+            }, nbJours, pool);
+            ensemble.executer(graine, nbExecutions, publierTous, r -> System.out.println(r.enJson()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package mainSecondaire;
+
+import java.util.concurrent.ForkJoinPool;
+
+import entite.Ble;
+import entite.Poule;
+import entite.Tomate;
+import entite.Vache;
+import gestion.ExecutionSansAffichage;
+import gestion.Jeu;
+import gestion.Magasin;
+import gestion.MoteurParallele;
+import modele.Ferme;
+import modele.Position;
+
+/**
+ * Lance une simulation sans affichage et écrit un bilan JSON par saison.
+ * Arguments (facultatifs) : nombre de jours (120), taille de la ferme (6),
+ * graine du hasard (quelconque si absente), nombre de threads du moteur
+ * parallèle (0 ou absent : déroulement séquentiel).
+ * La ferme est remplie en répétant, par blocs de 6×6, le placement du Main de test.
+ */
+public class MainSansAffichage {
+
+    public static void main(String[] args) {
+        int nbJours = args.length > 0 ? Integer.parseInt(args[0]) : 120;
+        int taille  = args.length > 1 ? Integer.parseInt(args[1]) : Ferme.TAILLE_DEFAUT;
+
+        Ferme ferme = args.length > 2 ? new Ferme(taille, Long.parseLong(args[2])) : new Ferme(taille);
+        Magasin magasin = new Magasin(ferme);
+        remplir(ferme);
+        Jeu jeu = new Jeu(ferme, magasin);
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        if (threads > 0) {
+            jeu.setMoteurParallele(new MoteurParallele(new ForkJoinPool(threads)));
+        }
+
+        new ExecutionSansAffichage(ferme, jeu, System.out).executer(nbJours);
+    }
+
+    /**
+     * Place animaux, plantes, fertilisant et puits dans chaque bloc 6×6 complet
+     * (sans passer par le magasin, donc sans limite de budget).
+     */
+    static void remplir(Ferme ferme) {
+        int taille = ferme.getTaille();
+        for (int bx = 0; bx + 6 <= taille; bx += 6) {
+            for (int by = 0; by + 6 <= taille; by += 6) {
+                ferme.ajouterAnimal(new Position(bx + 1, by + 1), new Poule(new Position(bx + 1, by + 1)));
+                ferme.ajouterAnimal(new Position(bx + 1, by + 2), new Poule(new Position(bx + 1, by + 2)));
+                ferme.ajouterAnimal(new Position(bx + 2, by + 1), new Vache(new Position(bx + 2, by + 1)));
+                ferme.ajouterAnimal(new Position(bx + 2, by + 2), new Vache(new Position(bx + 2, by + 2)));
+                ferme.ajouterPlante(new Position(bx + 3, by + 3), new Tomate(new Position(bx + 3, by + 3)));
+                ferme.ajouterPlante(new Position(bx + 3, by + 4), new Tomate(new Position(bx + 3, by + 4)));
+                ferme.ajouterPlante(new Position(bx + 4, by + 3), new Ble(new Position(bx + 4, by + 3)));
+                ferme.ajouterPlante(new Position(bx + 4, by + 4), new Ble(new Position(bx + 4, by + 4)));
+                for (int[] f : new int[][] {{1, 1}, {1, 2}, {2, 1}, {2, 2}, {3, 3}, {3, 4}, {4, 3}, {4, 4}}) {
+                    ferme.poserFertilisant(new Position(bx + f[0], by + f[1]), 50);
+                }
+                ferme.construirePuits(new Position(bx, by));
+                ferme.construirePuits(new Position(bx + 5, by + 5));
+            }
+        }
+    }
+}
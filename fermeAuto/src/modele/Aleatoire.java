@@ -0,0 +1,103 @@
+package modele;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * -source de hasard d'une simulation, construite à partir d'une graine.
+ * -deux simulations de même graine (et mêmes actions) donnent le même résultat.
+ * -le flux principal sert aux tirages globaux (pluie, replacement des animaux) ;
+ *  chaque animal reçoit son propre flux dérivé, pour ne pas dépendre de l'ordre
+ *  dans lequel les animaux sont mis à jour.
+ * -les flux sont des Flux (tirages de SplittableRandom, état sauvegardable).
+ * -n'est pas thread-safe : une instance par simulation.
+ */
+public final class Aleatoire
+{
+    private final long graine;
+    private final Flux principal;
+
+    /**
+     * -crée une source de hasard à graine quelconque (non reproductible).
+     */
+    public Aleatoire() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * -crée une source de hasard reproductible.
+     * @param graine graine maîtresse de la simulation
+     */
+    public Aleatoire(long graine) {
+        this(graine, new Flux(graine));
+    }
+
+    /**
+     * -reprend une source de hasard sauvegardée.
+     * @param graine graine maîtresse d'origine
+     * @param principal flux principal dans son état sauvegardé
+     */
+    Aleatoire(long graine, Flux principal) {
+        this.graine = graine;
+        this.principal = principal;
+    }
+
+    /**
+     * @return la graine maîtresse
+     */
+    public long getGraine() {
+        return graine;
+    }
+
+    /**
+     * @return le flux principal (pour le sauvegarder)
+     */
+    Flux getPrincipal() {
+        return principal;
+    }
+
+    /**
+     * @return un réel uniforme dans [0, 1) tiré du flux principal
+     */
+    public double nextDouble() {
+        return principal.nextDouble();
+    }
+
+    /**
+     * @param borne borne exclusive (> 0)
+     * @return un entier uniforme dans [0, borne) tiré du flux principal
+     */
+    public int nextInt(int borne) {
+        return principal.nextInt(borne);
+    }
+
+    /**
+     * -crée un flux indépendant (pour un animal par exemple).
+     * @return un nouveau générateur dérivé du flux principal
+     */
+    public Flux nouveauFlux() {
+        return principal.split();
+    }
+
+    /**
+     * -mélange une liste sur place (Fisher-Yates) avec le flux principal.
+     * @param liste la liste à mélanger
+     */
+    public void melanger(List<?> liste) {
+        melanger(liste, principal);
+    }
+
+    /**
+     * -mélange une liste sur place (Fisher-Yates) avec le générateur donné.
+     * @param liste la liste à mélanger
+     * @param flux le générateur à utiliser
+     */
+    public static <T> void melanger(List<T> liste, Flux flux) {
+        for (int i = liste.size() - 1; i > 0; i--) {
+            int j = flux.nextInt(i + 1);
+            T tmp = liste.get(i);
+            liste.set(i, liste.get(j));
+            liste.set(j, tmp);
+        }
+    }
+}
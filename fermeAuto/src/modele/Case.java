@@ -1,5 +1,7 @@
 package modele;
 
+import java.util.function.Supplier;
+
 import entite.Animal;
 import entite.Plante;
 
@@ -8,65 +10,97 @@ import entite.Plante;
  * -représente une case de la ferme.
  * -elle contient de l'eau, du fertilisant, et peut accueillir un puits.
  * -on peut acceder aux plantes et aux animaux sur la case
+ * -une Case est une vue légère : son état est stocké dans les tableaux de la Ferme.
  */
 public class Case 
 {
 
-    private final Position position; // la position (x, y) de la case
-    private double eauDispo;         // eau disponible pour les plantes
-    private double fertilisant;      // fertilisant disponible pour les plantes
-    private Puit puit;		        // puits construit sur cette case
-    private Ferme ferme;             // référence vers la ferme entière
-    private Plante plante;  		// ref vers la plante si il y'a
-    private Animal animal ;
+    private final Ferme ferme;       // référence vers la ferme entière (stockage)
+    private int x, y;                // coordonnées de la case
+    private int indice;              // indice de la case dans les tableaux de la ferme
+    private Position position;       // la position (x, y), créée à la demande
     
     
     /**
-     * -crée une nouvelle case à la position donnée.
-     * -initialement, elle est vide : pas d'eau, pas de fertilisant, pas de puits.
+     * -crée une vue sur la case à la position donnée.
      *
-     * @param position la position de la case dans la grille
      * @param ferme la ferme à laquelle appartient cette case
+     * @param position la position de la case dans la grille
      */
-    public Case(Position position, Ferme ferme) 
+    Case(Ferme ferme, Position position) 
     {
         if (position == null)
             throw new IllegalArgumentException("position nulle ?");
         if (ferme == null)
         	throw new IllegalArgumentException("ferme nulle ?");
+        this.ferme = ferme;
+        placer(position.getX(), position.getY());
         this.position = position;
+    }
+
+    /**
+     * -crée une vue sur la case (x, y).
+     */
+    Case(Ferme ferme, int x, int y) 
+    {
+        if (ferme == null)
+        	throw new IllegalArgumentException("ferme nulle ?");
         this.ferme = ferme;
-        this.eauDispo = 0.0;
-        this.fertilisant = 0.0;
-        this.puit = null;
+        placer(x, y);
+    }
+
+    /**
+     * -déplace la vue sur la case (x, y) ; sert de curseur aux parcours de Ferme.
+     */
+    void placer(int x, int y) 
+    {
+        this.x = x;
+        this.y = y;
+        this.indice = ferme.indice(x, y);
+        this.position = null;
     }
 
     /**
      * @return la position (x, y) de la case
      */
     public Position getPosition() {
+        if (position == null) position = new Position(x, y);
         return position;
     }
 
+    /**
+     * @return la coordonnée x de la case (sans créer de Position)
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * @return la coordonnée y de la case (sans créer de Position)
+     */
+    public int getY() {
+        return y;
+    }
+
     /**
      * @return la quantité d'eau disponible sur la case
      */
     public double getEauDisponible() {
-        return eauDispo;
+        return ferme.eau[indice];
     }
 
     /**
      * @return la quantité de fertilisant disponible sur la case
      */
     public double getFertilisant() {
-        return fertilisant;
+        return ferme.fertilisant[indice];
     }
 
     /**
      * @return vrai si un puits est construit sur cette case
      */
     public boolean aUnPuits() {
-    	return puit != null;
+    	return ferme.puits[indice];
     }
 
     /**
@@ -74,7 +108,7 @@ public class Case
      * @param quantite la quantité d’eau à ajouter (doit être > 0)
      */
     public void ajouterEau(double quantite) {
-        if (quantite > 0) eauDispo += quantite;
+        if (quantite > 0) ferme.eau[indice] += quantite;
     }
 
     /**
@@ -82,40 +116,32 @@ public class Case
      * @param quantite la quantité à ajouter (doit être > 0)
      */
     public void ajouterFertilisant(double quantite) {
-        if (quantite > 0) fertilisant += quantite;
+        if (quantite > 0) ferme.fertilisant[indice] += quantite;
     }
 
     /**
      * -construit un puits sur la case.
      */
     public void construirePuits() {
-        this.puit = new Puit();
+        ferme.placerPuits(x, y, true);
     }
 
     /**
      * -détruit le puits s'il y en a un sur la case.
      */
     public void detruirePuits() {
-        this.puit = null;
+        ferme.placerPuits(x, y, false);
     }
 
     /**
-     * -vérifie si un puits est présent sur une des 4 cases voisines.
+     * -vérifie si un puits irrigue cette case : par défaut, un puits sur une des
+     *  4 cases voisines (voir Ferme.setRayonIrrigation).
+     * -lecture directe de la couverture tenue à jour par la ferme.
      * @return vrai si un puits est à côté
      */
     public boolean puitsAutour() 
     {
-        int x = position.getX();
-        int y = position.getY();
-        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
-
-        for (int[] dir : directions) {
-            Position voisine = Position.dansGrille(x + dir[0], y + dir[1]);
-            if (voisine != null && ferme.getCase(voisine).aUnPuits()) {
-                return true;
-            }
-        }
-        return false;
+        return ferme.couverturePuits[indice] > 0;
     }
 
 
@@ -124,7 +150,7 @@ public class Case
      * @return vrai si eau présente ou puits à côté
      */
     public boolean plantePeutBoire() {
-        return eauDispo > 0 || puitsAutour();
+        return ferme.eau[indice] > 0 || puitsAutour();
     }
 
     /**
@@ -141,7 +167,7 @@ public class Case
      * @return la plante  la case (ou null si vide)
      */
     public Plante getPlante() {
-        return plante;
+        return ferme.plantes[indice];
     }
 
     /**
@@ -149,14 +175,21 @@ public class Case
      * @param p la plante à placer
      */
     public void setPlante(Plante p) {
-        this.plante = p;
+        ferme.poserPlante(indice, p);
+    }
+
+    /**
+     * @return vrai si la plante de la case est en sommeil (voir Ferme.endormirPlante)
+     */
+    public boolean planteEndormie() {
+        return ferme.planteEndormie(indice);
     }
 
     /**
      * @return l’animal présent sur la case (ou null)
      */
     public Animal getAnimal() {
-        return animal;
+        return ferme.animaux[indice];
     }
 
     /**
@@ -164,7 +197,23 @@ public class Case
      * @param a l’animal à ajouter
      */
     public void setAnimal(Animal a) {
-        this.animal = a;
+        ferme.poserAnimal(indice, a);
+    }
+
+    /**
+     * -enregistre la mort de l'animal de la case dans les effectifs de la ferme.
+     * @param a l'animal qui vient de mourir
+     */
+    public void noterMort(Animal a) {
+        ferme.noterMort(indice, a);
+    }
+
+    /**
+     * -enregistre la mort de la plante de la case dans les effectifs de la ferme.
+     * @param p la plante qui vient de mourir
+     */
+    public void noterMort(Plante p) {
+        ferme.noterMort(indice, p);
     }
     
     
@@ -177,7 +226,9 @@ public class Case
     @Override
     public String toString() 
     {
-        return "Case " + position + " [Eau=" + eauDispo + "L, Fertilisant=" + fertilisant +
+        Plante plante = getPlante();
+        Animal animal = getAnimal();
+        return "Case " + getPosition() + " [Eau=" + getEauDisponible() + "L, Fertilisant=" + getFertilisant() +
                 "g, Puits=" + aUnPuits() + ", Plante=" + ((plante != null ? plante.getNom() : "aucune")
 ) +
                 ", Animal=" + (animal != null ? animal.getNom() : "aucun") + "]";
@@ -185,22 +236,33 @@ public class Case
     
     
     /**
-     * -met à jour la plante et l’animal présents sur cette case si ils sont vivants.
+     * -met à jour la plante et l’animal présents sur cette case si ils sont vivants
+     *  (une plante en sommeil, voir Ferme.endormirPlante, ne joue pas).
      * -à appeler une fois par jour.
      */
     public void maj(Saison saison) 
     {
-        if (plante != null && plante.estVivante()) {
+        Plante plante = getPlante();
+        if (plante != null && plante.estVivante() && !planteEndormie()) {
             plante.tourSuivant(this, saison);
         }
+        Animal animal = getAnimal();
         if (animal != null && animal.estVivant()) {
-            animal.tourSuivant(ferme, saison);
+            animal.tourSuivant(ferme, this, saison);
         }
     }
     
+    /**
+     * -transmet un message aux événements de la ferme de cette case.
+     * @param message fabrique du texte du message
+     */
+    public void signaler(Supplier<String> message) {
+        ferme.signaler(message);
+    }
+
     /** Avoir l'eau disponible pour la case. */
     public double getEau() {
-        return eauDispo;
+        return ferme.eau[indice];
     }
     
     
@@ -0,0 +1,138 @@
+package modele;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * -ensemble d'indices de cases rangés dans un tableau dense, sans ordre particulier.
+ * -ajout en fin de tableau, retrait par échange avec le dernier élément : chaque
+ *  opération se fait en temps constant grâce au rang de chaque case dans le tableau.
+ * -l'ensemble est aussi tenu sous forme de bits, un par case, rangés dans l'ordre de
+ *  parcours de la ferme (colonne par colonne, rang x*taille+y) : suivante y trouve la
+ *  prochaine case présente sans trier ni copier le tableau.
+ * -les opérations qui modifient l'ensemble ne sont pas sûres entre threads, sauf
+ *  deplacer pour des cases distinctes.
+ */
+final class CasesDenses
+{
+    // accès atomique aux mots de bits, pour deplacer depuis plusieurs threads
+    private static final VarHandle MOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private int[] cases = new int[16];
+    private int nb;
+    private final int[] rang; // rang de chaque case dans cases (-1 : absente)
+    private final long[] presence; // bit x*taille+y : case (x, y) présente
+    private final int taille;
+
+    /**
+     * @param taille nombre de cases par côté de la grille
+     */
+    CasesDenses(int taille) {
+        int n = taille * taille;
+        this.taille = taille;
+        this.rang = new int[n];
+        this.presence = new long[(n + 63) >>> 6];
+        Arrays.fill(rang, -1);
+    }
+
+    /** @return le nombre de cases de l'ensemble */
+    int taille() { return nb; }
+
+    /** @return la i-ème case du tableau (0 <= i < taille()) */
+    int get(int i) { return cases[i]; }
+
+    boolean contient(int k) { return rang[k] >= 0; }
+
+    /**
+     * -ajoute la case k si elle n'y est pas déjà.
+     */
+    void ajouter(int k)
+    {
+        if (rang[k] >= 0) return;
+        if (nb == cases.length) cases = Arrays.copyOf(cases, 2 * nb);
+        rang[k] = nb;
+        cases[nb++] = k;
+        int b = bit(k);
+        presence[b >>> 6] |= 1L << b;
+    }
+
+    /**
+     * -retire la case k si elle y est : la dernière case prend sa place.
+     */
+    void retirer(int k)
+    {
+        int r = rang[k];
+        if (r < 0) return;
+        int derniere = cases[--nb];
+        cases[r] = derniere;
+        rang[derniere] = r;
+        rang[k] = -1;
+        int b = bit(k);
+        presence[b >>> 6] &= ~(1L << b);
+    }
+
+    /**
+     * -remplace la case d (présente) par la case v (absente), au même rang.
+     */
+    void deplacer(int d, int v)
+    {
+        int r = rang[d];
+        rang[d] = -1;
+        rang[v] = r;
+        cases[r] = v;
+        // deux cases distinctes peuvent partager un mot de bits
+        int b = bit(d);
+        MOTS.getAndBitwiseAnd(presence, b >>> 6, ~(1L << b));
+        b = bit(v);
+        MOTS.getAndBitwiseOr(presence, b >>> 6, 1L << b);
+    }
+
+    /**
+     * -retire toutes les cases.
+     */
+    void vider()
+    {
+        for (int i = 0; i < nb; i++) rang[cases[i]] = -1;
+        nb = 0;
+        Arrays.fill(presence, 0);
+    }
+
+    /**
+     * -copie les cases de l'ensemble dans t à partir de debut.
+     */
+    void copier(int[] t, int debut)
+    {
+        System.arraycopy(cases, 0, t, debut, nb);
+    }
+
+    /**
+     * -cherche, dans l'ordre de parcours, la première case présente dans a ou dans b
+     *  entre les rangs debut et fin (x*taille+y), en lisant 64 cases à la fois.
+     * @param a ensemble de cases (même grille que b)
+     * @param b ensemble de cases
+     * @param debut premier rang examiné (>= 0)
+     * @param fin dernier rang examiné (< taille*taille)
+     * @return le rang de cette case, ou -1 s'il n'y en a pas
+     */
+    static int suivante(CasesDenses a, CasesDenses b, int debut, int fin)
+    {
+        if (debut > fin) return -1;
+        long[] pa = a.presence, pb = b.presence;
+        int i = debut >>> 6, dernier = fin >>> 6;
+        long mot = (pa[i] | pb[i]) & (-1L << debut);
+        while (mot == 0) {
+            if (++i > dernier) return -1;
+            mot = pa[i] | pb[i];
+        }
+        int r = (i << 6) + Long.numberOfTrailingZeros(mot);
+        return r <= fin ? r : -1;
+    }
+
+    /**
+     * @return le rang de la case k (indice y*taille+x) dans l'ordre de parcours
+     */
+    private int bit(int k) {
+        return k % taille * taille + k / taille;
+    }
+}
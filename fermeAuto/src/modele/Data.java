@@ -19,11 +19,24 @@ public class Data
 {
     
 	public static Properties chargerFichier(String nomFichier) 
+	{
+	    return chargerFichier(nomFichier, Evenements.AUCUN);
+	}
+
+	/**
+	 * Charge un fichier de configuration en signalant le chargement.
+	 * @param nomFichier nom du fichier sur le classpath
+	 * @param evenements destination des messages de chargement
+	 * @return les Properties chargées (vides si le fichier est introuvable)
+	 */
+	public static Properties chargerFichier(String nomFichier, Evenements evenements) 
 	{
 	    Properties props = new Properties();
 	    try (InputStream input = Data.class.getClassLoader().getResourceAsStream(nomFichier)) {
-	        System.out.println("Chargement de : " + nomFichier);
-	        System.out.println("Trouvé ? " + (input != null));
+	        if (evenements.estActif()) {
+	            evenements.signaler("Chargement de : " + nomFichier);
+	            evenements.signaler("Trouvé ? " + (input != null));
+	        }
 	        if (input == null) {
 	            return props; // fichier non trouvé
 	        }
@@ -0,0 +1,134 @@
+package modele;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * -caractéristiques d'une espèce (animal ou plante) lues dans son fichier .properties.
+ * -chaque fichier n'est lu et analysé qu'une seule fois : la définition est immuable
+ *  et partagée par toutes les instances de l'espèce.
+ * -les clés absentes du fichier valent 0 (une plante n'a pas de nourritureParJour...).
+ */
+public final class DefinitionEspece
+{
+    /** Définitions déjà chargées, par nom de fichier. */
+    private static final Map<String, DefinitionEspece> REGISTRE = new ConcurrentHashMap<>();
+
+    private final String nom;
+    private final int id;
+    private final int prix;
+    private final double eauParJour;
+    private final double capEau;
+    private final int malusSoif;
+    private final int malusFaim;
+
+    // Animaux
+    private final double nourritureParJour;
+    private final double capNourriture;
+    private final double production;
+    private final int esperanceVie;
+    private final int fertilisantParJour;
+    private final double probaReproduction;
+
+    // Plantes
+    private final double calInit;
+    private final int fertParJour;
+    private final double croissance;
+
+    private DefinitionEspece(Properties p)
+    {
+        this.nom = p.getProperty("nom");
+        this.id = Nomenclature.id(nom);
+        this.prix = Integer.parseInt(p.getProperty("prix", "0"));
+        this.eauParJour = lire(p, "eauParJour");
+        this.capEau = lire(p, "capEau");
+        this.malusSoif = Integer.parseInt(p.getProperty("malusSoif", "0"));
+        this.malusFaim = Integer.parseInt(p.getProperty("malusFaim", "0"));
+
+        this.nourritureParJour = lire(p, "nourritureParJour");
+        this.capNourriture = lire(p, "capNourriture");
+        this.production = lire(p, "production");
+        this.esperanceVie = Integer.parseInt(p.getProperty("esperanceVie", "0"));
+        this.fertilisantParJour = Integer.parseInt(p.getProperty("fertilisantParJour", "0"));
+        this.probaReproduction = lire(p, "probaReproduction");
+
+        this.calInit = lire(p, "calInit");
+        this.fertParJour = Integer.parseInt(p.getProperty("fertParJour", "0"));
+        // croissance fixe de tomate ou croissance en pourcentage blé
+        if (p.getProperty("croissance") != null) {
+            this.croissance = lire(p, "croissance");
+        } else {
+            this.croissance = lire(p, "croissancePourcent");
+        }
+    }
+
+    private static double lire(Properties p, String cle) {
+        return Double.parseDouble(p.getProperty(cle, "0"));
+    }
+
+    /**
+     * -renvoie la définition contenue dans un fichier, en la chargeant au premier appel.
+     * @param nomFichier nom du fichier .properties (ex : "poule.properties")
+     * @return la définition partagée de l'espèce
+     * @throws IllegalArgumentException si le fichier est introuvable ou vide
+     */
+    public static DefinitionEspece charger(String nomFichier)
+    {
+        return REGISTRE.computeIfAbsent(nomFichier, f -> {
+            Properties p = Data.chargerFichier(f);
+            if (p.isEmpty())
+                throw new IllegalArgumentException("Espèce inconnue : " + f);
+            return new DefinitionEspece(p);
+        });
+    }
+
+    /**
+     * -renvoie la définition d'une espèce d'après son nom.
+     * @param espece nom de l'espèce, quelle que soit la casse (ex : "Poule", "ble")
+     * @return la définition partagée de l'espèce
+     * @throws IllegalArgumentException si l'espèce est inconnue
+     */
+    public static DefinitionEspece pour(String espece)
+    {
+        return charger(espece.toLowerCase() + ".properties");
+    }
+
+    public String getNom() { return nom; }
+
+    /** @return l'identifiant de l'espèce dans la Nomenclature */
+    public int getId() { return id; }
+
+    public int getPrix() { return prix; }
+
+    public double getEauParJour() { return eauParJour; }
+
+    public double getCapEau() { return capEau; }
+
+    public int getMalusSoif() { return malusSoif; }
+
+    public int getMalusFaim() { return malusFaim; }
+
+    public double getNourritureParJour() { return nourritureParJour; }
+
+    public double getCapNourriture() { return capNourriture; }
+
+    public double getProduction() { return production; }
+
+    public int getEsperanceVie() { return esperanceVie; }
+
+    public int getFertilisantParJour() { return fertilisantParJour; }
+
+    public double getProbaReproduction() { return probaReproduction; }
+
+    public double getCalInit() { return calInit; }
+
+    public int getFertParJour() { return fertParJour; }
+
+    public double getCroissance() { return croissance; }
+
+    @Override
+    public String toString() {
+        return "DefinitionEspece[" + nom + "]";
+    }
+}
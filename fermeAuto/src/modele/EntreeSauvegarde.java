@@ -0,0 +1,157 @@
+package modele;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * -lecture séquentielle d'un fichier écrit par SortieSauvegarde, à travers des
+ *  fenêtres projetées en mémoire ; les colonnes sont recopiées en bloc.
+ */
+public final class EntreeSauvegarde implements AutoCloseable
+{
+    private static final int FENETRE = 64 << 20;
+
+    private final FileChannel canal;
+    private final long taille;
+    private MappedByteBuffer tampon;
+    private long debutTampon;
+
+    /**
+     * @param fichier chemin du fichier
+     * @throws IOException si le fichier ne peut pas être ouvert
+     */
+    public EntreeSauvegarde(Path fichier) throws IOException
+    {
+        canal = FileChannel.open(fichier, StandardOpenOption.READ);
+        taille = canal.size();
+        projeter(0);
+    }
+
+    public int lireOctet() throws IOException { assurer(1); return tampon.get(); }
+
+    public boolean lireBooleen() throws IOException { return lireOctet() != 0; }
+
+    public int lireInt() throws IOException { assurer(4); return tampon.getInt(); }
+
+    public long lireLong() throws IOException { assurer(8); return tampon.getLong(); }
+
+    public double lireDouble() throws IOException { assurer(8); return tampon.getDouble(); }
+
+    public String lireTexte() throws IOException
+    {
+        int n = lireTaille();
+        byte[] octets = new byte[n];
+        lireOctets(octets, 0, n);
+        return new String(octets, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * -lit un nombre d'éléments et vérifie qu'il est plausible.
+     * @throws IOException s'il est négatif ou dépasse la taille du fichier
+     */
+    public int lireTaille() throws IOException
+    {
+        int n = lireInt();
+        if (n < 0 || n > taille)
+            throw new IOException("Sauvegarde invalide : taille " + n);
+        return n;
+    }
+
+    public void lireOctets(byte[] t, int debut, int n) throws IOException
+    {
+        while (n > 0) {
+            assurer(1);
+            int k = Math.min(n, tampon.remaining());
+            tampon.get(t, debut, k);
+            debut += k;
+            n -= k;
+        }
+    }
+
+    public void lireBooleens(boolean[] t, int debut, int n) throws IOException
+    {
+        while (n > 0) {
+            assurer(1);
+            int k = Math.min(n, tampon.remaining());
+            for (int i = 0; i < k; i++) t[debut + i] = tampon.get() != 0;
+            debut += k;
+            n -= k;
+        }
+    }
+
+    public void lireInts(int[] t, int debut, int n) throws IOException
+    {
+        while (n > 0) {
+            assurer(4);
+            int k = Math.min(n, tampon.remaining() / 4);
+            tampon.asIntBuffer().get(t, debut, k);
+            tampon.position(tampon.position() + 4 * k);
+            debut += k;
+            n -= k;
+        }
+    }
+
+    public void lireLongs(long[] t, int debut, int n) throws IOException
+    {
+        while (n > 0) {
+            assurer(8);
+            int k = Math.min(n, tampon.remaining() / 8);
+            tampon.asLongBuffer().get(t, debut, k);
+            tampon.position(tampon.position() + 8 * k);
+            debut += k;
+            n -= k;
+        }
+    }
+
+    public void lireDoubles(double[] t, int debut, int n) throws IOException
+    {
+        while (n > 0) {
+            assurer(8);
+            int k = Math.min(n, tampon.remaining() / 8);
+            tampon.asDoubleBuffer().get(t, debut, k);
+            tampon.position(tampon.position() + 8 * k);
+            debut += k;
+            n -= k;
+        }
+    }
+
+    /**
+     * @return le nombre d'octets lus
+     */
+    public long getPosition() {
+        return debutTampon + tampon.position();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        tampon = null;
+        canal.close();
+    }
+
+    /**
+     * -garantit n octets à lire dans la fenêtre, en projetant la suivante si besoin.
+     * @throws EOFException si le fichier se termine avant
+     */
+    private void assurer(int n) throws IOException
+    {
+        if (tampon.remaining() >= n) return;
+        long pos = getPosition();
+        if (taille - pos < n)
+            throw new EOFException("Sauvegarde tronquée à l'octet " + pos);
+        projeter(pos);
+    }
+
+    private void projeter(long debut) throws IOException
+    {
+        debutTampon = debut;
+        tampon = canal.map(FileChannel.MapMode.READ_ONLY, debut, Math.min(FENETRE, taille - debut));
+        tampon.order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -1,31 +1,40 @@
 package modele;
 
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
- * -Entrepôt central qui stocke toutes les productions de nourriture par type (œuf, lait, blé, tomate, etc.) 
+ * -Entrepôt central qui stocke toutes les productions de nourriture par type (œuf, lait, blé, tomate, etc.)
  * -il fonctionne avec toutes les productions : plantes (Tomate, Ble) et animaux (Poule, Vache).
  * -Il permet de séparer les types pour des raisons graphiques, puis de vendre tout le stock à la fin de la saison.
- * pour ajouter “Miel” ou “Fromage”, il suffira de créer la sous-classe 
+ * pour ajouter “Miel” ou “Fromage”, il suffira de créer la sous-classe
  * + .properties + getter getNom(), et tout le reste fonctionne sans toucher à l’Entrepot ni à Jeu
+ * -le stock est rangé par identifiant de la Nomenclature ; les méthodes qui prennent un nom
+ *  de production passent par cet identifiant.
+ * -un seul thread modifie l'entrepôt (les journées parallèles cumulent leur production
+ *  par bande avant de la verser) ; les autres lisent un Releve.
  */
-public class Entrepot 
+public class Entrepot
 {
 
 
 
     /**
-     * -stock des calories par type de production.
+     * -stock des calories par identifiant de production.
      */
-    private final Map<String, Double> stock;
+    private double[] stock;
+
+    /** Incrémentée à chaque modification du stock. */
+    private long version;
+
+    /** Dernier relevé fourni, réutilisé tant que le stock n'a pas changé. */
+    private Releve releve;
 
     /**
      * -constructeur par défaut : entrepôt vide.
      */
     public Entrepot() {
-        this.stock = new HashMap<>();
+        this.stock = new double[Nomenclature.taille()];
     }
 
     /**
@@ -33,7 +42,8 @@ public class Entrepot
      * @param autre entrepôt à copier
      */
     public Entrepot(Entrepot autre) {
-        this.stock = new HashMap<>(autre.stock);
+        this.stock = autre.stock.clone();
+        this.version = autre.version;
     }
 
     /**
@@ -41,61 +51,146 @@ public class Entrepot
      * @param type nom de la production (ex : "Tomate", "Poule", ...)
      * @param calories quantité à ajouter
      */
-    public void ajouter(String type, double calories) 
+    public void ajouter(String type, double calories)
     {
         if (type == null || type.isEmpty()) {
             throw new IllegalArgumentException("Type de production invalide : " + type);
         }
+        ajouter(Nomenclature.id(type), calories);
+    }
+
+    /**
+     * ajoute des calories pour une production donnée, sans passer par son nom.
+     * @param produit identifiant de la production dans la Nomenclature
+     * @param calories quantité à ajouter
+     */
+    public void ajouter(int produit, double calories)
+    {
+        if (produit < 0) {
+            throw new IllegalArgumentException("Type de production invalide : " + produit);
+        }
         if (calories < 0) {
             throw new IllegalArgumentException("Calories négatives non autorisées : " + calories);
         }
-        stock.put(type, stock.getOrDefault(type, 0.0) + calories);
+        if (produit >= stock.length) {
+            stock = Arrays.copyOf(stock, Math.max(produit + 1, Nomenclature.taille()));
+        }
+        stock[produit] += calories;
+        version++;
     }
+
     /**
      * -calcule le total de calories toutes productions confondues.
      *
      * @return le total en calories
      */
     public double getTotal() {
-        return stock.values().stream().mapToDouble(Double::doubleValue).sum();
+        return somme(stock);
     }
-    
+
     /**
      * Récupère la quantité de calories stockées pour un type donné.
      * @param type le type de production
      * @return les calories disponibles (0 si le type n'existe pas)
      */
-    public double getCaloriesParType(String type) 
+    public double getCaloriesParType(String type)
     {
-        if (type == null || type.isEmpty()) {
-            throw new IllegalArgumentException("Type de production invalide : " + type);
-        }
-        return stock.getOrDefault(type, 0.0);
+        return lire(stock, type);
     }
 
+    /**
+     * @param produit identifiant de la production dans la Nomenclature
+     * @return les calories stockées pour cette production (0 si aucune)
+     */
+    public double getCalories(int produit) {
+        return produit >= 0 && produit < stock.length ? stock[produit] : 0;
+    }
+
+    /**
+     * @return le numéro de version du stock, qui change à chaque ajout ou vidage
+     */
+    public long getVersion() {
+        return version;
+    }
 
+    /**
+     * -renvoie une copie figée du stock, lisible depuis n'importe quel thread.
+     * -tant que le stock ne change pas, le même relevé est renvoyé (pas de copie).
+     * @return le relevé de la version courante
+     */
+    public Releve releve() {
+        if (releve == null || releve.version != version) {
+            releve = new Releve(stock.clone(), version);
+        }
+        return releve;
+    }
 
     /**
      * -vide tout le stock après l'avoir vendu et retourne les gains.
-     * 
+     *
      *
      */
     public void vider() {
-        stock.clear();
+        Arrays.fill(stock, 0);
+        version++;
     }
 
     /**
      * -affiche le contenu actuel de l'entrepôt.
      */
-    public void afficher() 
+    public void afficher()
     {
         System.out.println("Entrepôt :");
-        stock.forEach((type, cal) ->
-            System.out.println("- " + type + " : " + cal + " cal")
-        );
+        for (int id = 0; id < stock.length; id++) {
+            if (stock[id] > 0) {
+                System.out.println("- " + Nomenclature.nom(id) + " : " + stock[id] + " cal");
+            }
+        }
         System.out.println("TOTAL : " + getTotal() + " cal");
     }
 
-} 
+    private static double somme(double[] stock) {
+        double total = 0;
+        for (double cal : stock) total += cal;
+        return total;
+    }
+
+    private static double lire(double[] stock, String type) {
+        if (type == null || type.isEmpty()) {
+            throw new IllegalArgumentException("Type de production invalide : " + type);
+        }
+        int id = Nomenclature.chercher(type);
+        return id >= 0 && id < stock.length ? stock[id] : 0;
+    }
+
+    /**
+     * -copie immuable du stock à une version donnée.
+     */
+    public static final class Releve
+    {
+        private final double[] stock;
+        private final long version;
+        private final double total;
+
+        private Releve(double[] stock, long version) {
+            this.stock = stock;
+            this.version = version;
+            this.total = somme(stock);
+        }
+
+        /** @return la version de l'entrepôt au moment du relevé */
+        public long getVersion() { return version; }
+
+        /** @return le total en calories */
+        public double getTotal() { return total; }
+
+        /**
+         * @param type le type de production
+         * @return les calories relevées (0 si le type n'existe pas)
+         */
+        public double getCaloriesParType(String type) { return lire(stock, type); }
+    }
+
+}
 
 
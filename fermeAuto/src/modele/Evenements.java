@@ -0,0 +1,39 @@
+package modele;
+
+/**
+ * -destination des messages de la simulation (morts, naissances, achats, rapports...).
+ * -chaque ferme a la sienne : la console par défaut, ou aucune pour les exécutions
+ *  sans affichage.
+ */
+@FunctionalInterface
+public interface Evenements
+{
+    /** Affiche les messages sur la sortie standard. */
+    Evenements CONSOLE = System.out::println;
+
+    /** Ignore tous les messages. */
+    Evenements AUCUN = new Evenements() {
+        @Override
+        public void signaler(String message) {
+        }
+
+        @Override
+        public boolean estActif() {
+            return false;
+        }
+    };
+
+    /**
+     * -reçoit un message de la simulation.
+     * @param message texte du message
+     */
+    void signaler(String message);
+
+    /**
+     * -permet d'éviter de construire des messages qui seront ignorés.
+     * @return vrai si les messages sont effectivement utilisés
+     */
+    default boolean estActif() {
+        return true;
+    }
+}
@@ -1,58 +1,499 @@
 
 package modele;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
 import entite.Animal;
+import entite.ColonnesEntites;
 import entite.Plante;
 
 
 /**
  * -représente la ferme.
  * -contient une grille de cases et gère les modifications via méthodes contrôlées.
+ * -l'état des cases est rangé dans des tableaux plats indexés par y*taille+x,
+ *  les objets Case ne sont que des vues sur ces tableaux.
+ * -le nombre d'animaux et de plantes vivants de chaque espèce est tenu à jour à chaque
+ *  placement, retrait ou mort sur la grille.
+ * -les cases occupées par un animal ou une plante sont aussi rangées dans deux tableaux
+ *  denses (retrait par échange avec le dernier) : les parcours de la simulation ne
+ *  visitent que ces cases, en un temps proportionnel à la population et non à la surface.
  */
 public class Ferme 
 {
-    private static final int TAILLE = 6;
-    private final Case[][] grille = new Case[TAILLE][TAILLE];
+    /** Taille par défaut de la ferme (6×6). */
+    public static final int TAILLE_DEFAUT = 6;
+
+    /** Nombre de cases voisines d'une case (directions cardinales). */
+    public static final int NB_DIRECTIONS = 4;
+    // décalages des voisines, dans l'ordre : gauche, droite, haut, bas
+    private static final int[] DX = {-1, 1, 0, 0};
+    private static final int[] DY = {0, 0, -1, 1};
+    /**
+     * Distance (en pas horizontaux et verticaux) jusqu'à laquelle le tour d'une case peut
+     * modifier une autre case : déplacement vers une voisine, puis naissance à côté d'un
+     * partenaire voisin de la nouvelle case.
+     */
+    public static final int PORTEE_INFLUENCE = 3;
+
+    private final int taille;
     private double budget = 15000;
+    private Evenements evenements = Evenements.CONSOLE;
+    private Journal journal = Journal.AUCUN;
+    private boolean journalActif; // journal.estActif(), relu à chaque changement de journal
+    private final Aleatoire aleatoire;
+    private int rayonIrrigation = 1;
+
+    // État des cases, un élément par case (indice = y*taille+x)
+    final double[] eau;
+    final double[] fertilisant;
+    final boolean[] puits;
+    final int[] couverturePuits; // nombre de puits qui irriguent la case (hors puits sur la case)
+    private final Position[] positions; // position canonique de chaque case, créée à la demande
+    final Plante[] plantes;
+    final Animal[] animaux;
+
+    // Vivants sur la grille par identifiant d'espèce (Nomenclature) ; les morts peuvent
+    // survenir en même temps dans plusieurs bandes du moteur parallèle
+    private AtomicIntegerArray effectifsAnimaux = new AtomicIntegerArray(0);
+    private AtomicIntegerArray effectifsPlantes = new AtomicIntegerArray(0);
+    // Cumuls depuis la création de la ferme (télémétrie)
+    private final AtomicLong nbMorts = new AtomicLong();
+    private final AtomicLong nbNaissances = new AtomicLong();
+
+    // Cases occupées par un animal, par une plante, et par une plante éveillée (celles
+    // qui ne sont pas en sommeil, voir endormirPlante)
+    private final CasesDenses casesAnimaux;
+    private final CasesDenses casesPlantes;
+    private final CasesDenses plantesEveillees;
+    private final CasesDenses casesPuits;
+
+    // Parcours des cases occupées (voir forEachCaseOccupee) : en cours ou non, et curseurs
+    private boolean parcoursEnCours;
+    private final Case curseurOccupees;
+    private final Case curseurCloture;
+    private Ferme projection; // ferme d'une case, créée à la demande (voir projeterCalories)
 
     /**
-     * -crée une nouvelle ferme avec grille initialisée.
+     * -crée une nouvelle ferme 6×6.
      */
     public Ferme() 
     {
-        for (int i = 0; i < TAILLE; i++) 
-        {
-            for (int j = 0; j < TAILLE; j++) 
-            {
-                grille[i][j] = new Case(new Position(i, j), this);
-            }
+        this(TAILLE_DEFAUT);
+    }
+
+    /**
+     * -crée une nouvelle ferme de taille×taille cases, toutes vides.
+     * @param taille nombre de cases par côté (> 0)
+     * @throws IllegalArgumentException si la taille est invalide
+     */
+    public Ferme(int taille) 
+    {
+        this(taille, new Aleatoire());
+    }
+
+    /**
+     * -crée une ferme dont la simulation est reproductible.
+     * @param taille nombre de cases par côté (> 0)
+     * @param graine graine maîtresse du hasard de la simulation
+     * @throws IllegalArgumentException si la taille est invalide
+     */
+    public Ferme(int taille, long graine) 
+    {
+        this(taille, new Aleatoire(graine));
+    }
+
+    private Ferme(int taille, Aleatoire aleatoire) 
+    {
+        if (taille <= 0 || (long) taille * taille > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Taille de ferme invalide : " + taille);
+        this.taille = taille;
+        this.aleatoire = aleatoire;
+        int n = taille * taille;
+        this.eau = new double[n];
+        this.fertilisant = new double[n];
+        this.puits = new boolean[n];
+        this.couverturePuits = new int[n];
+        this.positions = new Position[n];
+        this.plantes = new Plante[n];
+        this.animaux = new Animal[n];
+        this.casesAnimaux = new CasesDenses(taille);
+        this.casesPlantes = new CasesDenses(taille);
+        this.plantesEveillees = new CasesDenses(taille);
+        this.casesPuits = new CasesDenses(taille);
+        this.curseurOccupees = new Case(this, 0, 0);
+        this.curseurCloture = new Case(this, 0, 0);
+    }
+
+    /**
+     * -indice de la case (x, y) dans les tableaux internes.
+     */
+    int indice(int x, int y) {
+        return y * taille + x;
+    }
+
+    /**
+     * -renvoie la position canonique de la case (x, y) : toujours le même objet pour
+     *  une même case, ce qui évite d'en allouer une à chaque parcours de voisinage.
+     * @return la position (x, y)
+     * @throws IllegalArgumentException si (x, y) est hors de la grille
+     */
+    public Position getPosition(int x, int y)
+    {
+        if (!dansGrille(x, y))
+            throw new IllegalArgumentException("Position hors grille : (" + x + ", " + y + ")");
+        return getPosition(indice(x, y));
+    }
+
+    /**
+     * -renvoie la position canonique de la case d'indice donné.
+     * -peut être appelée depuis plusieurs threads : au pire deux positions égales
+     *  sont créées pour la même case, l'une remplaçant l'autre dans la table.
+     * @param indice indice de la case (y*taille+x)
+     * @return la position de la case
+     */
+    public Position getPosition(int indice)
+    {
+        Position p = positions[indice];
+        if (p == null) {
+            p = new Position(indice % taille, indice / taille);
+            positions[indice] = p;
         }
+        return p;
+    }
+
+    /**
+     * -indice de la voisine de (x, y) dans une direction, sans rien allouer.
+     * @param x abscisse de la case
+     * @param y ordonnée de la case
+     * @param direction de 0 à NB_DIRECTIONS-1 : gauche, droite, haut, bas
+     * @return l'indice (y*taille+x) de la voisine, ou -1 si elle sort de la grille
+     */
+    public int voisine(int x, int y, int direction)
+    {
+        int vx = x + DX[direction], vy = y + DY[direction];
+        return dansGrille(vx, vy) ? indice(vx, vy) : -1;
+    }
+
+    /**
+     * @param indice indice d'une case (y*taille+x)
+     * @return l'animal de cette case, ou null
+     */
+    public Animal getAnimal(int indice) {
+        return animaux[indice];
     }
 
     /**
      * -vérifie si une position est valide dans la grille.
      * @param p position à tester
-     * @return true si 0 <= x,y < TAILLE
+     * @return true si 0 <= x,y < taille
      */
     public boolean positionValide(Position p) 
     {
-        return p != null
-                && p.getX() >= 0 && p.getX() < TAILLE
-                && p.getY() >= 0 && p.getY() < TAILLE;
+        return p != null && dansGrille(p.getX(), p.getY());
     }
 
     /**
-     * -récupère une copie de la grille interne. Toute modification du tableau retourné
-     * n'affectera pas la grille de la ferme.
-     * @return copie superficielle du tableau de Case
+     * -vérifie si des coordonnées sont dans la grille.
+     * @return true si 0 <= x,y < taille
+     */
+    public boolean dansGrille(int x, int y) 
+    {
+        return x >= 0 && x < taille && y >= 0 && y < taille;
+    }
+
+    /**
+     * -construit un tableau de vues sur les cases, indexé [x][y]. Toute modification
+     * du tableau retourné n'affectera pas la grille de la ferme.
+     * @return tableau de Case
      */
     public Case[][] getGrille()
     {
-        Case[][] clone = new Case[TAILLE][TAILLE];
-        for (int i = 0; i < TAILLE; i++) {
-            System.arraycopy(this.grille[i], 0, clone[i], 0, TAILLE);
+        Case[][] vues = new Case[taille][taille];
+        for (int i = 0; i < taille; i++) {
+            for (int j = 0; j < taille; j++) {
+                vues[i][j] = new Case(this, i, j);
+            }
+        }
+        return vues;
+    }
+
+    /**
+     * -parcourt toutes les cases colonne par colonne (x, puis y), dans le même ordre
+     *  que le tableau getGrille()[x][y], sans copier la grille.
+     * -la Case passée est un curseur réutilisé d'une case à l'autre : elle ne doit pas
+     *  être conservée après l'appel.
+     * @param action traitement appliqué à chaque case
+     */
+    public void forEachCase(Consumer<? super Case> action)
+    {
+        Case curseur = new Case(this, 0, 0);
+        for (int x = 0; x < taille; x++) {
+            for (int y = 0; y < taille; y++) {
+                curseur.placer(x, y);
+                action.accept(curseur);
+            }
+        }
+    }
+
+    /**
+     * -parcourt les cases des lignes yDebut (incluse) à yFin (exclue), sans copie.
+     * -plusieurs threads peuvent parcourir des bandes de lignes différentes en même temps.
+     * -la Case passée est un curseur réutilisé : à ne pas conserver.
+     * @param yDebut première ligne
+     * @param yFin ligne de fin (exclue)
+     * @param action traitement appliqué à chaque case
+     */
+    public void forEachCaseLignes(int yDebut, int yFin, Consumer<? super Case> action)
+    {
+        Case curseur = new Case(this, 0, 0);
+        for (int y = Math.max(0, yDebut); y < Math.min(taille, yFin); y++) {
+            for (int x = 0; x < taille; x++) {
+                curseur.placer(x, y);
+                action.accept(curseur);
+            }
+        }
+    }
+
+    /**
+     * -parcourt, dans l'ordre de forEachCase, les seules cases qui contiennent un
+     *  animal ou une plante : même effet que forEachCase pour un traitement qui ne fait
+     *  rien sur une case vide, en un temps proportionnel à la population.
+     * -une case occupée pendant le parcours (déplacement, naissance) est visitée si le
+     *  parcours ne l'a pas encore dépassée, comme avec forEachCase.
+     * -la Case passée est un curseur réutilisé : à ne pas conserver.
+     * @param action traitement appliqué à chaque case occupée
+     * @throws IllegalStateException si un autre parcours des cases occupées est en cours
+     */
+    public void forEachCaseOccupee(Consumer<? super Case> action)
+    {
+        parcourirOccupees(casesPlantes, action);
+    }
+
+    /**
+     * -comme forEachCaseOccupee, mais en ignorant les cases dont la seule occupante est
+     *  une plante en sommeil : même effet que forEachCase pour un traitement qui ne fait
+     *  rien sur une case vide ni à une plante endormie (mise à jour quotidienne).
+     * @param action traitement appliqué à chaque case active
+     * @throws IllegalStateException si un autre parcours des cases occupées est en cours
+     */
+    public void forEachCaseActive(Consumer<? super Case> action)
+    {
+        parcourirOccupees(plantesEveillees, action);
+    }
+
+    private void parcourirOccupees(CasesDenses plantesVisitees, Consumer<? super Case> action)
+    {
+        commencerParcours();
+        try {
+            // les ensembles sont lus au fur et à mesure : une case occupée plus loin en
+            // cours de route est trouvée, une case vidée plus loin est sautée
+            int fin = taille * taille - 1;
+            int r = CasesDenses.suivante(casesAnimaux, plantesVisitees, 0, fin);
+            while (r >= 0) {
+                curseurOccupees.placer(r / taille, r % taille);
+                action.accept(curseurOccupees);
+                r = CasesDenses.suivante(casesAnimaux, plantesVisitees, r + 1, fin);
+            }
+        } finally {
+            parcoursEnCours = false;
+        }
+    }
+
+    /**
+     * -parcours unique d'une journée : visite les cases actives comme forEachCaseActive
+     *  et, en retard de PORTEE_INFLUENCE colonnes sur la visite, clôt chaque case
+     *  occupée (plante endormie comprise) dès qu'aucune visite à venir ne peut plus
+     *  la modifier (déplacement, naissance).
+     * -la clôture peut vider sa case (retrait des morts) ; les clôtures se font dans
+     *  l'ordre de forEachCase, comme un parcours des cases occupées après la visite.
+     * -les deux Case passées sont des curseurs réutilisés : à ne pas conserver.
+     * @param visite traitement de chaque case active
+     * @param cloture traitement de chaque case occupée, après toutes les visites qui
+     *                peuvent l'atteindre
+     * @throws IllegalStateException si un autre parcours des cases occupées est en cours
+     */
+    public void forEachCaseFusionne(Consumer<? super Case> visite, Consumer<? super Case> cloture)
+    {
+        commencerParcours();
+        try {
+            int fin = taille * taille - 1;
+            int retard = PORTEE_INFLUENCE * taille; // une colonne compte taille rangs
+            int close = -1; // dernier rang clos
+            int r = CasesDenses.suivante(casesAnimaux, plantesEveillees, 0, fin);
+            while (r >= 0) {
+                curseurOccupees.placer(r / taille, r % taille);
+                visite.accept(curseurOccupees);
+                if (r - retard > close) close = clore(cloture, close + 1, r - retard);
+                r = CasesDenses.suivante(casesAnimaux, plantesEveillees, r + 1, fin);
+            }
+            clore(cloture, close + 1, fin);
+        } finally {
+            parcoursEnCours = false;
+        }
+    }
+
+    /**
+     * -clôt les cases occupées de rang debut à fin.
+     * @return fin, dernier rang clos
+     */
+    private int clore(Consumer<? super Case> cloture, int debut, int fin)
+    {
+        int r = CasesDenses.suivante(casesAnimaux, casesPlantes, debut, fin);
+        while (r >= 0) {
+            curseurCloture.placer(r / taille, r % taille);
+            cloture.accept(curseurCloture);
+            r = CasesDenses.suivante(casesAnimaux, casesPlantes, r + 1, fin);
+        }
+        return fin;
+    }
+
+    private void commencerParcours()
+    {
+        if (parcoursEnCours)
+            throw new IllegalStateException("Parcours des cases occupées déjà en cours");
+        parcoursEnCours = true;
+    }
+
+    /**
+     * -parcourt les animaux présents sur la grille (vivants ou non), sans copie et
+     *  sans visiter les cases vides, dans un ordre quelconque.
+     * -l'action ne doit pas ajouter ni retirer d'animal de la grille.
+     * @param action traitement appliqué à chaque animal
+     */
+    public void forEachAnimal(Consumer<? super Animal> action)
+    {
+        for (int i = 0; i < casesAnimaux.taille(); i++) {
+            action.accept(animaux[casesAnimaux.get(i)]);
+        }
+    }
+
+    /**
+     * -parcourt les plantes présentes sur la grille (vivantes ou non), sans copie et
+     *  sans visiter les cases vides, dans un ordre quelconque.
+     * -l'action ne doit pas ajouter ni retirer de plante de la grille.
+     * @param action traitement appliqué à chaque plante
+     */
+    public void forEachPlante(Consumer<? super Plante> action)
+    {
+        for (int i = 0; i < casesPlantes.taille(); i++) {
+            action.accept(plantes[casesPlantes.get(i)]);
+        }
+    }
+
+    /**
+     * -parcourt les indices (y*taille+x) des cases qui ont un puits, sans visiter les
+     *  autres cases, dans un ordre quelconque.
+     * @param action traitement appliqué à l'indice de chaque case avec puits
+     */
+    public void forEachPuits(IntConsumer action)
+    {
+        for (int i = 0; i < casesPuits.taille(); i++) {
+            action.accept(casesPuits.get(i));
+        }
+    }
+
+    /**
+     * -projette les calories qu'auront les plantes vivantes après nbJours tours de la
+     *  saison donnée, sans apport extérieur (pluie, fertilisant, animaux) : chaque plante
+     *  est copiée sur une ferme d'une case qui reprend l'eau, le fertilisant et
+     *  l'irrigation de sa case, puis avancée d'un coup (Plante.avancer).
+     * -la ferme n'est pas modifiée.
+     * @param saison saison des tours projetés
+     * @param nbJours nombre de tours à projeter (>= 0)
+     * @param calories reçoit, ajoutées par identifiant d'espèce, les calories projetées
+     */
+    public void projeterCalories(Saison saison, int nbJours, double[] calories)
+    {
+        if (nbJours < 0)
+            throw new IllegalArgumentException("Nombre de jours négatif : " + nbJours);
+        if (projection == null) {
+            projection = new Ferme(1, 0L);
+            projection.setEvenements(Evenements.AUCUN);
+        }
+        Case c = projection.curseurOccupees;
+        for (int i = 0; i < casesPlantes.taille(); i++) {
+            int k = casesPlantes.get(i);
+            if (!plantes[k].estVivante()) continue;
+            projection.eau[0] = eau[k];
+            projection.fertilisant[0] = fertilisant[k];
+            projection.couverturePuits[0] = couverturePuits[k];
+            Plante p = plantes[k].copie();
+            p.avancer(c, saison, nbJours);
+            if (p.estVivante()) calories[p.getIdEspece()] += p.getCalories();
+        }
+    }
+
+    /**
+     * @return le nombre d'animaux présents sur la grille (vivants ou non)
+     */
+    public int getNbAnimaux() {
+        return casesAnimaux.taille();
+    }
+
+    /**
+     * @return le nombre de plantes présentes sur la grille (vivantes ou non)
+     */
+    public int getNbPlantes() {
+        return casesPlantes.taille();
+    }
+
+    /**
+     * @return le nombre de plantes en sommeil (voir endormirPlante)
+     */
+    public int getNbPlantesEndormies() {
+        return casesPlantes.taille() - plantesEveillees.taille();
+    }
+
+    /**
+     * -met en sommeil la plante de la case (x, y) : elle reste sur la grille (comptée,
+     *  récoltée, mangeable) mais les parcours des cases occupées ne la visitent plus et
+     *  Case.maj ne lui fait plus jouer de tour, jusqu'à reveillerPlante.
+     * @return faux s'il n'y a pas de plante sur la case ou qu'elle dort déjà
+     */
+    public boolean endormirPlante(int x, int y)
+    {
+        int k = indice(x, y);
+        if (!plantesEveillees.contient(k)) return false;
+        plantesEveillees.retirer(k);
+        return true;
+    }
+
+    /**
+     * -réveille la plante endormie de la case (x, y), si c'est toujours elle qui s'y trouve.
+     * @param p la plante qui avait été endormie
+     */
+    public void reveillerPlante(int x, int y, Plante p)
+    {
+        int k = indice(x, y);
+        if (plantes[k] != p || plantesEveillees.contient(k)) return;
+        plantesEveillees.ajouter(k);
+    }
+
+    /**
+     * @return vrai si la case k porte une plante en sommeil (voir Case.planteEndormie)
+     */
+    boolean planteEndormie(int k)
+    {
+        return plantes[k] != null && !plantesEveillees.contient(k);
+    }
+
+    /**
+     * -verse de l'eau sur chaque case sans puits (pluie).
+     * @param quantite eau ajoutée à chaque case (ignorée si <= 0)
+     */
+    public void arroser(double quantite)
+    {
+        if (quantite <= 0) return;
+        for (int k = 0; k < eau.length; k++) {
+            if (!puits[k]) eau[k] += quantite;
         }
-        return clone;
     }
 
     /**
@@ -65,10 +506,12 @@ public class Ferme
     {
         if (!positionValide(pos))
             throw new IllegalArgumentException("Position invalide : " + pos);
-        Case c = getCaseInterne(pos);
-        if (c.getAnimal() != null)
+        int k = indice(pos.getX(), pos.getY());
+        if (animaux[k] != null)
             throw new IllegalArgumentException("Case déjà occupée par un animal : " + pos);
-        c.setAnimal(a);
+        if (a.getAleatoire() == null)
+            a.setAleatoire(aleatoire.nouveauFlux());
+        poserAnimal(k, a);
     }
 
     /**
@@ -81,10 +524,291 @@ public class Ferme
     {
         if (!positionValide(pos))
             throw new IllegalArgumentException("Position invalide : " + pos);
-        Case c = getCaseInterne(pos);
-        if (c.getPlante() != null)
+        int k = indice(pos.getX(), pos.getY());
+        if (plantes[k] != null)
             throw new IllegalArgumentException("Case déjà occupée par une plante : " + pos);
-        c.setPlante(p);
+        poserPlante(k, p);
+    }
+
+    /**
+     * -déplace l'animal d'une case vers une autre sans changer les effectifs
+     *  (un animal déjà présent à l'arrivée est remplacé).
+     * @param depuis case de départ, qui doit contenir un animal
+     * @param vers case d'arrivée
+     * @throws IllegalArgumentException si une position est invalide ou le départ vide
+     */
+    public void deplacerAnimal(Position depuis, Position vers)
+    {
+        if (!positionValide(depuis) || !positionValide(vers))
+            throw new IllegalArgumentException("Déplacement invalide : " + depuis + " -> " + vers);
+        int d = indice(depuis.getX(), depuis.getY());
+        int v = indice(vers.getX(), vers.getY());
+        Animal a = animaux[d];
+        if (a == null)
+            throw new IllegalArgumentException("Aucun animal à déplacer en " + depuis);
+        if (d == v) return;
+        poserAnimal(v, null);
+        casesAnimaux.deplacer(d, v);
+        animaux[d] = null;
+        animaux[v] = a;
+        if (journalActif) journal.noter(Journal.Type.DEPLACEMENT, a.getIdEspece(), d, v, 0);
+    }
+
+    /**
+     * -remplace l'animal de la case k et met à jour les effectifs.
+     */
+    void poserAnimal(int k, Animal a)
+    {
+        Animal ancien = animaux[k];
+        if (ancien == a) return;
+        if (ancien != null && ancien.estVivant()) effectifsAnimaux.decrementAndGet(ancien.getIdEspece());
+        if (a != null && a.estVivant()) {
+            effectifsAnimaux = agrandir(effectifsAnimaux, a.getIdEspece());
+            effectifsAnimaux.incrementAndGet(a.getIdEspece());
+        }
+        if (a == null) casesAnimaux.retirer(k);
+        else casesAnimaux.ajouter(k);
+        animaux[k] = a;
+    }
+
+    /**
+     * -remplace la plante de la case k et met à jour les effectifs.
+     */
+    void poserPlante(int k, Plante p)
+    {
+        Plante ancienne = plantes[k];
+        if (ancienne == p) return;
+        if (ancienne != null && ancienne.estVivante()) effectifsPlantes.decrementAndGet(ancienne.getIdEspece());
+        if (p != null && p.estVivante()) {
+            effectifsPlantes = agrandir(effectifsPlantes, p.getIdEspece());
+            effectifsPlantes.incrementAndGet(p.getIdEspece());
+        }
+        if (p == null) {
+            casesPlantes.retirer(k);
+            plantesEveillees.retirer(k);
+        } else {
+            casesPlantes.ajouter(k);
+            plantesEveillees.ajouter(k); // une nouvelle plante est éveillée
+        }
+        plantes[k] = p;
+    }
+
+    /**
+     * -retire des effectifs l'animal de la case k, qui vient de mourir.
+     * -peut être appelée depuis plusieurs threads.
+     */
+    void noterMort(int k, Animal a)
+    {
+        if (animaux[k] == a) {
+            effectifsAnimaux.decrementAndGet(a.getIdEspece());
+            nbMorts.incrementAndGet();
+            if (journalActif) journal.noter(Journal.Type.MORT_ANIMAL, a.getIdEspece(), k, -1, 0);
+        }
+    }
+
+    /**
+     * -retire des effectifs la plante de la case k, qui vient de mourir.
+     * -peut être appelée depuis plusieurs threads.
+     */
+    void noterMort(int k, Plante p)
+    {
+        if (plantes[k] == p) {
+            effectifsPlantes.decrementAndGet(p.getIdEspece());
+            nbMorts.incrementAndGet();
+            if (journalActif) journal.noter(Journal.Type.MORT_PLANTE, p.getIdEspece(), k, -1, 0);
+        }
+    }
+
+    /**
+     * -écrit l'état de la ferme : budget, hasard, grille en colonnes (eau, fertilisant,
+     *  puits), puis animaux, plantes et plantes éveillées dans l'ordre des tableaux
+     *  denses, pour qu'une simulation reprise les parcoure dans le même ordre.
+     * -les événements et la couverture des puits (recalculée) ne sont pas écrits.
+     * @param s fichier de sauvegarde
+     * @throws IOException si l'écriture échoue
+     */
+    public void sauvegarder(SortieSauvegarde s) throws IOException
+    {
+        s.ecrireInt(taille);
+        s.ecrireDouble(budget);
+        s.ecrireInt(rayonIrrigation);
+        s.ecrireLong(aleatoire.getGraine());
+        s.ecrireLong(aleatoire.getPrincipal().getGerme());
+        s.ecrireLong(aleatoire.getPrincipal().getPas());
+        s.ecrireLong(nbMorts.get());
+        s.ecrireLong(nbNaissances.get());
+
+        int n = taille * taille;
+        s.ecrireDoubles(eau, 0, n);
+        s.ecrireDoubles(fertilisant, 0, n);
+        s.ecrireBooleens(puits, 0, n);
+
+        int[] cases = ecrireCases(casesAnimaux, s);
+        Animal[] a = new Animal[cases.length];
+        for (int i = 0; i < cases.length; i++) a[i] = animaux[cases[i]];
+        ColonnesEntites.ecrireAnimaux(a, a.length, s);
+
+        cases = ecrireCases(casesPlantes, s);
+        Plante[] p = new Plante[cases.length];
+        for (int i = 0; i < cases.length; i++) p[i] = plantes[cases[i]];
+        ColonnesEntites.ecrirePlantes(p, p.length, s);
+
+        ecrireCases(plantesEveillees, s);
+    }
+
+    private static int[] ecrireCases(CasesDenses ensemble, SortieSauvegarde s) throws IOException
+    {
+        int[] cases = new int[ensemble.taille()];
+        ensemble.copier(cases, 0);
+        s.ecrireInt(cases.length);
+        s.ecrireInts(cases, 0, cases.length);
+        return cases;
+    }
+
+    /**
+     * -recrée une ferme écrite par sauvegarder. Les entités sont placées par les
+     *  mêmes chemins que d'habitude : effectifs, cases occupées et couverture des
+     *  puits sont reconstruits.
+     * @param e fichier de sauvegarde
+     * @param noms nom de chaque identifiant d'espèce au moment de la sauvegarde
+     * @return la ferme, avec les événements par défaut (console)
+     * @throws IOException si le fichier est illisible ou incohérent
+     */
+    public static Ferme restaurer(EntreeSauvegarde e, String[] noms) throws IOException
+    {
+        int taille = e.lireInt();
+        if (taille <= 0 || (long) taille * taille > Integer.MAX_VALUE)
+            throw new IOException("Sauvegarde invalide : taille de ferme " + taille);
+        double budget = e.lireDouble();
+        int rayon = e.lireInt();
+        long graine = e.lireLong();
+        long germe = e.lireLong();
+        long pas = e.lireLong();
+        if (rayon < 0 || (pas & 1) == 0)
+            throw new IOException("Sauvegarde invalide : en-tête de ferme");
+
+        Ferme f = new Ferme(taille, new Aleatoire(graine, new Flux(germe, pas)));
+        f.budget = budget;
+        f.nbMorts.set(e.lireLong());
+        f.nbNaissances.set(e.lireLong());
+
+        int n = taille * taille;
+        e.lireDoubles(f.eau, 0, n);
+        e.lireDoubles(f.fertilisant, 0, n);
+        e.lireBooleens(f.puits, 0, n);
+        for (int k = 0; k < n; k++) {
+            if (f.puits[k]) f.casesPuits.ajouter(k);
+        }
+        f.setRayonIrrigation(rayon); // recalcule la couverture
+
+        int[] cases = lireCases(e, n);
+        Animal[] a = ColonnesEntites.lireAnimaux(cases.length, noms, f, e);
+        for (int i = 0; i < cases.length; i++) {
+            if (f.animaux[cases[i]] != null)
+                throw new IOException("Sauvegarde invalide : deux animaux en " + cases[i]);
+            f.poserAnimal(cases[i], a[i]);
+        }
+
+        cases = lireCases(e, n);
+        Plante[] p = ColonnesEntites.lirePlantes(cases.length, noms, f, e);
+        for (int i = 0; i < cases.length; i++) {
+            if (f.plantes[cases[i]] != null)
+                throw new IOException("Sauvegarde invalide : deux plantes en " + cases[i]);
+            f.poserPlante(cases[i], p[i]);
+        }
+
+        // plantes éveillées, dans leur ordre d'origine ; les autres dorment
+        cases = lireCases(e, n);
+        f.plantesEveillees.vider();
+        for (int k : cases) {
+            if (f.plantes[k] == null)
+                throw new IOException("Sauvegarde invalide : plante éveillée absente en " + k);
+            f.plantesEveillees.ajouter(k);
+        }
+        return f;
+    }
+
+    private static int[] lireCases(EntreeSauvegarde e, int n) throws IOException
+    {
+        int[] cases = new int[e.lireTaille()];
+        e.lireInts(cases, 0, cases.length);
+        for (int k : cases) {
+            if (k < 0 || k >= n)
+                throw new IOException("Sauvegarde invalide : case " + k);
+        }
+        return cases;
+    }
+
+    /**
+     * -compte une naissance (le bébé est placé par ailleurs, voir Animal.Naissance).
+     * @param bebe l'animal né, déjà posé sur sa case
+     */
+    public void noterNaissance(Animal bebe) {
+        nbNaissances.incrementAndGet();
+        if (journalActif) {
+            Position pos = bebe.getPosition();
+            journal.noter(Journal.Type.NAISSANCE, bebe.getIdEspece(), indice(pos.getX(), pos.getY()), -1, 0);
+        }
+    }
+
+    /**
+     * @return le nombre de morts (animaux et plantes) depuis la création de la ferme
+     */
+    public long getNbMorts() {
+        return nbMorts.get();
+    }
+
+    /**
+     * @return le nombre de naissances depuis la création de la ferme
+     */
+    public long getNbNaissances() {
+        return nbNaissances.get();
+    }
+
+    /**
+     * -agrandit un tableau d'effectifs pour qu'il contienne l'identifiant donné.
+     * -uniquement lors d'un placement, jamais pendant une phase parallèle.
+     */
+    private static AtomicIntegerArray agrandir(AtomicIntegerArray t, int id)
+    {
+        if (id < t.length()) return t;
+        AtomicIntegerArray nouveau = new AtomicIntegerArray(Math.max(id + 1, Nomenclature.taille()));
+        for (int i = 0; i < t.length(); i++) nouveau.set(i, t.get(i));
+        return nouveau;
+    }
+
+    /**
+     * @param espece nom de l'espèce (ex : "Poule")
+     * @return le nombre d'animaux vivants de cette espèce sur la grille
+     */
+    public int getNbAnimauxVivants(String espece)
+    {
+        return lireEffectif(effectifsAnimaux, Nomenclature.chercher(espece));
+    }
+
+    /**
+     * @param espece nom de l'espèce (ex : "Ble")
+     * @return le nombre de plantes vivantes de cette espèce sur la grille
+     */
+    public int getNbPlantesVivantes(String espece)
+    {
+        return lireEffectif(effectifsPlantes, Nomenclature.chercher(espece));
+    }
+
+    /**
+     * -recopie les effectifs vivants de chaque espèce, sans parcourir la grille.
+     * @param animaux rempli par identifiant d'espèce (0 pour les espèces absentes)
+     * @param plantes idem pour les plantes
+     */
+    public void copierEffectifs(int[] animaux, int[] plantes)
+    {
+        for (int id = 0; id < animaux.length; id++) animaux[id] = lireEffectif(effectifsAnimaux, id);
+        for (int id = 0; id < plantes.length; id++) plantes[id] = lireEffectif(effectifsPlantes, id);
+    }
+
+    private static int lireEffectif(AtomicIntegerArray t, int id)
+    {
+        return id >= 0 && id < t.length() ? t.get(id) : 0;
     }
 
     /**
@@ -98,7 +822,7 @@ public class Ferme
             throw new IllegalArgumentException("Position invalide : " + pos);
         if (quantiteGrammes <= 0)
             throw new IllegalArgumentException("Quantité de fertilisant doit être positive : " + quantiteGrammes);
-        getCaseInterne(pos).ajouterFertilisant(quantiteGrammes);
+        fertilisant[indice(pos.getX(), pos.getY())] += quantiteGrammes;
     }
 
     /**
@@ -109,7 +833,7 @@ public class Ferme
     public void construirePuits(Position pos) {
         if (!positionValide(pos))
             throw new IllegalArgumentException("Position invalide pour puits : " + pos);
-        getCaseInterne(pos).construirePuits();
+        placerPuits(pos.getX(), pos.getY(), true);
     }
 
     /**
@@ -120,18 +844,69 @@ public class Ferme
     public void detruirePuits(Position pos) {
         if (!positionValide(pos))
             throw new IllegalArgumentException("Position invalide pour destruction de puits : " + pos);
-        getCaseInterne(pos).detruirePuits();
+        placerPuits(pos.getX(), pos.getY(), false);
     }
 
     /**
-     * -accès interne direct à une case (sans clone), pour usage interne Ferme.
+     * -pose ou retire le puits de la case (x, y) et met à jour la couverture
+     *  des cases qu'il irrigue. Sans effet si la case est déjà dans cet état.
      */
-    private Case getCaseInterne(Position pos) {
-        return grille[pos.getX()][pos.getY()];
+    void placerPuits(int x, int y, boolean present)
+    {
+        int k = indice(x, y);
+        if (puits[k] == present) return;
+        puits[k] = present;
+        if (present) casesPuits.ajouter(k);
+        else casesPuits.retirer(k);
+        couvrir(x, y, present ? 1 : -1);
     }
 
     /**
-     * -retourne la case à la position donnée en vérifiant les limites.
+     * -ajoute delta à la couverture des cases irriguées par un puits en (x, y) :
+     *  celles à une distance (en nombre de pas horizontaux et verticaux) comprise
+     *  entre 1 et le rayon d'irrigation.
+     */
+    private void couvrir(int x, int y, int delta)
+    {
+        int r = rayonIrrigation;
+        for (int dy = -r; dy <= r; dy++) {
+            int vy = y + dy;
+            if (vy < 0 || vy >= taille) continue;
+            int reste = r - Math.abs(dy);
+            int debut = Math.max(0, x - reste), fin = Math.min(taille - 1, x + reste);
+            int ligne = vy * taille;
+            for (int vx = debut; vx <= fin; vx++) {
+                couverturePuits[ligne + vx] += delta;
+            }
+            if (dy == 0) couverturePuits[ligne + x] -= delta; // la case du puits elle-même
+        }
+    }
+
+    /**
+     * @return la distance jusqu'à laquelle un puits irrigue les plantes (1 : les 4 voisines)
+     */
+    public int getRayonIrrigation() {
+        return rayonIrrigation;
+    }
+
+    /**
+     * -change la portée d'irrigation des puits et recalcule la couverture de la grille.
+     * @param rayon distance maximale irriguée (0 : les puits n'irriguent pas)
+     * @throws IllegalArgumentException si le rayon est négatif
+     */
+    public void setRayonIrrigation(int rayon)
+    {
+        if (rayon < 0)
+            throw new IllegalArgumentException("Rayon d'irrigation invalide : " + rayon);
+        Arrays.fill(couverturePuits, 0);
+        this.rayonIrrigation = rayon;
+        for (int k = 0; k < puits.length; k++) {
+            if (puits[k]) couvrir(k % taille, k / taille, 1);
+        }
+    }
+
+    /**
+     * -retourne une vue sur la case à la position donnée en vérifiant les limites.
      * @param pos position
      * @return case correspondante
      * @throws IllegalArgumentException si position invalide
@@ -139,7 +914,7 @@ public class Ferme
     public Case getCase(Position pos) {
         if (!positionValide(pos))
             throw new IllegalArgumentException("Position hors grille : " + pos);
-        return getCaseInterne(pos);
+        return new Case(this, pos);
     }
 
     /**
@@ -149,7 +924,7 @@ public class Ferme
      */
     public void ajouterBudget(double montant) {
         if (montant <= 0) {
-            System.out.printf("[Ferme] Aucune recette cette saison (%.1f Y)\\n", montant);
+            signaler(() -> String.format("[Ferme] Aucune recette cette saison (%.1f Y)", montant));
             return;
         }
         this.budget += montant;
@@ -170,28 +945,95 @@ public class Ferme
     }
     /**
      * Retire de la grille les animaux et les plantes mortes
+     * (parcours des seules cases occupées, de la fin vers le début : la case
+     * ramenée à la place d'une case retirée a déjà été examinée)
      */
     public void retirerEntitesMortes() 
     {
-        for (int i = 0; i < TAILLE; i++) 
+        for (int i = casesAnimaux.taille() - 1; i >= 0; i--)
+        {
+            // retire l’animal mort
+            int k = casesAnimaux.get(i);
+            if (!animaux[k].estVivant()) {
+                poserAnimal(k, null);
+            }
+        }
+        for (int i = casesPlantes.taille() - 1; i >= 0; i--)
         {
-            for (int j = 0; j < TAILLE; j++) 
-            {
-                Case c = grille[i][j];
-                // retire l’animal mort
-                if (c.getAnimal() != null && !c.getAnimal().estVivant()) {
-                    c.setAnimal(null);
-                }
-                // retire la plante morte
-                if (c.getPlante() != null && !c.getPlante().estVivante()) {
-                    c.setPlante(null);
-                }
+            // retire la plante morte
+            int k = casesPlantes.get(i);
+            if (!plantes[k].estVivante()) {
+                poserPlante(k, null);
             }
         }
     }
 
 
 
+    /**
+     * @return la source de hasard de la simulation
+     */
+    public Aleatoire getAleatoire() {
+        return aleatoire;
+    }
+
+    /**
+     * @return la destination des messages de la simulation
+     */
+    public Evenements getEvenements() {
+        return evenements;
+    }
+
+    /**
+     * -change la destination des messages de la simulation.
+     * @param evenements Evenements.CONSOLE, Evenements.AUCUN ou autre
+     */
+    public void setEvenements(Evenements evenements) {
+        if (evenements == null)
+            throw new IllegalArgumentException("Evenements nuls ?");
+        this.evenements = evenements;
+    }
+
+    /**
+     * @return la destination des événements structurés (Journal.AUCUN par défaut)
+     */
+    public Journal getJournal() {
+        return journal;
+    }
+
+    /**
+     * -change la destination des événements structurés (naissances, morts, déplacements,
+     *  et ceux du jeu et du magasin qui passent par noter).
+     * @param journal Journal.AUCUN ou un journal d'enregistrement
+     */
+    public void setJournal(Journal journal) {
+        if (journal == null)
+            throw new IllegalArgumentException("Journal nul ?");
+        this.journal = journal;
+        this.journalActif = journal.estActif();
+    }
+
+    /**
+     * -transmet un événement au journal, s'il est actif.
+     * @param pos case concernée, ou null si sans objet
+     * @see Journal#noter
+     */
+    public void noter(Journal.Type type, int espece, Position pos, double valeur) {
+        if (journalActif) {
+            journal.noter(type, espece, pos != null ? indice(pos.getX(), pos.getY()) : -1, -1, valeur);
+        }
+    }
+
+    /**
+     * -transmet un message ; il n'est construit que si la destination est active.
+     * @param message fabrique du texte du message
+     */
+    public void signaler(Supplier<String> message) {
+        if (evenements.estActif()) {
+            evenements.signaler(message.get());
+        }
+    }
+
     /**
      * @return le budget actuel
      */
@@ -203,7 +1045,7 @@ public class Ferme
      * @return la dimension n×n de la ferme
      */
     public int getTaille() {
-        return TAILLE;
+        return taille;
     }
 
 }
@@ -0,0 +1,118 @@
+package modele;
+
+/**
+ * -générateur pseudo-aléatoire SplitMix64, qui suit exactement l'algorithme de
+ *  java.util.SplittableRandom (mêmes tirages pour une même graine), mais dont
+ *  l'état (germe courant et pas) peut être lu et restauré : une sauvegarde
+ *  reprend la simulation au même point du hasard.
+ * -n'est pas thread-safe : un flux par animal, plus le flux principal de la ferme.
+ */
+public final class Flux
+{
+    private static final long PAS_DOR = 0x9e3779b97f4a7c15L;
+    private static final double UNITE = 0x1.0p-53;
+
+    private long germe;
+    private final long pas;
+
+    /**
+     * -crée un flux à partir d'une graine, comme new SplittableRandom(graine).
+     * @param graine graine du flux
+     */
+    public Flux(long graine) {
+        this(graine, PAS_DOR);
+    }
+
+    /**
+     * -recrée un flux dans un état relevé par getGerme et getPas.
+     * @param germe germe courant
+     * @param pas pas du flux (impair)
+     * @throws IllegalArgumentException si le pas est pair
+     */
+    public Flux(long germe, long pas)
+    {
+        if ((pas & 1) == 0)
+            throw new IllegalArgumentException("Pas de flux pair : " + pas);
+        this.germe = germe;
+        this.pas = pas;
+    }
+
+    /** @return le germe courant (état qui avance à chaque tirage) */
+    public long getGerme() { return germe; }
+
+    /** @return le pas du flux, fixé à sa création */
+    public long getPas() { return pas; }
+
+    /**
+     * @return un entier long uniforme
+     */
+    public long nextLong() {
+        return melanger64(avancer());
+    }
+
+    /**
+     * @return un entier uniforme
+     */
+    public int nextInt() {
+        return melanger32(avancer());
+    }
+
+    /**
+     * @param borne borne exclusive (> 0)
+     * @return un entier uniforme dans [0, borne)
+     * @throws IllegalArgumentException si la borne n'est pas positive
+     */
+    public int nextInt(int borne)
+    {
+        if (borne <= 0)
+            throw new IllegalArgumentException("Borne invalide : " + borne);
+        int r = nextInt();
+        int m = borne - 1;
+        if ((borne & m) == 0) {
+            return r & m;
+        }
+        for (int u = r >>> 1; u + m - (r = u % borne) < 0; u = nextInt() >>> 1);
+        return r;
+    }
+
+    /**
+     * @return un réel uniforme dans [0, 1)
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * UNITE;
+    }
+
+    /**
+     * -crée un flux indépendant, comme SplittableRandom.split().
+     * @return le nouveau flux
+     */
+    public Flux split() {
+        return new Flux(nextLong(), pasMelange(avancer()));
+    }
+
+    private long avancer() {
+        return germe += pas;
+    }
+
+    private static long melanger64(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int melanger32(long z)
+    {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    private static long pasMelange(long z)
+    {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
@@ -0,0 +1,77 @@
+package modele;
+
+/**
+ * -destination des événements de la simulation sous forme structurée, pour les
+ *  enregistrer (voir gestion.JournalBinaire) et rejouer une partie (gestion.Rejeu).
+ * -chaque ferme a le sien, aucun par défaut ; le jeu et le magasin y écrivent aussi.
+ * -un événement tient en quatre champs dont le sens dépend du type (voir Type) :
+ *  espèce (identifiant de la Nomenclature, -1 si sans objet), indice de case
+ *  (y * taille + x), cible et valeur.
+ * -les morts et les déplacements des journées parallèles arrivent depuis plusieurs
+ *  threads : l'implémentation doit le supporter.
+ */
+@FunctionalInterface
+public interface Journal
+{
+    /**
+     * -types d'événements, avec le sens de leurs champs.
+     */
+    enum Type {
+        /** Début d'une journée : indice = numéro du jour, cible = mode de déroulement, valeur = budget. */
+        JOUR,
+        /** Naissance : espèce et case du bébé. */
+        NAISSANCE,
+        /** Mort d'un animal : espèce et case. */
+        MORT_ANIMAL,
+        /** Mort d'une plante : espèce et case. */
+        MORT_PLANTE,
+        /** Déplacement d'un animal : espèce, case de départ, cible = case d'arrivée. */
+        DEPLACEMENT,
+        /** Pluie : valeur = eau tombée sur chaque case sans puits. */
+        PLUIE,
+        /** Vente de fin de saison : espèce = production vendue, valeur = calories. */
+        VENTE,
+        /** Achat d'un animal : espèce, case, valeur = prix. */
+        ACHAT_ANIMAL,
+        /** Achat d'une plante : espèce, case, valeur = prix. */
+        ACHAT_PLANTE,
+        /** Achat de fertilisant : valeur = grammes. */
+        ACHAT_FERTILISANT,
+        /** Dépôt de fertilisant du stock : case, valeur = grammes. */
+        POSE_FERTILISANT,
+        /** Construction d'un puits : case, valeur = prix. */
+        CONSTRUCTION_PUITS,
+        /** Destruction d'un puits : case, valeur = prix. */
+        DESTRUCTION_PUITS
+    }
+
+    /** Ignore tous les événements. */
+    Journal AUCUN = new Journal() {
+        @Override
+        public void noter(Type type, int espece, int indice, int cible, double valeur) {
+        }
+
+        @Override
+        public boolean estActif() {
+            return false;
+        }
+    };
+
+    /**
+     * -reçoit un événement de la simulation.
+     * @param type type de l'événement
+     * @param espece identifiant de l'espèce ou de la production (-1 si sans objet)
+     * @param indice case concernée (-1 si sans objet)
+     * @param cible case d'arrivée d'un déplacement (-1 si sans objet)
+     * @param valeur quantité associée (0 si sans objet)
+     */
+    void noter(Type type, int espece, int indice, int cible, double valeur);
+
+    /**
+     * -permet d'éviter de préparer des événements qui seront ignorés.
+     * @return vrai si les événements sont effectivement utilisés
+     */
+    default boolean estActif() {
+        return true;
+    }
+}
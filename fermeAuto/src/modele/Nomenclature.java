@@ -0,0 +1,71 @@
+package modele;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * -attribue à chaque nom d'espèce ou de produit (« Poule », « Lait »...) un petit
+ *  identifiant entier, de 0 à taille()-1, dans l'ordre où les noms sont rencontrés.
+ * -ces identifiants servent d'indices aux tableaux de statistiques : un nom garde le
+ *  même identifiant pendant toute l'exécution, une nouvelle espèce en reçoit un au
+ *  chargement de sa définition.
+ */
+public final class Nomenclature
+{
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static volatile String[] noms = new String[0];
+
+    private Nomenclature() {}
+
+    /**
+     * -renvoie l'identifiant d'un nom, en l'enregistrant à la première rencontre.
+     * @param nom nom d'espèce ou de produit, tel qu'affiché (casse comprise)
+     * @return son identifiant
+     * @throws IllegalArgumentException si le nom est vide
+     */
+    public static int id(String nom)
+    {
+        if (nom == null || nom.isEmpty())
+            throw new IllegalArgumentException("Nom d'espèce vide");
+        Integer id = IDS.get(nom);
+        return id != null ? id : enregistrer(nom);
+    }
+
+    private static synchronized int enregistrer(String nom)
+    {
+        Integer id = IDS.get(nom);
+        if (id != null) return id;
+        String[] t = Arrays.copyOf(noms, noms.length + 1);
+        t[noms.length] = nom;
+        noms = t; // publié avant l'identifiant : tout id visible est < taille()
+        IDS.put(nom, t.length - 1);
+        return t.length - 1;
+    }
+
+    /**
+     * @param nom nom d'espèce ou de produit
+     * @return son identifiant, ou -1 s'il n'a jamais été rencontré
+     */
+    public static int chercher(String nom)
+    {
+        Integer id = nom == null ? null : IDS.get(nom);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param id identifiant attribué par id(String)
+     * @return le nom correspondant
+     * @throws IllegalArgumentException si l'identifiant n'a pas été attribué
+     */
+    public static String nom(int id)
+    {
+        String[] t = noms;
+        if (id < 0 || id >= t.length)
+            throw new IllegalArgumentException("Identifiant inconnu : " + id);
+        return t[id];
+    }
+
+    /** @return le nombre d'identifiants attribués */
+    public static int taille() { return noms.length; }
+}
@@ -26,7 +26,7 @@ public final class Position
     }
     
     /**
-     * -crée une position uniquement si elle est dans la grille (0 à 5).
+     * -crée une position uniquement si elle est dans une grille de taille par défaut (0 à 5).
      * -retourne null si elle est hors limites.
      *
      * @param x coordonnée horizontale
@@ -35,7 +35,21 @@ public final class Position
      */
     public static Position dansGrille(int x, int y) 
     {
-        if (x >= 0 && x < 6 && y >= 0 && y < 6) {
+        return dansGrille(x, y, Ferme.TAILLE_DEFAUT);
+    }
+
+    /**
+     * -crée une position uniquement si elle est dans une grille taille×taille.
+     * -retourne null si elle est hors limites.
+     *
+     * @param x coordonnée horizontale
+     * @param y coordonnée verticale
+     * @param taille nombre de cases par côté de la grille
+     * @return la Position si elle est valide, sinon null
+     */
+    public static Position dansGrille(int x, int y, int taille) 
+    {
+        if (x >= 0 && x < taille && y >= 0 && y < taille) {
             return new Position(x, y);
         }
         return null;
@@ -0,0 +1,207 @@
+package modele;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * -écriture séquentielle d'un fichier de sauvegarde à travers des fenêtres
+ *  projetées en mémoire (MappedByteBuffer) : les colonnes de la grille sont
+ *  recopiées en bloc, sans passer par un tampon intermédiaire.
+ * -la taille du fichier est connue d'avance (voir mesure) : les fenêtres ne
+ *  dépassent jamais la fin, et le fichier n'a pas à être raccourci à la fermeture,
+ *  ce qui est impossible tant qu'une projection existe (Windows).
+ * -nombres en petit-boutiste.
+ */
+public final class SortieSauvegarde implements AutoCloseable
+{
+    private static final int FENETRE = 64 << 20;
+
+    private final FileChannel canal; // null : mesure seulement
+    private final long taille;
+    private MappedByteBuffer tampon;
+    private long debutTampon; // position dans le fichier du début de la fenêtre
+    private long compte; // octets comptés par une mesure
+
+    /**
+     * -crée (ou remplace) le fichier, de la taille donnée.
+     * @param fichier chemin du fichier
+     * @param taille nombre d'octets qui seront écrits, mesuré d'avance (voir mesure)
+     * @throws IOException si le fichier ne peut pas être ouvert
+     */
+    public SortieSauvegarde(Path fichier, long taille) throws IOException
+    {
+        if (taille < 0)
+            throw new IllegalArgumentException("Taille de sauvegarde invalide : " + taille);
+        this.taille = taille;
+        canal = FileChannel.open(fichier, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            projeter(0);
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    private SortieSauvegarde()
+    {
+        this.canal = null;
+        this.taille = Long.MAX_VALUE;
+    }
+
+    /**
+     * -sortie qui n'écrit rien et compte les octets (getPosition) : une sauvegarde est
+     *  d'abord écrite dans une mesure pour connaître la taille de son fichier.
+     * @return la mesure
+     */
+    public static SortieSauvegarde mesure() {
+        return new SortieSauvegarde();
+    }
+
+    public void ecrireOctet(int v) throws IOException { if (compter(1)) return; assurer(1); tampon.put((byte) v); }
+
+    public void ecrireBooleen(boolean v) throws IOException { ecrireOctet(v ? 1 : 0); }
+
+    public void ecrireInt(int v) throws IOException { if (compter(4)) return; assurer(4); tampon.putInt(v); }
+
+    public void ecrireLong(long v) throws IOException { if (compter(8)) return; assurer(8); tampon.putLong(v); }
+
+    public void ecrireDouble(double v) throws IOException { if (compter(8)) return; assurer(8); tampon.putDouble(v); }
+
+    /**
+     * -écrit un texte (longueur en octets puis UTF-8).
+     */
+    public void ecrireTexte(String texte) throws IOException
+    {
+        byte[] octets = texte.getBytes(StandardCharsets.UTF_8);
+        ecrireInt(octets.length);
+        ecrireOctets(octets, 0, octets.length);
+    }
+
+    public void ecrireOctets(byte[] t, int debut, int n) throws IOException
+    {
+        if (compter(n)) return;
+        while (n > 0) {
+            assurer(1);
+            int k = Math.min(n, tampon.remaining());
+            tampon.put(t, debut, k);
+            debut += k;
+            n -= k;
+        }
+    }
+
+    /**
+     * -écrit des booléens, un octet chacun.
+     */
+    public void ecrireBooleens(boolean[] t, int debut, int n) throws IOException
+    {
+        if (compter(n)) return;
+        while (n > 0) {
+            assurer(1);
+            int k = Math.min(n, tampon.remaining());
+            for (int i = 0; i < k; i++) tampon.put(t[debut + i] ? (byte) 1 : 0);
+            debut += k;
+            n -= k;
+        }
+    }
+
+    public void ecrireInts(int[] t, int debut, int n) throws IOException
+    {
+        if (compter(4L * n)) return;
+        while (n > 0) {
+            assurer(4);
+            int k = Math.min(n, tampon.remaining() / 4);
+            tampon.asIntBuffer().put(t, debut, k);
+            tampon.position(tampon.position() + 4 * k);
+            debut += k;
+            n -= k;
+        }
+    }
+
+    public void ecrireLongs(long[] t, int debut, int n) throws IOException
+    {
+        if (compter(8L * n)) return;
+        while (n > 0) {
+            assurer(8);
+            int k = Math.min(n, tampon.remaining() / 8);
+            tampon.asLongBuffer().put(t, debut, k);
+            tampon.position(tampon.position() + 8 * k);
+            debut += k;
+            n -= k;
+        }
+    }
+
+    public void ecrireDoubles(double[] t, int debut, int n) throws IOException
+    {
+        if (compter(8L * n)) return;
+        while (n > 0) {
+            assurer(8);
+            int k = Math.min(n, tampon.remaining() / 8);
+            tampon.asDoubleBuffer().put(t, debut, k);
+            tampon.position(tampon.position() + 8 * k);
+            debut += k;
+            n -= k;
+        }
+    }
+
+    /**
+     * @return le nombre d'octets écrits (ou comptés)
+     */
+    public long getPosition() {
+        return canal == null ? compte : debutTampon + tampon.position();
+    }
+
+    /**
+     * -ferme le fichier, qui doit avoir été écrit jusqu'à la taille annoncée.
+     * @throws IOException si moins d'octets ont été écrits qu'annoncé
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (canal == null) return;
+        long fin = getPosition();
+        tampon = null;
+        canal.close();
+        if (fin != taille)
+            throw new IOException("Sauvegarde incomplète : " + fin + " octets écrits sur " + taille);
+    }
+
+    /**
+     * -pour une mesure, compte n octets.
+     * @return vrai si la sortie est une mesure (rien à écrire)
+     */
+    private boolean compter(long n)
+    {
+        if (canal != null) return false;
+        compte += n;
+        return true;
+    }
+
+    /**
+     * -garantit n octets de place dans la fenêtre, en projetant la suivante si besoin.
+     * @throws IOException si l'écriture dépasse la taille annoncée
+     */
+    private void assurer(int n) throws IOException
+    {
+        if (tampon.remaining() >= n) return;
+        if (getPosition() + n > taille)
+            throw new IOException("Sauvegarde plus longue que les " + taille + " octets annoncés");
+        projeter(getPosition());
+    }
+
+    /**
+     * -projette la fenêtre qui commence à debut : FENETRE octets, ou moins pour finir
+     *  exactement à la taille annoncée.
+     */
+    private void projeter(long debut) throws IOException
+    {
+        debutTampon = debut;
+        tampon = canal.map(FileChannel.MapMode.READ_WRITE, debut, Math.min(FENETRE, taille - debut));
+        tampon.order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
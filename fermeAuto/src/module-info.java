@@ -12,6 +12,11 @@ module info {
      * Bibliothèque JavaFX pour le rendu graphique et les scènes.
      */
     requires javafx.graphics;
+    /**
+     * Publication de la télémétrie par JMX et mesure des allocations par thread.
+     */
+    requires java.management;
+    requires jdk.management;
 
     /**
      * Package contenant les classes de l'interface utilisateur de la simulation.
@@ -21,5 +26,9 @@ module info {
      * Package contenant la classe principale de lancement de l'application.
      */
     exports mainPrincipale;
+    /**
+     * Interfaces JMX de la télémétrie, introspectées par java.management.
+     */
+    exports gestion to java.management;
 }
 
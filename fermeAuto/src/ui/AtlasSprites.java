@@ -0,0 +1,102 @@
+package ui;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.Map;
+
+/**
+ * Atlas des sprites d'entités, construit une fois au démarrage.
+ * Pour chaque niveau de zoom (×4, ×2, ×1, ×0.5, ×0.25), tous les sprites sont
+ * pré-réduits à leur taille d'affichage et rangés côte à côte dans une seule image.
+ * Le dessin choisit le plus petit niveau au moins aussi grand que le zoom demandé :
+ * au zoom exact d'un niveau la copie se fait pixel pour pixel, sinon la réduction
+ * restante est faible. Les rapports hauteur/largeur sont calculés une fois.
+ * À construire sur le thread JavaFX.
+ */
+public final class AtlasSprites
+{
+    /** Zooms pré-calculés, du plus grand au plus petit. */
+    private static final double[] NIVEAUX = {4, 2, 1, 0.5, 0.25};
+
+    private final double largeurTuile;
+    private final double[] ratio;          // hauteur/largeur, par ordinal de Sprite
+    private final WritableImage[] planches; // une image par niveau
+    private final double[][] sourceX;      // abscisse du sprite dans la planche, par niveau
+
+    private AtlasSprites(double largeurTuile, int nbSprites) {
+        this.largeurTuile = largeurTuile;
+        this.ratio = new double[nbSprites];
+        this.planches = new WritableImage[NIVEAUX.length];
+        this.sourceX = new double[NIVEAUX.length][nbSprites];
+    }
+
+    /**
+     * @param icons icônes chargées par IconRegistry.loadIcons
+     * @param largeurTuile largeur d'une tuile au zoom 1 (px)
+     * @return l'atlas de tous les {@link Sprite}
+     * @throws IllegalArgumentException si l'icône d'un sprite manque
+     */
+    static AtlasSprites construire(Map<String, Image> icons, double largeurTuile)
+    {
+        Sprite[] sprites = Sprite.values();
+        AtlasSprites atlas = new AtlasSprites(largeurTuile, sprites.length);
+        Image[] images = new Image[sprites.length];
+        for (Sprite s : sprites) {
+            Image img = icons.get(s.getCle());
+            if (img == null || img.getWidth() <= 0)
+                throw new IllegalArgumentException("Icône manquante : " + s.getCle());
+            images[s.ordinal()] = img;
+            atlas.ratio[s.ordinal()] = img.getHeight() / img.getWidth();
+        }
+
+        SnapshotParameters transparent = new SnapshotParameters();
+        transparent.setFill(Color.TRANSPARENT);
+        for (int n = 0; n < NIVEAUX.length; n++) {
+            // sprites côte à côte, séparés d'un pixel pour éviter les bavures au filtrage
+            double largeur = 0, hauteur = 0;
+            for (Sprite s : sprites) {
+                atlas.sourceX[n][s.ordinal()] = largeur;
+                largeur += Math.ceil(atlas.largeur(s, NIVEAUX[n])) + 1;
+                hauteur = Math.max(hauteur, Math.ceil(atlas.hauteur(s, NIVEAUX[n])));
+            }
+            Canvas planche = new Canvas(largeur, hauteur);
+            GraphicsContext gc = planche.getGraphicsContext2D();
+            for (Sprite s : sprites) {
+                gc.drawImage(images[s.ordinal()], atlas.sourceX[n][s.ordinal()], 0,
+                             atlas.largeur(s, NIVEAUX[n]), atlas.hauteur(s, NIVEAUX[n]));
+            }
+            atlas.planches[n] = planche.snapshot(transparent, null);
+        }
+        return atlas;
+    }
+
+    /** @return la largeur d'affichage du sprite au zoom donné (px) */
+    double largeur(Sprite s, double zoom) {
+        return largeurTuile * s.getEchelle() * zoom;
+    }
+
+    /** @return la hauteur d'affichage du sprite au zoom donné (px) */
+    double hauteur(Sprite s, double zoom) {
+        return largeur(s, zoom) * ratio[s.ordinal()];
+    }
+
+    /**
+     * Dessine le sprite à sa taille d'affichage pour ce zoom.
+     *
+     * @param x bord gauche à l'écran
+     * @param y bord haut à l'écran
+     */
+    void dessiner(GraphicsContext gc, Sprite s, double zoom, double x, double y)
+    {
+        int n = NIVEAUX.length - 1;
+        while (n > 0 && NIVEAUX[n] < zoom) n--;
+        gc.drawImage(planches[n],
+            sourceX[n][s.ordinal()], 0, largeur(s, NIVEAUX[n]), hauteur(s, NIVEAUX[n]),
+            x, y, largeur(s, zoom), hauteur(s, zoom));
+    }
+}
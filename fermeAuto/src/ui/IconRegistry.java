@@ -34,6 +34,19 @@ public class IconRegistry
         icons.put("entrepot", new Image(basePath + "entrepot.png"));
         return icons;
     }
+
+    /**
+     * Construit l'atlas pré-réduit des sprites d'entités, à appeler une seule fois
+     * (sur le thread JavaFX) après {@link #loadIcons(String)}.
+     *
+     * @param icons icônes chargées par loadIcons
+     * @param largeurTuile largeur d'une tuile au zoom 1 (px)
+     * @return l'atlas des sprites
+     */
+    public static AtlasSprites construireAtlas(Map<String, Image> icons, double largeurTuile)
+    {
+        return AtlasSprites.construire(icons, largeurTuile);
+    }
  
 }
 
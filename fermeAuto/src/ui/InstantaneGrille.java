@@ -0,0 +1,133 @@
+package ui;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import modele.Ferme;
+import modele.Position;
+
+/**
+ * Copie figée du contenu de la grille (espèces présentes et puits), prise à la fin
+ * d'une journée. Elle peut être dessinée par le thread JavaFX pendant que le thread
+ * de simulation continue de modifier la ferme.
+ * Les espèces sont rangées par identifiant de {@link Sprite} (un octet par case).
+ * La copie est faite à partir des entités et des puits de la ferme, sans parcourir les
+ * cases vides, et garde la liste des cases qu'elle occupe : comparer deux copies ne
+ * coûte que le nombre de cases occupées. Une copie dont l'affichage n'a plus besoin
+ * est rendue par {@link #liberer()} et resservira à la copie suivante.
+ */
+final class InstantaneGrille
+{
+    // copie libérée, reprise par la prochaine copie de même taille
+    private static final AtomicReference<InstantaneGrille> LIBRE = new AtomicReference<>();
+
+    private final int taille;
+    private final byte[] plantes; // Sprite.id() par case (0 : vide)
+    private final byte[] animaux;
+    private final boolean[] puits;
+    private int[] occupees = new int[16]; // indices des cases non vides de la copie
+    private int nbOccupees;
+
+    private InstantaneGrille(int taille) {
+        this.taille = taille;
+        this.plantes = new byte[taille * taille];
+        this.animaux = new byte[taille * taille];
+        this.puits = new boolean[taille * taille];
+    }
+
+    /**
+     * Copie l'état courant de la ferme. À appeler depuis le thread qui la fait évoluer
+     * (ou quand la simulation est arrêtée).
+     *
+     * @param ferme la ferme à copier
+     * @return la copie de sa grille
+     */
+    static InstantaneGrille de(Ferme ferme) {
+        int taille = ferme.getTaille();
+        InstantaneGrille g = LIBRE.getAndSet(null);
+        if (g == null || g.taille != taille) g = new InstantaneGrille(taille);
+        InstantaneGrille copie = g;
+        ferme.forEachPlante(p -> {
+            int id = Sprite.idParEspece(p.getIdEspece());
+            if (id != 0) copie.plantes[copie.occuper(p.getPosition())] = (byte) id;
+        });
+        ferme.forEachAnimal(a -> {
+            int id = Sprite.idParEspece(a.getIdEspece());
+            if (id != 0) copie.animaux[copie.occuper(a.getPosition())] = (byte) id;
+        });
+        ferme.forEachPuits(k -> {
+            copie.occuper(k);
+            copie.puits[k] = true;
+        });
+        return g;
+    }
+
+    private int occuper(Position p) {
+        int k = p.getY() * taille + p.getX();
+        occuper(k);
+        return k;
+    }
+
+    /** Ajoute la case k à la liste des cases occupées si elle était encore vide. */
+    private void occuper(int k) {
+        if (plantes[k] != 0 || animaux[k] != 0 || puits[k]) return;
+        if (nbOccupees == occupees.length) occupees = Arrays.copyOf(occupees, 2 * nbOccupees);
+        occupees[nbOccupees++] = k;
+    }
+
+    /**
+     * Rend la copie pour qu'elle serve à une copie suivante. Elle ne doit plus être lue.
+     */
+    void liberer() {
+        for (int i = 0; i < nbOccupees; i++) {
+            int k = occupees[i];
+            plantes[k] = 0;
+            animaux[k] = 0;
+            puits[k] = false;
+        }
+        nbOccupees = 0;
+        LIBRE.set(this);
+    }
+
+    /** @return le nombre de cases non vides de la copie */
+    int getNbOccupees() { return nbOccupees; }
+
+    /**
+     * Range dans indices, par indice croissant, les cases dont le contenu affiché diffère
+     * (seules les cases occupées dans l'une ou l'autre copie sont examinées).
+     *
+     * @param autre copie de même taille, prise plus tôt
+     * @param indices tableau d'au moins getNbOccupees() + autre.getNbOccupees() éléments
+     * @return le nombre de cases rangées
+     */
+    int differences(InstantaneGrille autre, int[] indices) {
+        int n = 0;
+        for (int i = 0; i < nbOccupees; i++) {
+            int k = occupees[i];
+            if (differe(autre, k)) indices[n++] = k;
+        }
+        // cases vidées depuis : occupées seulement dans l'autre copie
+        for (int i = 0; i < autre.nbOccupees; i++) {
+            int k = autre.occupees[i];
+            if (plantes[k] == 0 && animaux[k] == 0 && !puits[k]) indices[n++] = k;
+        }
+        Arrays.sort(indices, 0, n);
+        return n;
+    }
+
+    private boolean differe(InstantaneGrille autre, int k) {
+        return plantes[k] != autre.plantes[k]
+                || animaux[k] != autre.animaux[k]
+                || puits[k] != autre.puits[k];
+    }
+
+    int getTaille() { return taille; }
+
+    /** @return le sprite de la plante en (x,y), ou null */
+    Sprite getPlante(int x, int y) { return Sprite.parId(plantes[y * taille + x]); }
+
+    /** @return le sprite de l'animal en (x,y), ou null */
+    Sprite getAnimal(int x, int y) { return Sprite.parId(animaux[y * taille + x]); }
+
+    boolean aUnPuits(int x, int y) { return puits[y * taille + x]; }
+}
@@ -0,0 +1,61 @@
+package ui;
+
+import gestion.Jeu;
+import gestion.Magasin;
+import modele.Ferme;
+import modele.Saison;
+
+/**
+ * Tout ce que l'interface affiche à la fin d'une journée : saison, jour, statistiques
+ * de l'entrepôt et contenu de la grille. Immuable, il passe du thread de simulation
+ * au thread JavaFX sans synchronisation supplémentaire.
+ */
+final class InstantaneJour
+{
+    final Saison saison;
+    final int jourDansSaison;
+    final double budget;
+    final double stockFertilisant;
+    final double oeufs;
+    final double lait;
+    final int nbVaches, nbPoules, nbTomates, nbBle;
+    final int mortsAnimauxCumules;
+    final int mortsPlantesCumules;
+    final InstantaneGrille grille;
+
+    /** La simulation s'est arrêtée après cette journée (pause ou fin de saison). */
+    final boolean arret;
+    /** La journée vient de clôturer une saison. */
+    final boolean finSaison;
+
+    private InstantaneJour(Jeu jeu, Ferme ferme, Magasin magasin,
+                           int mortsAnimauxCumules, int mortsPlantesCumules,
+                           boolean arret, boolean finSaison) {
+        this.saison = jeu.getSaison();
+        this.jourDansSaison = jeu.getJourDansSaison();
+        this.budget = ferme.getBudget();
+        this.stockFertilisant = magasin.getStockFertilisant();
+        this.oeufs = jeu.getEntrepot().getCaloriesParType("Œufs");
+        this.lait = jeu.getEntrepot().getCaloriesParType("Lait");
+        this.nbVaches = jeu.getAnimauxParType("Vache");
+        this.nbPoules = jeu.getAnimauxParType("Poule");
+        this.nbTomates = jeu.getPlantesParType("Tomate");
+        this.nbBle = jeu.getPlantesParType("Ble");
+        this.mortsAnimauxCumules = mortsAnimauxCumules;
+        this.mortsPlantesCumules = mortsPlantesCumules;
+        this.grille = InstantaneGrille.de(ferme);
+        this.arret = arret;
+        this.finSaison = finSaison;
+    }
+
+    /**
+     * Capture l'état courant. À appeler depuis le thread qui fait évoluer le modèle
+     * (ou quand la simulation est arrêtée).
+     */
+    static InstantaneJour capturer(Jeu jeu, Ferme ferme, Magasin magasin,
+                                   int mortsAnimauxCumules, int mortsPlantesCumules,
+                                   boolean arret, boolean finSaison) {
+        return new InstantaneJour(jeu, ferme, magasin, mortsAnimauxCumules,
+                                  mortsPlantesCumules, arret, finSaison);
+    }
+}
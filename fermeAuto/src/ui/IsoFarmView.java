@@ -4,7 +4,10 @@ import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Tooltip;
 import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.paint.Color;
 import modele.Case;
 import modele.Ferme;
 import modele.Position;
@@ -20,41 +23,82 @@ import entite.Plante;
  * - entités (plantes, animaux, puits)
  * - icônes magasin et entrepôt aux coins supérieurs
  * - gestion des clics case
+ * - zoom (molette, autour du curseur) et déplacement (glisser), même pendant la simulation
+ * Seules les cases visibles sont dessinées. Quand les tuiles deviennent trop petites
+ * pour leurs sprites, la vue passe en mode « blocs » : chaque bloc de cases est peint
+ * d'une couleur qui résume son contenu (sol, plantes, animaux, puits).
  */
-public class IsoFarmView extends Canvas 
+public class IsoFarmView extends Canvas
 {
 
     private final Ferme ferme;
     private final Map<String, Image> icons;
+    private final AtlasSprites atlas;
     private static final double TILE_W = 100;
     private static final double TILE_H = TILE_W / 2;
+    /** En dessous de cette largeur de tuile (px), on dessine des blocs au lieu des sprites. */
+    private static final double TUILE_MIN_SPRITES = 24;
+    /** Largeur minimale (px) d'un bloc en mode blocs. */
+    private static final double LARGEUR_MIN_BLOC = 6;
+    private static final double ZOOM_MAX = 4;
+
+    private static final Color SOL = Color.rgb(120, 84, 52);
+    private static final Color VERT = Color.rgb(70, 150, 50);
+    private static final Color ANIMAL = Color.rgb(240, 225, 190);
+    private static final Color EAU = Color.rgb(60, 120, 220);
+
+    private double zoom = 1;
+    private double tuileW = TILE_W, tuileH = TILE_H; // taille d'une tuile au zoom courant
+    private boolean vueAjustee;
     private double originX;
     private double originY;
+    private double sourisX, sourisY; // dernier point du glisser
+    private boolean interactif = true;
     private CaseClickListener clickListener;
     private final Tooltip tooltip = new Tooltip();
+    private InstantaneGrille grille; // dernier contenu dessiné
+    private int[] modifiees = new int[64]; // cases à repeindre, réutilisé d'un jour à l'autre
+    private WritableImage fond;      // herbe, sol labouré et clôture pré-rendus
+    private double hauteurSprite;    // dépassement maximal d'une entité au-dessus du bas de sa tuile (zoom 1)
+    private double debordBas;        // dépassement maximal sous la tuile (zoom 1)
 
     /**
      * @param ferme  le modèle de la ferme
      * @param icons  la map d’icônes (doit contenir "grass","labour","fence",
      *               "magasin" et "entrepot")
-     * @param width  largeur du canvas
-     * @param height hauteur du canvas
      */
-    public IsoFarmView(Ferme ferme, Map<String,Image> icons) 
+    public IsoFarmView(Ferme ferme, Map<String,Image> icons)
     {
         super();
         this.ferme = ferme;
         this.icons = icons;
-        // Quand le canvas change de taille, on recalcule l'origine et on redraw
-        widthProperty().addListener((o,oldW,newW) -> { recalcOrigin(); redraw(); });
-        heightProperty().addListener((o,oldH,newH) -> { recalcOrigin(); redraw(); });
+        this.atlas = IconRegistry.construireAtlas(icons, TILE_W);
+        mesurerSprites();
+        // Quand le canvas change de taille, on garde la ferme centrée et on redraw
+        widthProperty().addListener((o,oldW,newW) -> {
+            originX += (newW.doubleValue() - oldW.doubleValue()) / 2;
+            changementDeVue();
+        });
+        heightProperty().addListener((o,oldH,newH) -> {
+            originY += (newH.doubleValue() - oldH.doubleValue()) / 2;
+            changementDeVue();
+        });
         setOnMouseClicked(this::handleClick);
+        setOnScroll(this::zoomer);
+        setOnMousePressed(e -> { sourisX = e.getX(); sourisY = e.getY(); });
+        setOnMouseDragged(e -> {
+            originX += e.getX() - sourisX;
+            originY += e.getY() - sourisY;
+            sourisX = e.getX();
+            sourisY = e.getY();
+            changementDeVue();
+        });
         Tooltip.install(this, tooltip);
-        
+
      // Gestion du survol
-        this.setOnMouseMoved(e -> 
+        this.setOnMouseMoved(e ->
         {
-            Position pos = calculerCaseSousSouris(e.getX(), e.getY());
+            Position pos = interactif ? calculerCaseSousSouris(e.getX(), e.getY()) : null;
             if (pos != null) {
                 Case c = ferme.getCase(pos);
                 StringBuilder sb = new StringBuilder();
@@ -88,107 +132,411 @@ public class IsoFarmView extends Canvas
 ;
     }
 
-    /**  
-     * Si on encore besoin de l’ancien constructeur (taille statique),  
-     * gardez-le ou adaptez-le pour appeler le nouveau :  
+    /**
+     * Si on encore besoin de l’ancien constructeur (taille statique),
+     * gardez-le ou adaptez-le pour appeler le nouveau :
      */
-    public IsoFarmView(Ferme ferme, Map<String,Image> icons, double w, double h) 
+    public IsoFarmView(Ferme ferme, Map<String,Image> icons, double w, double h)
     {
         this(ferme, icons);
         setWidth(w);
         setHeight(h);
-        recalcOrigin();
+        ajusterVue();
         redraw();
     }
 
-    private void recalcOrigin() {
+    /**
+     * Active ou non les clics sur les cases et l'infobulle (qui lisent le modèle).
+     * Le zoom et le déplacement restent toujours possibles.
+     *
+     * @param interactif faux pendant que la simulation tourne
+     */
+    public void setInteractif(boolean interactif) {
+        this.interactif = interactif;
+        if (!interactif) tooltip.setText("");
+    }
+
+    /**
+     * Recadre la vue : zoom 1, ou moins si la ferme ne tient pas dans le canvas, et
+     * ferme centrée.
+     */
+    public void ajusterVue() {
         double w = getWidth(), h = getHeight();
         int size = ferme.getTaille();
+        setZoom(Math.min(1, Math.min(w / ((size + 1) * TILE_W), h / ((size + 1) * TILE_H))));
         this.originX = w/2;
-        this.originY = h/2 - ((size-1)*TILE_H)/2;
+        this.originY = h/2 - ((size-1)*tuileH)/2;
+        vueAjustee = true;
+        fond = null;
     }
 
-    /** Redessine tout : fond, grille, clôture, entités, magasin & entrepôt. */
-    public void redraw() 
+    private void setZoom(double zoom) {
+        this.zoom = zoom;
+        this.tuileW = TILE_W * zoom;
+        this.tuileH = TILE_H * zoom;
+    }
+
+    /**
+     * Zoome autour du curseur : le point de la ferme sous la souris ne bouge pas.
+     */
+    private void zoomer(ScrollEvent e) {
+        if (e.getDeltaY() == 0) return;
+        double facteur = e.getDeltaY() > 0 ? 1.15 : 1 / 1.15;
+        double minimum = Math.min(1, Math.min(getWidth(), getHeight()) / (ferme.getTaille() * TILE_W)) / 2;
+        double nouveau = Math.max(minimum, Math.min(ZOOM_MAX, zoom * facteur));
+        facteur = nouveau / zoom;
+        originX = e.getX() - (e.getX() - originX) * facteur;
+        originY = e.getY() - (e.getY() - originY) * facteur;
+        setZoom(nouveau);
+        changementDeVue();
+        e.consume();
+    }
+
+    /**
+     * Le cadrage a changé : les couches fixes sont à refaire.
+     */
+    private void changementDeVue() {
+        fond = null;
+        dessiner();
+    }
+
+    /**
+     * Redessine tout d'après l'état courant de la ferme.
+     * À n'appeler que lorsque la simulation est arrêtée (sinon voir {@link #redraw(InstantaneGrille)}).
+     */
+    public void redraw()
     {
+        redraw(InstantaneGrille.de(ferme));
+    }
+
+    /**
+     * Redessine d'après une copie de la grille publiée par la simulation.
+     * Seules les cases qui diffèrent de la dernière copie dessinée sont repeintes.
+     *
+     * @param grille contenu de la grille à afficher
+     */
+    void redraw(InstantaneGrille grille)
+    {
+        InstantaneGrille precedente = this.grille;
+        this.grille = grille;
+        if (fond == null || precedente == null || precedente.getTaille() != grille.getTaille()) {
+            dessiner();
+            if (precedente != null) precedente.liberer();
+            return;
+        }
         GraphicsContext gc = getGraphicsContext2D();
+        int size = grille.getTaille();
+        int max = grille.getNbOccupees() + precedente.getNbOccupees();
+        if (modifiees.length < max) modifiees = new int[Math.max(2 * modifiees.length, max)];
+        int nbModifiees = grille.differences(precedente, modifiees);
+        precedente.liberer();
+        if (modeBlocs()) {
+            int b = tailleBloc();
+            long dernier = -1;
+            for (int m = 0; m < nbModifiees; m++) {
+                int k = modifiees[m];
+                int bi = (k % size) / b, bj = (k / size) / b;
+                long bloc = (long) bi * size + bj;
+                if (bloc == dernier) continue; // cases voisines du même bloc
+                dernier = bloc;
+                if (blocVisible(bi * b, bj * b, b)) dessinerBloc(gc, bi * b, bj * b, b);
+            }
+            if (nbModifiees > 0) dessinerIcones(gc);
+        } else {
+            for (int m = 0; m < nbModifiees; m++) {
+                int i = modifiees[m] % size, j = modifiees[m] / size;
+                if (caseVisible(i, j)) redessinerCase(gc, i, j);
+            }
+        }
+    }
+
+    /** Redessine tout : fond, grille, clôture, entités, magasin & entrepôt. */
+    private void dessiner()
+    {
+        if (grille == null) grille = InstantaneGrille.de(ferme);
         double w = getWidth(), h = getHeight();
+        if (w <= 0 || h <= 0) return;
+        if (!vueAjustee) ajusterVue();
+        if (fond == null) construireFond(w, h);
+
+        GraphicsContext gc = getGraphicsContext2D();
         gc.clearRect(0, 0, w, h);
 
-        int size = ferme.getTaille();
+        // 1) à 3) Herbe, sol labouré et clôture, pré-rendus
+        gc.drawImage(fond, 0, 0);
+
+        // 4) Entités (plantes 60%, animaux 80%, puits centré 50%), ou blocs de couleur
+        if (modeBlocs()) {
+            int b = tailleBloc();
+            int[] bornes = bornesVisibles();
+            for (int i = bornes[0] - bornes[0] % b; i <= bornes[1]; i += b)
+                for (int j = bornes[2] - bornes[2] % b; j <= bornes[3]; j += b)
+                    if (blocVisible(i, j, b)) dessinerBloc(gc, i, j, b);
+        } else {
+            pourCasesVisibles((i, j) -> dessinerEntites(gc, i, j));
+        }
+
+        // 5) Icônes magasin & entrepôt
+        dessinerIcones(gc);
+    }
+
+    /**
+     * Pré-rend les couches qui ne changent pas d'un jour à l'autre (herbe, sol labouré,
+     * clôture) dans une image de la taille du canvas. En mode blocs, seule l'herbe est
+     * pré-rendue : les blocs recouvrent tout le sol.
+     */
+    private void construireFond(double w, double h)
+    {
+        Canvas calque = new Canvas(w, h);
+        GraphicsContext gc = calque.getGraphicsContext2D();
+        int size = grille.getTaille();
         Image grass  = icons.get("grass");
         Image labour = icons.get("labour");
-        Image fence  = icons.get("fence");
-        Image store  = icons.get("magasin");
-        Image depot  = icons.get("entrepot");
 
         // 1) Fond herbe répétitif
         for (double y = 0; y < h; y += TILE_H)
             for (double x = 0; x < w; x += TILE_W)
                 gc.drawImage(grass, x, y, TILE_W, TILE_H);
 
-        // 2) Sol labouré
-        for (int i = 0; i < size; i++)
-            for (int j = 0; j < size; j++)
-                gc.drawImage(labour,
+        if (!modeBlocs()) {
+            // 2) Sol labouré
+            pourCasesVisibles((i, j) -> gc.drawImage(labour,
                     toScreenX(i, j), toScreenY(i, j),
-                    TILE_W, TILE_H
-                );
-
-        // 3) Clôture périphérique
-        for (int j = 0; j < size; j++) drawFence(gc, -1, j, 35);
-        for (int i = 0; i < size; i++) drawFence(gc, i, size, -10);
-        for (int j = 0; j < size; j++) drawFence(gc, size, j, 35);
-        for (int i = 0; i < size; i++) drawFence(gc, i, -1, -10);
-
-        // 4) Entités (plantes 60%, animaux 80%, puits centré 50%)
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                Case c = ferme.getCase(new Position(i, j));
-                double tileX = toScreenX(i, j), tileY = toScreenY(i, j);
-                double baseX = tileX + TILE_W / 2, baseY = tileY + TILE_H;
-
-                // plante
-                if (c.getPlante() != null) {
-                    Image img = icons.get(c.getPlante().getNom());
-                    double sc = 0.6, w2 = TILE_W*sc, h2 = w2*img.getHeight()/img.getWidth();
-                    gc.drawImage(img, baseX - w2/2, baseY - h2, w2, h2);
-                }
-                // animal
-                if (c.getAnimal() != null) {
-                    Image img = icons.get(c.getAnimal().getNom());
-                    double sc = 0.8, w2 = TILE_W*sc, h2 = w2*img.getHeight()/img.getWidth();
-                    gc.drawImage(img, baseX - w2/2, baseY - h2, w2, h2);
-                }
-                // puits
-                if (c.aUnPuits()) {
-                    Image img = icons.get("Puit");
-                    double sc = 0.5, w2 = TILE_W*sc, h2 = w2*img.getHeight()/img.getWidth();
-                    gc.drawImage(img,
-                        tileX + (TILE_W-w2)/2,
-                        tileY + (TILE_H-h2)/2,
-                        w2, h2
-                    );
+                    tuileW, tuileH
+                ));
+
+            // 3) Clôture périphérique
+            for (int j = 0; j < size; j++) drawFence(gc, -1, j, 35);
+            for (int i = 0; i < size; i++) drawFence(gc, i, size, -10);
+            for (int j = 0; j < size; j++) drawFence(gc, size, j, 35);
+            for (int i = 0; i < size; i++) drawFence(gc, i, -1, -10);
+        }
+
+        fond = calque.snapshot(null, null);
+    }
+
+    /**
+     * Repeint la zone d'une case qui a changé : on recopie le fond pré-rendu dans le
+     * rectangle que peuvent occuper ses entités, puis on redessine, dans l'ordre habituel
+     * et limitées à ce rectangle, les entités de toutes les cases qui le recouvrent.
+     */
+    private void redessinerCase(GraphicsContext gc, int i, int j)
+    {
+        double haut = hauteurSprite * zoom, bas = debordBas * zoom;
+        double x = Math.floor(toScreenX(i, j));
+        double y = Math.floor(toScreenY(i, j) + tuileH - haut);
+        double w = Math.ceil(tuileW) + 1;
+        double h = Math.ceil(haut + bas) + 1;
+
+        gc.save();
+        gc.beginPath();
+        gc.rect(x, y, w, h);
+        gc.clip();
+        gc.drawImage(fond, x, y, w, h, x, y, w, h);
+
+        // une case voisine déborde sur ce rectangle si elle est dans la même colonne
+        // d'écran ou une colonne adjacente, et à moins d'une hauteur de sprite
+        int size = grille.getTaille();
+        int portee = (int) Math.ceil(2 * (hauteurSprite + debordBas) / TILE_H);
+        for (int i2 = Math.max(0, i - portee); i2 <= Math.min(size - 1, i + portee); i2++) {
+            for (int j2 = Math.max(0, j - portee); j2 <= Math.min(size - 1, j + portee); j2++) {
+                int colonne = (j2 - i2) - (j - i);
+                int rang = (i2 + j2) - (i + j);
+                if (Math.abs(colonne) <= 1
+                        && Math.abs(rang) * TILE_H / 2 < hauteurSprite + debordBas) {
+                    dessinerEntites(gc, i2, j2);
                 }
             }
         }
+        dessinerIcones(gc);
+        gc.restore();
+    }
 
-        // 5) Icônes magasin & entrepôt
-        double iconSize = TILE_W*3; 
+    /**
+     * Dessine la plante, l'animal et le puits de la case (i,j).
+     */
+    private void dessinerEntites(GraphicsContext gc, int i, int j)
+    {
+        double tileX = toScreenX(i, j), tileY = toScreenY(i, j);
+        double baseX = tileX + tuileW / 2, baseY = tileY + tuileH;
+
+        // plante
+        Sprite plante = grille.getPlante(i, j);
+        if (plante != null) {
+            double w2 = atlas.largeur(plante, zoom), h2 = atlas.hauteur(plante, zoom);
+            atlas.dessiner(gc, plante, zoom, baseX - w2/2, baseY - h2);
+        }
+        // animal
+        Sprite animal = grille.getAnimal(i, j);
+        if (animal != null) {
+            double w2 = atlas.largeur(animal, zoom), h2 = atlas.hauteur(animal, zoom);
+            atlas.dessiner(gc, animal, zoom, baseX - w2/2, baseY - h2);
+        }
+        // puits
+        if (grille.aUnPuits(i, j)) {
+            double w2 = atlas.largeur(Sprite.PUITS, zoom), h2 = atlas.hauteur(Sprite.PUITS, zoom);
+            atlas.dessiner(gc, Sprite.PUITS, zoom,
+                tileX + (tuileW-w2)/2,
+                tileY + (tuileH-h2)/2
+            );
+        }
+    }
+
+    /**
+     * Peint le bloc de b×b cases commençant en (i0,j0) d'une seule couleur : le sol
+     * verdit avec la part de plantes, pâlit avec la part d'animaux, et bleuit s'il
+     * contient un puits.
+     */
+    private void dessinerBloc(GraphicsContext gc, int i0, int j0, int b)
+    {
+        int size = grille.getTaille();
+        int i1 = Math.min(size, i0 + b), j1 = Math.min(size, j0 + b);
+        int plantes = 0, animaux = 0;
+        boolean puits = false;
+        for (int i = i0; i < i1; i++) {
+            for (int j = j0; j < j1; j++) {
+                if (grille.getPlante(i, j) != null) plantes++;
+                if (grille.getAnimal(i, j) != null) animaux++;
+                puits |= grille.aUnPuits(i, j);
+            }
+        }
+        double n = (double) (i1 - i0) * (j1 - j0);
+        Color couleur = SOL.interpolate(VERT, plantes / n).interpolate(ANIMAL, animaux / n);
+        if (puits) couleur = couleur.interpolate(EAU, 0.5);
+
+        // losange allant du haut de la case (i0,j0) au bas de la case (i1-1,j1-1)
+        double haut = toScreenY(i0, j0), bas = toScreenY(i1 - 1, j1 - 1) + tuileH;
+        double gauche = toScreenX(i1 - 1, j0), droite = toScreenX(i0, j1 - 1) + tuileW;
+        double milieuX = toScreenX(i0, j0) + tuileW / 2;
+        double milieuY = toScreenY(i1 - 1, j0) + tuileH / 2;
+        double milieuY2 = toScreenY(i0, j1 - 1) + tuileH / 2;
+        gc.setFill(couleur);
+        gc.fillPolygon(
+            new double[] {milieuX, droite, toScreenX(i1 - 1, j1 - 1) + tuileW / 2, gauche},
+            new double[] {haut, milieuY2, bas, milieuY},
+            4
+        );
+    }
+
+    /**
+     * Dessine les icônes du magasin et de l'entrepôt, par-dessus la grille.
+     */
+    private void dessinerIcones(GraphicsContext gc)
+    {
+        int size = grille.getTaille();
+        double iconSize = tuileW*3;
         // magasin en haut à gauche de la grille
-        gc.drawImage(store,
-            originX - TILE_W - iconSize*1.3,
-            originY - TILE_H*3,
+        gc.drawImage(icons.get("magasin"),
+            originX - tuileW - iconSize*1.3,
+            originY - tuileH*3,
             iconSize, iconSize
         );
         // entrepôt en haut à droite
-        gc.drawImage(depot,
-            originX + (size-1)*(TILE_W/2.5) + iconSize*0,
-            originY - TILE_H*4,
+        gc.drawImage(icons.get("entrepot"),
+            originX + (size-1)*(tuileW/2.5) + iconSize*0,
+            originY - tuileH*4,
             iconSize, iconSize
         );
     }
-    
+
+    /**
+     * Calcule jusqu'où les entités peuvent dépasser de leur tuile : au-dessus (plantes
+     * et animaux posés sur le bas de la tuile) et en dessous (puits centré).
+     */
+    private void mesurerSprites()
+    {
+        hauteurSprite = TILE_H;
+        debordBas = 0;
+        for (Sprite s : Sprite.values()) {
+            double h2 = atlas.hauteur(s, 1);
+            if (s == Sprite.PUITS) {
+                hauteurSprite = Math.max(hauteurSprite, (TILE_H + h2) / 2);
+                debordBas = Math.max(debordBas, (h2 - TILE_H) / 2);
+            } else {
+                hauteurSprite = Math.max(hauteurSprite, h2);
+            }
+        }
+    }
+
+    private boolean modeBlocs() {
+        return tuileW < TUILE_MIN_SPRITES;
+    }
+
+    /** @return le côté (en cases) d'un bloc en mode blocs */
+    private int tailleBloc() {
+        return Math.max(1, (int) Math.ceil(LARGEUR_MIN_BLOC / tuileW));
+    }
+
+    /**
+     * Action sur une case (i,j).
+     */
+    @FunctionalInterface
+    private interface VisiteCase {
+        void visiter(int i, int j);
+    }
+
+    /**
+     * Parcourt les cases dont la tuile ou les sprites sont à l'écran, rangée d'écran
+     * par rangée d'écran (i+j croissant), ce qui respecte l'ordre de superposition.
+     */
+    private void pourCasesVisibles(VisiteCase visite)
+    {
+        int size = grille.getTaille();
+        double demiW = tuileW / 2, demiH = tuileH / 2;
+        double haut = hauteurSprite * zoom, bas = debordBas * zoom;
+        // colonne d'écran d = j-i et rangée s = i+j visibles
+        int dMin = Math.max(-(size - 1), (int) Math.floor((-tuileW - originX) / demiW));
+        int dMax = Math.min(size - 1, (int) Math.ceil((getWidth() - originX) / demiW));
+        int sMin = Math.max(0, (int) Math.floor((-tuileH - bas - originY) / demiH));
+        int sMax = Math.min(2 * size - 2, (int) Math.ceil((getHeight() - tuileH + haut - originY) / demiH));
+        for (int s = sMin; s <= sMax; s++) {
+            // d doit avoir la parité de s, et i, j rester dans la grille
+            int debut = Math.max(dMin, Math.max(-s, s - 2 * (size - 1)));
+            int fin = Math.min(dMax, Math.min(s, 2 * (size - 1) - s));
+            if (((debut ^ s) & 1) != 0) debut++;
+            for (int d = debut; d <= fin; d += 2) {
+                visite.visiter((s - d) / 2, (s + d) / 2);
+            }
+        }
+    }
+
+    /**
+     * @return {iMin, iMax, jMin, jMax}, rectangle de la grille qui contient les cases visibles
+     */
+    private int[] bornesVisibles()
+    {
+        int size = grille.getTaille();
+        double w = getWidth(), h = getHeight();
+        double[][] coins = {{0, 0}, {w, 0}, {0, h}, {w, h}};
+        double iMin = Double.MAX_VALUE, iMax = -Double.MAX_VALUE;
+        double jMin = Double.MAX_VALUE, jMax = -Double.MAX_VALUE;
+        for (double[] c : coins) {
+            double a = (c[1] - originY - tuileH / 2) / tuileH;
+            double b = (c[0] - originX - tuileW / 2) / tuileW;
+            iMin = Math.min(iMin, a - b);
+            iMax = Math.max(iMax, a - b);
+            jMin = Math.min(jMin, a + b);
+            jMax = Math.max(jMax, a + b);
+        }
+        return new int[] {
+            Math.max(0, (int) Math.floor(iMin) - 1), Math.min(size - 1, (int) Math.ceil(iMax) + 1),
+            Math.max(0, (int) Math.floor(jMin) - 1), Math.min(size - 1, (int) Math.ceil(jMax) + 1)
+        };
+    }
+
+    private boolean caseVisible(int i, int j) {
+        double x = toScreenX(i, j), y = toScreenY(i, j);
+        return x + tuileW > 0 && x < getWidth()
+            && y + tuileH + debordBas * zoom > 0 && y + tuileH - hauteurSprite * zoom < getHeight();
+    }
+
+    private boolean blocVisible(int i0, int j0, int b) {
+        int size = grille.getTaille();
+        int i1 = Math.min(size, i0 + b) - 1, j1 = Math.min(size, j0 + b) - 1;
+        return toScreenX(i0, j1) + tuileW > 0 && toScreenX(i1, j0) < getWidth()
+            && toScreenY(i1, j1) + tuileH > 0 && toScreenY(i0, j0) < getHeight();
+    }
+
     /**
      * Calcule la coordonnée écran X d’une tuile isométrique.
      *
@@ -198,9 +546,9 @@ public class IsoFarmView extends Canvas
      */
 
     private double toScreenX(int i, int j) {
-        return originX + (j - i)*(TILE_W/2);
+        return originX + (j - i)*(tuileW/2);
     }
-    
+
     /**
      * Calcule la coordonnée écran Y d’une tuile isométrique.
      *
@@ -209,9 +557,9 @@ public class IsoFarmView extends Canvas
      * @return la coordonnée Y en pixels où dessiner la tuile (i,j)
      */
     private double toScreenY(int i, int j) {
-        return originY + (i + j)*(TILE_H/2);
+        return originY + (i + j)*(tuileH/2);
     }
-    
+
     /**
      * Dessine une image de clôture (« fence ») pivotée et centrée sur la tuile (i,j).
      *
@@ -223,14 +571,15 @@ public class IsoFarmView extends Canvas
 
     private void drawFence(GraphicsContext gc, int i, int j, double angle) {
         double x = toScreenX(i, j), y = toScreenY(i, j);
-        double fw = TILE_W*0.7, fh = TILE_H*1.2;
+        if (x + tuileW < 0 || x > getWidth() || y + tuileH < 0 || y > getHeight()) return;
+        double fw = tuileW*0.7, fh = tuileH*1.2;
         gc.save();
-        gc.translate(x+TILE_W/2, y+TILE_H/2);
+        gc.translate(x+tuileW/2, y+tuileH/2);
         gc.rotate(angle);
         gc.drawImage(icons.get("fence"), -fw/2, -fh/2, fw, fh);
         gc.restore();
     }
-    
+
     /**
      * Listener fonctionnel pour recevoir les coordonnées de la tuile cliquée.
      */
@@ -242,48 +591,40 @@ public class IsoFarmView extends Canvas
          *
          * @param i l’indice de ligne de la tuile cliquée
          * @param j l’indice de colonne de la tuile cliquée
-         */void onCaseClicked(int i, int j); 
+         */void onCaseClicked(int i, int j);
          }
     public void setCaseClickListener(CaseClickListener l) { this.clickListener = l; }
-    
+
     /**
      * Gère l’événement de clic sur le Canvas en convertissant
      * les coordonnées souris (X,Y) en indices de grille (i,j)
      * puis notifie le CaseClickListener enregistré.
+     * Un glisser (déplacement de la vue) n'est pas un clic.
      *
      * @param e l’événement de souris reçu
      */
 
     private void handleClick(MouseEvent e) {
-        double dx = e.getX() - (originX + TILE_W / 2);
-        double dy = e.getY() - (originY + TILE_H / 2);
-        double a = dy / TILE_H;
-        double b = dx / TILE_W;
-        int i = (int) Math.round(a - b);
-        int j = (int) Math.round(a + b);
-        if (i >= 0 && j >= 0 && i < ferme.getTaille() && j < ferme.getTaille()) {
-            if (clickListener != null) clickListener.onCaseClicked(i, j);
+        if (!interactif || !e.isStillSincePress()) return;
+        Position pos = calculerCaseSousSouris(e.getX(), e.getY());
+        if (pos != null && clickListener != null) {
+            clickListener.onCaseClicked(pos.getX(), pos.getY());
         }
     }
-    
-    /**
-     * À mettre dans IsoFarmView :
-     * 
-     * Calcule la case (i,j) sous la souris, ou renvoie null si hors-grille.
-     */
+
     /**
      * Renvoie la case (i,j) sous la souris, ou null si hors grille.
      */
-    private Position calculerCaseSousSouris(double mx, double my) 
+    private Position calculerCaseSousSouris(double mx, double my)
     {
-        // 1) Même décalage que dans handleClick
-        double dx = mx - (originX + TILE_W / 2);
-        double dy = my - (originY + TILE_H / 2);
+        // 1) Décalage par rapport au centre de la tuile (0,0)
+        double dx = mx - (originX + tuileW / 2);
+        double dy = my - (originY + tuileH / 2);
 
 
         // 2) Normalisation
-        double a = dy / TILE_H;
-        double b = dx / TILE_W;
+        double a = dy / tuileH;
+        double b = dx / tuileW;
 
 
         // 3) Calcul des indices i,j
@@ -293,7 +634,7 @@ public class IsoFarmView extends Canvas
 
         // 4) Vérification des bornes
         if (i >= 0 && j >= 0 && i < ferme.getTaille() && j < ferme.getTaille()) {
-            return new Position(i, j);
+            return ferme.getPosition(i, j);
         } else {
             return null;
         }
@@ -1,19 +1,29 @@
 package ui;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.animation.Animation;
-import javafx.util.Duration;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import modele.Ferme;
 import gestion.Magasin;
 import gestion.Jeu;
 
-import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Initialise le moteur de simulation avec les composants du modèle et de l'interface.
+ * Les journées sont jouées sur un thread dédié ("simulation") : à la fin de chaque
+ * journée, il publie un {@link InstantaneJour} et le thread JavaFX n'affiche que le
+ * plus récent (les instantanés non encore affichés sont remplacés, jamais empilés).
+ * Le modèle n'est touché par l'interface que lorsque la simulation est arrêtée :
+ * l'UI redevient interactive seulement quand le thread de simulation a fini sa journée.
+ * La vitesse va de ×0.25 à « turbo » : les journées s'enchaînent alors sans attente et
+ * l'affichage est fait au plus une fois par image (les journées intermédiaires ne sont
+ * pas dessinées).
  *
  * @param jeu instance du modèle de jeu gérant la logique métier
  * @param ferme la ferme dont on simule l'évolution
@@ -29,6 +39,12 @@ import java.util.Map;
 
 public class SimulationEngine 
 {
+    /** Durée d'une journée simulée à la vitesse ×1. */
+    private static final long DUREE_JOUR_MS = 2000;
+
+    /** Vitesses proposées, la dernière (infinie) étant le mode turbo. */
+    private static final double[] VITESSES = {0.25, 0.5, 1, 2, 4, 8, Double.POSITIVE_INFINITY};
+
     private final Jeu jeu;
     private final Ferme ferme;
     private final Magasin magasin;
@@ -38,10 +54,32 @@ public class SimulationEngine
     private final Label dayLabel;
     private final Button btnPlay;
     private final Label statusLabel;
-    private final Timeline timeline;
     private final ControlPanel controlPanel;
 
+    private final ExecutorService simulation = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "simulation");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Object verrou = new Object();
+    private boolean pauseDemandee;   // protégé par verrou
+    private volatile boolean enCours; // de Play jusqu'à l'arrêt effectif du thread de simulation
+    private volatile double vitesse = 1;
+    private int indiceVitesse = 2;   // thread JavaFX
+
+    // en turbo, affiche le dernier instantané à chaque image plutôt qu'à chaque journée
+    private final AnimationTimer rafraichissement = new AnimationTimer() {
+        @Override
+        public void handle(long maintenant) {
+            afficherDernier();
+        }
+    };
+
+    // dernier instantané publié, pas encore affiché
+    private final AtomicReference<InstantaneJour> aAfficher = new AtomicReference<>();
+    private final AtomicBoolean affichagePrevu = new AtomicBoolean();
 
+    // écrits par le thread de simulation, lus par l'UI quand elle est arrêtée
     private int mortsAnimauxCumules = 0;
     private int mortsPlantesCumules = 0;
 
@@ -65,26 +103,17 @@ public class SimulationEngine
         this.statusLabel = statusLabel;
         this.controlPanel = controlPanel;
 
-        // Timeline : 1 tick = 1 jour toutes les 5 secondes, en boucle infinie
-        this.timeline = new Timeline(new KeyFrame(Duration.seconds(2), e -> tick()));
-        this.timeline.setCycleCount(Animation.INDEFINITE);
-
         // Play/Pause
         btnPlay.setOnAction(e -> {
-            if (timeline.getStatus() == Animation.Status.RUNNING) {
-                // si c'est en cours, alors on met en pause
-            	System.out.println(">>> Play/Pause cliqué, status avant = " + timeline.getStatus());
-                timeline.pause();
-                statusLabel.setText("Simulation en pause.");
+            if (enCours) {
+                // si c'est en cours, alors on demande la pause (effective à la fin de la journée)
+                demanderPause();
+                statusLabel.setText("Mise en pause…");
                 btnPlay.setText("Play");
-                
             } else {
                 // on lance la saison
             	onPlayPressed() ;
-            	
             }
-        
-
         });
     }
 
@@ -93,97 +122,217 @@ public class SimulationEngine
      */
     public void init() {
     	// Au démarrage, on est en pause et on peut interagir avant la saison
-        timeline.pause();
+        demanderPause();
         controlPanel.setDisable(false);
-        farmView.setMouseTransparent(false);
+        farmView.setInteractif(true);
     }
     
     /**
-     * Démarre ou reprend la simulation : désactive l'UI et lance la timeline.
+     * Démarre ou reprend la simulation : désactive l'UI et lance le thread de simulation.
      */
     
     private void onPlayPressed() {
+        if (enCours) return;
         // Désactiver UI quand on lance la saison
         controlPanel.setDisable(true);
-        farmView.setMouseTransparent(true);
+        farmView.setInteractif(false);
         statusLabel.setText("Simulation en cours…");
         btnPlay.setText("Pause");
-        timeline.play();
+        synchronized (verrou) {
+            pauseDemandee = false;
+        }
+        enCours = true;
+        if (estTurbo()) rafraichissement.start();
+        simulation.execute(this::boucle);
     }
 
+    /**
+     * Change la vitesse de la simulation, y compris pendant qu'elle tourne.
+     *
+     * @param vitesse nombre de journées par tranche de DUREE_JOUR_MS (> 0),
+     *                Double.POSITIVE_INFINITY pour le mode turbo
+     */
+    public void setVitesse(double vitesse) {
+        if (!(vitesse > 0)) throw new IllegalArgumentException("Vitesse invalide : " + vitesse);
+        this.vitesse = vitesse;
+        if (estTurbo() && enCours) {
+            rafraichissement.start();
+        } else if (!estTurbo()) {
+            rafraichissement.stop();
+        }
+        // réveille le thread de simulation pour qu'il recalcule son attente
+        synchronized (verrou) {
+            verrou.notifyAll();
+        }
+    }
 
     /**
-     * Un tick de simulation correspondant à un jour :
-     * avance le modèle, gère la fin de saison, met à jour l'UI et redessine la ferme.
+     * Passe à la vitesse suivante (après le turbo, on revient à ×0.25).
+     *
+     * @return le libellé de la nouvelle vitesse
      */
-    private void tick() {
-        // 1) avance le modèle
-        jeu.jouer(1);
-
-        // 2) si on vient de clôturer la saison dans Jeu.jouer(),
-        //    jourDansSaison est remis à 1 : on considère que la saison vient de changer.
-        if (jeu.getJourDansSaison() == 1) {
-            // on arrête et on réactive l’UI
-            timeline.pause();
-            btnPlay.setText("Play");
-            statusLabel.setText("Fin de saison. Vous pouvez interagir.");
-            controlPanel.setDisable(false);
-            farmView.setMouseTransparent(false);
+    public String vitesseSuivante() {
+        indiceVitesse = (indiceVitesse + 1) % VITESSES.length;
+        setVitesse(VITESSES[indiceVitesse]);
+        return libelleVitesse();
+    }
+
+    /**
+     * @return la vitesse courante, "×1" ou "Turbo" par exemple
+     */
+    public String libelleVitesse() {
+        if (estTurbo()) return "Turbo";
+        return vitesse == Math.rint(vitesse) ? "×" + (int) vitesse : "×" + vitesse;
+    }
+
+    private boolean estTurbo() {
+        return vitesse == Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Demande au thread de simulation de s'arrêter après la journée en cours.
+     */
+    private void demanderPause() {
+        synchronized (verrou) {
+            pauseDemandee = true;
+            verrou.notifyAll();
         }
+    }
 
-        // 3) mise à jour des libellés Saison/Jour
-        seasonLabel.setText("Saison : " + jeu.getSaison().name());
-        dayLabel   .setText("Jour : "   + jeu.getJourDansSaison() + "/30");
+    /**
+     * Boucle du thread de simulation : une journée toutes les DUREE_JOUR_MS / vitesse,
+     * jusqu'à une pause ou la fin de la saison.
+     */
+    private void boucle() {
+        boolean finSaison = false;
+        try {
+            while (attendreJourSuivant()) {
+                // 1) avance le modèle
+                jeu.jouer(1);
+                mortsAnimauxCumules += jeu.getTotalDecesAnimauxJournalier();
+                mortsPlantesCumules += jeu.getTotalDecesPlantesJournalier();
 
-        // 4) rafraîchit l’EntrepôtPanel (vend déjà dedans via Jeu.jouer)
-        refreshStats();
+                // 2) si on vient de clôturer la saison dans Jeu.jouer(),
+                //    jourDansSaison est remis à 1 : on considère que la saison vient de changer.
+                finSaison = jeu.getJourDansSaison() == 1;
+                if (finSaison) break;
 
-        // 5) redessine la vue
-        farmView.redraw();
+                // 3) publie la journée pour l'affichage ; en turbo, seulement si la
+                //    précédente a été affichée (inutile de copier des journées sautées)
+                if (!estTurbo()) {
+                    publier(capturer(false, false));
+                } else if (aAfficher.get() == null) {
+                    aAfficher.set(capturer(false, false));
+                }
+            }
+        } finally {
+            // la dernière capture est faite avant de rendre la main à l'UI
+            InstantaneJour dernier = capturer(true, finSaison);
+            enCours = false;
+            publier(dernier);
+        }
+    }
+
+    /**
+     * Attend le prochain jour (pas d'attente en turbo). Un changement de vitesse
+     * pendant l'attente est pris en compte aussitôt.
+     * @return faux si une pause a été demandée entre-temps
+     */
+    private boolean attendreJourSuivant() {
+        long debut = System.nanoTime();
+        synchronized (verrou) {
+            long reste;
+            while (!pauseDemandee
+                    && (reste = debut + (long) (TimeUnit.MILLISECONDS.toNanos(DUREE_JOUR_MS) / vitesse)
+                                - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(verrou, reste);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return !pauseDemandee;
+        }
+    }
+
+    private InstantaneJour capturer(boolean arret, boolean finSaison) {
+        return InstantaneJour.capturer(jeu, ferme, magasin,
+                mortsAnimauxCumules, mortsPlantesCumules, arret, finSaison);
+    }
+
+    /**
+     * Remplace l'instantané en attente (sa copie de grille est libérée) et programme un
+     * affichage s'il n'y en a pas déjà un.
+     */
+    private void publier(InstantaneJour instantane) {
+        InstantaneJour remplace = aAfficher.getAndSet(instantane);
+        if (remplace != null) remplace.grille.liberer(); // jamais passé à l'affichage
+        if (affichagePrevu.compareAndSet(false, true)) {
+            Platform.runLater(this::afficherDernier);
+        }
+    }
+
+    /**
+     * Sur le thread JavaFX : affiche le dernier instantané publié.
+     */
+    private void afficherDernier() {
+        // le drapeau est levé avant la lecture : un instantané publié après provoque un nouvel affichage
+        affichagePrevu.set(false);
+        InstantaneJour instantane = aAfficher.getAndSet(null);
+        if (instantane == null) return;
+
+        afficherStats(instantane);
+        farmView.redraw(instantane.grille);
+
+        if (instantane.arret && !enCours) {
+            // on est arrêté : on réactive l'UI
+            rafraichissement.stop();
+            btnPlay.setText("Play");
+            statusLabel.setText(instantane.finSaison
+                    ? "Fin de saison. Vous pouvez interagir."
+                    : "Simulation en pause.");
+            controlPanel.setDisable(false);
+            farmView.setInteractif(true);
+        }
+    }
+
+    /**
+     * Met à jour les libellés Saison/Jour et le panneau de l'entrepôt.
+     */
+    private void afficherStats(InstantaneJour i) {
+        seasonLabel.setText("Saison : " + i.saison.name());
+        dayLabel   .setText("Jour : "   + i.jourDansSaison + "/30");
+        statsPanel.update(
+            i.budget,
+            i.stockFertilisant,
+            i.oeufs,
+            i.lait,
+            i.nbVaches, i.nbPoules, i.nbTomates, i.nbBle,
+            i.mortsAnimauxCumules,
+            i.mortsPlantesCumules
+        );
     }
     
     /**
      * Indique si la simulation est en cours d'exécution.
      *
-     * @return vrai si la timeline est en cours, faux sinon
+     * @return vrai tant que le thread de simulation n'est pas arrêté
+     *         (y compris pendant la journée qui suit une demande de pause)
      */
     
     public boolean isRunning() {
-        return timeline.getStatus() == Animation.Status.RUNNING;
+        return enCours;
     }
     
 
 
     /**
-     * Met à jour le panneau de statistiques sans modifier le modèle :
-     * calcule les décès quotidiens et cumulés, puis affiche les données.
+     * Met à jour le panneau de statistiques sans modifier le modèle.
+     * Sans effet pendant la simulation : l'affichage suit alors les instantanés publiés.
      */
     public void refreshStats() {
-        // décès journaliers
-        int mortsAnimauxJour = jeu.getDecesAnimauxJournalier()
-                                   .values().stream().mapToInt(i->i).sum();
-        int mortsPlantesJour = jeu.getDecesPlantesJournalier()
-                                   .values().stream().mapToInt(i->i).sum();
-        // cumul
-        mortsAnimauxCumules += mortsAnimauxJour;
-        mortsPlantesCumules += mortsPlantesJour;
-
-        // comptes vivants par type
-        Map<String,Integer> animParType   = jeu.getAnimauxParType();
-        Map<String,Integer> planteParType = jeu.getPlantesParType();
-        int nbVaches  = animParType.getOrDefault("Vache", 0);
-        int nbPoules  = animParType.getOrDefault("Poule", 0);
-        int nbTomates = planteParType.getOrDefault("Tomate", 0);
-        int nbBle     = planteParType.getOrDefault("Ble", 0);
-
-        statsPanel.update(
-            ferme.getBudget(),
-            magasin.getStockFertilisant(),
-            jeu.getEntrepot().getCaloriesParType("Œufs"),
-            jeu.getEntrepot().getCaloriesParType("Lait"),
-            nbVaches, nbPoules, nbTomates, nbBle,
-            mortsAnimauxCumules,
-            mortsPlantesCumules
-        );
+        if (enCours) return;
+        afficherStats(capturer(true, false));
     }
 }
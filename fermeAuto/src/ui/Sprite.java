@@ -0,0 +1,87 @@
+package ui;
+
+import java.util.Arrays;
+
+import modele.Nomenclature;
+
+/**
+ * Sprites des entités de la grille, avec l'icône d'origine et l'échelle à laquelle
+ * ils sont dessinés dans leur tuile (plantes 60%, animaux 80%, puits 50%).
+ * L'identifiant numérique ({@link #id()}) sert d'indice dans l'atlas et dans les
+ * copies de grille ; 0 y désigne une case vide.
+ */
+public enum Sprite
+{
+    TOMATE("Tomate", 0.6),
+    BLE("Ble", 0.6),
+    VACHE("Vache", 0.8),
+    POULE("Poule", 0.8),
+    PUITS("Puit", 0.5);
+
+    private static final Sprite[] PAR_ID = values();
+    // id() du sprite de chaque identifiant d'espèce de la Nomenclature (0 : aucun),
+    // complété quand de nouvelles espèces apparaissent
+    private static volatile byte[] parEspece = new byte[0];
+
+    private final String cle;
+    private final double echelle;
+
+    Sprite(String cle, double echelle) {
+        this.cle = cle;
+        this.echelle = echelle;
+    }
+
+    /** @return la clé de l'icône dans la table de IconRegistry.loadIcons */
+    public String getCle() { return cle; }
+
+    /** @return la largeur du sprite, en fraction de la largeur de la tuile */
+    public double getEchelle() { return echelle; }
+
+    /** @return l'identifiant du sprite (1 à n) */
+    public int id() { return ordinal() + 1; }
+
+    /**
+     * @param id identifiant renvoyé par {@link #id()}, ou 0
+     * @return le sprite correspondant, ou null pour 0
+     */
+    public static Sprite parId(int id) {
+        return id == 0 ? null : PAR_ID[id - 1];
+    }
+
+    /**
+     * @param idEspece identifiant de l'espèce dans la Nomenclature (getIdEspece())
+     * @return l'identifiant ({@link #id()}) de son sprite, 0 si elle n'en a pas
+     */
+    public static int idParEspece(int idEspece) {
+        byte[] t = parEspece;
+        if (idEspece >= t.length) t = completer(idEspece);
+        return t[idEspece];
+    }
+
+    private static synchronized byte[] completer(int idEspece) {
+        byte[] t = parEspece;
+        if (idEspece < t.length) return t;
+        int n = Math.max(idEspece + 1, Nomenclature.taille());
+        byte[] table = Arrays.copyOf(t, n);
+        for (int id = t.length; id < n; id++) {
+            Sprite s = pour(Nomenclature.nom(id));
+            table[id] = s == null ? 0 : (byte) s.id();
+        }
+        parEspece = table;
+        return table;
+    }
+
+    /**
+     * @param espece nom d'une espèce (Entite.getNom())
+     * @return son sprite, ou null si l'espèce n'en a pas
+     */
+    public static Sprite pour(String espece) {
+        switch (espece) {
+            case "Tomate": return TOMATE;
+            case "Ble":    return BLE;
+            case "Vache":  return VACHE;
+            case "Poule":  return POULE;
+            default:       return null;
+        }
+    }
+}
@@ -116,16 +116,20 @@ public class UIBuilder {
         )));
         topBar.setMaxWidth(Double.MAX_VALUE);
 
-        // 3) Barre inférieure Play/Pause et statut
+        // 3) Barre inférieure Play/Pause, vitesse et statut
         Button btnPlay    = new Button("Play");
         btnPlay.setId("btnPlay");
         btnPlay.setStyle("-fx-font-size: 14px;");
 
+        Button btnVitesse = new Button("Vitesse : ×1");
+        btnVitesse.setId("btnVitesse");
+        btnVitesse.setStyle("-fx-font-size: 14px;");
+
         Label statusLabel = new Label("Simulation en pause.");
         statusLabel.setId("statusLabel");
         statusLabel.setStyle("-fx-text-fill: white; -fx-font-size: 14px;");
 
-        HBox bottomBar = new HBox(10, btnPlay, statusLabel);
+        HBox bottomBar = new HBox(10, btnPlay, btnVitesse, statusLabel);
         bottomBar.setAlignment(Pos.CENTER);
         bottomBar.setPadding(new Insets(8,8,40,8));
         bottomBar.setBackground(new Background(new BackgroundFill(
@@ -173,6 +177,7 @@ public class UIBuilder {
             statusLabel
         );
         engine.init();
+        btnVitesse.setOnAction(e -> btnVitesse.setText("Vitesse : " + engine.vitesseSuivante()));
 
         // 8) Contrôleur de jeu pour gérer les interactions utilisateur
         GameController controller = new GameController(